@@ -34,13 +34,15 @@ import java.util.List;
 
 import javax.measure.UnitConverter;
 
+import tec.units.ri.function.AffineConverter;
+
 /**
  * <p>
  * The base class for our {@link UnitConverter} implementations.
  * </p>
  *
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0, $Date: 2016-10-06 $
+ * @version 1.1, $Date: 2026-10-16 $
  * @since 1.0
  */
 public abstract class AbstractConverter implements UnitConverter {
@@ -68,14 +70,16 @@ public abstract class AbstractConverter implements UnitConverter {
 
   /**
    * Concatenates this physics converter with another unit converter. The resulting converter is equivalent to first converting by the specified
-   * converter (right converter), and then converting by this converter (left converter).
+   * converter (right converter), and then converting by this converter (left converter). Adjacent scaling and offset converters are folded into a
+   * single {@link AffineConverter}.
    *
    * @param that
    *          the other converter.
    * @return the concatenation of this converter with that converter.
    */
   public AbstractConverter concatenate(AbstractConverter that) {
-    return (that == IDENTITY) ? this : new Pair(this, that);
+    final UnitConverter result = concatenate((UnitConverter) that);
+    return (result instanceof AbstractConverter) ? (AbstractConverter) result : combine(this, that);
   }
 
   public boolean isIdentity() {
@@ -93,7 +97,28 @@ public abstract class AbstractConverter implements UnitConverter {
 
   @Override
   public UnitConverter concatenate(UnitConverter converter) {
-    return (converter == IDENTITY) ? this : new Pair(this, converter);
+    return (converter == IDENTITY) ? this : combine(this, converter);
+  }
+
+  /**
+   * Returns the normalized concatenation of the specified converters. Affine converters (including the innermost converters of a {@link Pair}) are
+   * folded, other converters are chained using a {@link Pair}.
+   */
+  private static AbstractConverter combine(UnitConverter left, UnitConverter right) {
+    if (AffineConverter.isAffine(left)) {
+      if (AffineConverter.isAffine(right))
+        return AffineConverter.of(left, right);
+      if ((right instanceof Pair) && AffineConverter.isAffine(((Pair) right).left)) {
+        final Pair pair = (Pair) right;
+        final AbstractConverter folded = AffineConverter.of(left, pair.left);
+        return (folded.isIdentity() && (pair.right instanceof AbstractConverter)) ? (AbstractConverter) pair.right : new Pair(folded, pair.right);
+      }
+    } else if (AffineConverter.isAffine(right) && (left instanceof Pair) && AffineConverter.isAffine(((Pair) left).right)) {
+      final Pair pair = (Pair) left;
+      final AbstractConverter folded = AffineConverter.of(pair.right, right);
+      return (folded.isIdentity() && (pair.left instanceof AbstractConverter)) ? (AbstractConverter) pair.left : new Pair(pair.left, folded);
+    }
+    return new Pair(left, right);
   }
 
   @Override
@@ -117,6 +142,66 @@ public abstract class AbstractConverter implements UnitConverter {
 
   public abstract double convert(double value);
 
+  /**
+   * Converts a range of values. The source and destination arrays may be the same array, in which case the values are converted in place.
+   *
+   * @param src
+   *          the values to convert.
+   * @param srcOff
+   *          the index of the first value to convert.
+   * @param dst
+   *          the array receiving the converted values.
+   * @param dstOff
+   *          the index of the first converted value in the destination array.
+   * @param len
+   *          the number of values to convert.
+   * @throws IndexOutOfBoundsException
+   *           if the range is outside the bounds of either array.
+   * @since 1.0.4
+   */
+  public final void convert(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    if ((len < 0) || (srcOff < 0) || (dstOff < 0) || (srcOff > src.length - len) || (dstOff > dst.length - len))
+      throw new IndexOutOfBoundsException("Invalid range: srcOff=" + srcOff + ", dstOff=" + dstOff + ", len=" + len);
+    if ((src == dst) && (srcOff != dstOff)) { // Overlapping ranges, moves values first then converts in place.
+      System.arraycopy(src, srcOff, dst, dstOff, len);
+      srcOff = dstOff;
+    }
+    convertArray(src, srcOff, dst, dstOff, len);
+  }
+
+  /**
+   * Converts the specified values in place.
+   *
+   * @param values
+   *          the values to convert.
+   * @since 1.0.4
+   */
+  public final void convert(double[] values) {
+    convertArray(values, 0, values, 0, values.length);
+  }
+
+  /**
+   * Converts a range of values (bounds already checked). Sub-classes should override this method with a specialized loop; the default implementation
+   * calls {@link #convert(double)} for each value.
+   *
+   * @param src
+   *          the values to convert.
+   * @param srcOff
+   *          the index of the first value to convert.
+   * @param dst
+   *          the array receiving the converted values (may be <code>src</code> when <code>srcOff == dstOff</code>).
+   * @param dstOff
+   *          the index of the first converted value in the destination array.
+   * @param len
+   *          the number of values to convert.
+   * @since 1.0.4
+   */
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = convert(src[srcOff + i]);
+    }
+  }
+
   /**
    * This class represents the identity converter (singleton).
    */
@@ -137,6 +222,12 @@ public abstract class AbstractConverter implements UnitConverter {
       return value;
     }
 
+    @Override
+    protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+      if (src != dst)
+        System.arraycopy(src, srcOff, dst, dstOff, len);
+    }
+
     @Override
     public UnitConverter concatenate(UnitConverter converter) {
       return converter;
@@ -216,6 +307,25 @@ public abstract class AbstractConverter implements UnitConverter {
       return left.convert(right.convert(value));
     }
 
+    @Override
+    protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+      // Applies each converter to the whole range rather than recursing per value.
+      if (right instanceof AbstractConverter) {
+        ((AbstractConverter) right).convertArray(src, srcOff, dst, dstOff, len);
+      } else {
+        for (int i = 0; i < len; i++) {
+          dst[dstOff + i] = right.convert(src[srcOff + i]);
+        }
+      }
+      if (left instanceof AbstractConverter) {
+        ((AbstractConverter) left).convertArray(dst, dstOff, dst, dstOff, len);
+      } else {
+        for (int i = dstOff; i < dstOff + len; i++) {
+          dst[i] = left.convert(dst[i]);
+        }
+      }
+    }
+
     @Override
     public boolean equals(Object cvtr) {
       if (this == cvtr)
@@ -98,7 +98,7 @@ import tec.uom.lib.common.function.ValueSupplier;
  * </p>
  * 
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.2, May 28, 2017
+ * @version 1.0.4, October 17, 2026
  * @since 1.0
  */
 public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Quantity<Q>, Comparable<Quantity<Q>>, UnitSupplier<Q>, ValueSupplier<Number> {
@@ -108,8 +108,26 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Quantit
      */
   // private static final long serialVersionUID = -4993173119977931016L;
 
+  /**
+   * Holds the (stateless) comparator shared by all quantities.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final NaturalOrder NATURAL_ORDER = new NaturalOrder();
+
+  /**
+   * Mask of the stored system value bits (a non-canonical NaN, never returned by {@link Double#doubleToLongBits(double)}), so that the default
+   * <code>0</code> of the field means a system value not calculated yet.
+   */
+  private static final long SYSTEM_VALUE_MASK = 0x7ff0000000000001L;
+
   private final Unit<Q> unit;
 
+  /**
+   * Holds the bits of the value stated in the system unit xor {@link #SYSTEM_VALUE_MASK}, calculated on first use (<code>0</code> until then, so
+   * constructors do not write it).
+   */
+  private volatile long systemValueBits;
+
   /**
    * Holds a dimensionless quantity of none (exact).
    */
@@ -154,6 +172,23 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Quantit
     return to(this.getUnit().getSystemUnit());
   }
 
+  /**
+   * Returns the value of this quantity stated in the {@link Unit#getSystemUnit() system unit}. The value is calculated on the first call and kept, so
+   * quantities can be compared, hashed or sorted by this value without converting them again.
+   *
+   * @return <code>doubleValue(getUnit().getSystemUnit())</code>
+   * @see tec.units.ri.quantity.QuantityKey
+   * @since 1.0.4
+   */
+  public double systemValue() {
+    long bits = systemValueBits;
+    if (bits == 0) {
+      bits = Double.doubleToLongBits(doubleValue(unit.getSystemUnit())) ^ SYSTEM_VALUE_MASK;
+      systemValueBits = bits;
+    }
+    return Double.longBitsToDouble(bits ^ SYSTEM_VALUE_MASK);
+  }
+
   /**
    * Returns this measure after conversion to specified unit. The default implementation returns <code>Measure.valueOf(doubleValue(unit), unit)</code>
    * . If this measure is already stated in the specified unit, then this measure is returned and no conversion is performed.
@@ -179,9 +214,9 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Quantit
    *         quantity.
    * @see {@link NaturalOrder}
    */
+  @SuppressWarnings("unchecked")
   public int compareTo(Quantity<Q> that) {
-    final Comparator<Quantity<Q>> comparator = new NaturalOrder<Q>();
-    return comparator.compare(this, that);
+    return ((Comparator<Quantity<Q>>) NATURAL_ORDER).compare(this, that);
   }
 
   /**
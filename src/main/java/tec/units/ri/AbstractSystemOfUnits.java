@@ -31,48 +31,81 @@ package tec.units.ri;
 
 import static tec.units.ri.format.UnitStyle.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.measure.Dimension;
 import javax.measure.Quantity;
+import javax.measure.UnconvertibleException;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 import javax.measure.spi.SystemOfUnits;
 
 import tec.units.ri.format.SimpleUnitFormat;
 import tec.units.ri.format.UnitStyle;
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
 
 /**
  * <p>
  * An abstract base class for unit systems.
  * </p>
  *
+ * <p>
+ * Each unit of the system is given a dense integer id, in registration order (see {@link #getUnitId(Unit)}). Values can be converted between units
+ * identified by their ids (see {@link #convert(int, int, double)}), using scale and offset factors precomputed for every pair of units of the same
+ * dimension.
+ * </p>
+ *
+ * <p>
+ * Units are indexed by dimension as they are added, {@link #getUnits(Dimension)} and {@link #getUnits(Class)} return immutable sets from that index
+ * and can be called concurrently.
+ * </p>
+ *
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.4, October 7, 2016
+ * @version 1.1.1, October 17, 2026
  */
 public abstract class AbstractSystemOfUnits implements SystemOfUnits {
   protected static final Logger logger = Logger.getLogger(AbstractSystemOfUnits.class.getName());
 
   /**
-   * Holds the units.
+   * Holds the units (in registration order), adding a unit updates the dimension index.
    */
-  protected final Set<Unit<?>> units = new HashSet<Unit<?>>();
+  protected final Set<Unit<?>> units = new UnitSet();
 
   /**
    * Holds the mapping quantity to unit.
    */
   @SuppressWarnings("rawtypes")
-  protected final Map<Class<? extends Quantity>, Unit> quantityToUnit = new HashMap<Class<? extends Quantity>, Unit>();
+  protected final Map<Class<? extends Quantity>, Unit> quantityToUnit = new ConcurrentHashMap<Class<? extends Quantity>, Unit>();
+
+  /**
+   * Holds the immutable sets of units per dimension.
+   */
+  private volatile Map<Dimension, Set<Unit<?>>> dimensionIndex = new ConcurrentHashMap<Dimension, Set<Unit<?>>>();
 
   /**
    * The natural logarithm.
    */
   protected static final double E = 2.71828182845904523536028747135266;
 
+  /**
+   * Holds the unit ids and conversion factors, rebuilt after units are added.
+   */
+  private volatile ConversionTable conversionTable;
+
   /*
    * (non-Javadoc)
    * 
@@ -92,25 +125,385 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
     return units;
   }
 
+  /**
+   * Returns the units of this system having the specified dimension.
+   *
+   * @param dimension
+   *          the dimension.
+   * @return the immutable set of units with this dimension, in registration order.
+   */
   @Override
   public Set<? extends Unit<?>> getUnits(Dimension dimension) {
-    final Set<Unit<?>> set = new HashSet<Unit<?>>();
-    for (Unit<?> unit : this.getUnits()) {
-      if (dimension.equals(unit.getDimension())) {
-        set.add(unit);
-      }
-    }
-    return set;
+    return ((UnitSet) units).ofDimension(dimension);
+  }
+
+  /**
+   * Returns the units of this system having the dimension of the unit mapped to the specified quantity type.
+   *
+   * @param quantityType
+   *          the quantity type.
+   * @return the immutable set of units for this quantity type (empty if the type is not mapped).
+   * @since 1.0.4
+   */
+  public Set<? extends Unit<?>> getUnits(Class<? extends Quantity<?>> quantityType) {
+    final Unit<?> unit = (quantityType != null) ? quantityToUnit.get(quantityType) : null;
+    return (unit != null) ? getUnits(unit.getDimension()) : Collections.<Unit<?>> emptySet();
   }
 
   @SuppressWarnings("unchecked")
   public <Q extends Quantity<Q>> Unit<Q> getUnit(Class<Q> quantityType) {
+    if (quantityType == null)
+      return null; // Not a key of the concurrent map.
     return quantityToUnit.get(quantityType);
   }
 
+  /**
+   * Returns the id of the specified unit in this system. Ids are dense (from <code>0</code> to the number of units minus one) and given in
+   * registration order, so they do not change when units are added.
+   *
+   * @param unit
+   *          the unit.
+   * @return the unit id or <code>-1</code> if the unit does not belong to this system.
+   * @since 1.0.4
+   */
+  public int getUnitId(Unit<?> unit) {
+    final Integer id = conversionTable().ids.get(unit);
+    return (id != null) ? id : -1;
+  }
+
+  /**
+   * Returns the unit having the specified id in this system.
+   *
+   * @param id
+   *          the unit id.
+   * @return the corresponding unit.
+   * @throws IndexOutOfBoundsException
+   *           if there is no unit with this id.
+   * @since 1.0.4
+   */
+  public Unit<?> getUnitById(int id) {
+    return conversionTable().units[id];
+  }
+
+  /**
+   * Converts a value between two units of this system identified by their ids.
+   *
+   * @param fromId
+   *          the id of the unit the value is stated in.
+   * @param toId
+   *          the id of the unit to convert to.
+   * @param value
+   *          the value to convert.
+   * @return the converted value.
+   * @throws IndexOutOfBoundsException
+   *           if there is no unit with one of these ids.
+   * @throws UnconvertibleException
+   *           if the units are not compatible.
+   * @see #getUnitId(Unit)
+   * @since 1.0.4
+   */
+  public double convert(int fromId, int toId, double value) {
+    final ConversionTable table = conversionTable();
+    final int group = table.group(fromId, toId);
+    final int index = table.pairIndex(fromId, toId);
+    final double scale = table.scales[group][index];
+    if (scale != scale) // NaN, not an affine conversion.
+      return table.converter(fromId, toId).convert(value);
+    return value * scale + table.offsets[group][index];
+  }
+
+  /**
+   * Converts <code>len</code> values between two units of this system identified by their ids. Overlapping ranges of the same array are supported.
+   *
+   * @param fromId
+   *          the id of the unit the values are stated in.
+   * @param toId
+   *          the id of the unit to convert to.
+   * @param src
+   *          the source values.
+   * @param srcOff
+   *          the offset of the first source value.
+   * @param dst
+   *          the array receiving the converted values (may be <code>src</code>).
+   * @param dstOff
+   *          the offset of the first converted value.
+   * @param len
+   *          the number of values to convert.
+   * @throws IndexOutOfBoundsException
+   *           if there is no unit with one of these ids or if a range exceeds its array bounds.
+   * @throws UnconvertibleException
+   *           if the units are not compatible.
+   * @since 1.0.4
+   */
+  public void convert(int fromId, int toId, double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final ConversionTable table = conversionTable();
+    final int group = table.group(fromId, toId);
+    final int index = table.pairIndex(fromId, toId);
+    final double scale = table.scales[group][index];
+    if (scale != scale) { // NaN, not an affine conversion.
+      final UnitConverter converter = table.converter(fromId, toId);
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(src, srcOff, dst, dstOff, len);
+        return;
+      }
+      checkRanges(src, srcOff, dst, dstOff, len);
+      if ((src == dst) && (srcOff < dstOff)) {
+        for (int i = len - 1; i >= 0; i--)
+          dst[dstOff + i] = converter.convert(src[srcOff + i]);
+      } else {
+        for (int i = 0; i < len; i++)
+          dst[dstOff + i] = converter.convert(src[srcOff + i]);
+      }
+      return;
+    }
+    checkRanges(src, srcOff, dst, dstOff, len);
+    final double offset = table.offsets[group][index];
+    if ((src == dst) && (srcOff < dstOff)) { // Backward, the source range is overwritten from its end.
+      for (int i = len - 1; i >= 0; i--)
+        dst[dstOff + i] = src[srcOff + i] * scale + offset;
+    } else {
+      for (int i = 0; i < len; i++)
+        dst[dstOff + i] = src[srcOff + i] * scale + offset;
+    }
+  }
+
+  private static void checkRanges(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    if ((len < 0) || (srcOff < 0) || (dstOff < 0) || (srcOff > src.length - len) || (dstOff > dst.length - len))
+      throw new IndexOutOfBoundsException("srcOff: " + srcOff + ", dstOff: " + dstOff + ", len: " + len);
+  }
+
+  private ConversionTable conversionTable() {
+    ConversionTable table = conversionTable;
+    if (table == null) {
+      synchronized (units) {
+        table = conversionTable; // Built by another thread while waiting for the lock.
+        if (table == null) {
+          table = new ConversionTable(units);
+          conversionTable = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * The set of units, keeping the dimension index up to date. Removing units rebuilds the whole index.
+   */
+  @SuppressWarnings("serial")
+  private final class UnitSet extends LinkedHashSet<Unit<?>> {
+
+    @Override
+    public synchronized boolean add(Unit<?> unit) {
+      if (!super.add(unit))
+        return false;
+      index(unit);
+      conversionTable = null;
+      return true;
+    }
+
+    Set<Unit<?>> ofDimension(Dimension dimension) {
+      final Set<Unit<?>> set = dimensionIndex.get(dimension);
+      return (set != null) ? set : Collections.<Unit<?>> emptySet();
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+      return super.remove(o) && reindex();
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> c) {
+      return removeMatching(c, false);
+    }
+
+    @Override
+    public synchronized boolean retainAll(Collection<?> c) {
+      return removeMatching(c, true);
+    }
+
+    @Override
+    public Iterator<Unit<?>> iterator() {
+      final Iterator<Unit<?>> iterator = super.iterator();
+      return new Iterator<Unit<?>>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Unit<?> next() {
+          return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+          synchronized (UnitSet.this) {
+            iterator.remove();
+            reindex();
+          }
+        }
+      };
+    }
+
+    /**
+     * Removes the units contained (or not contained if <code>retain</code> is <code>true</code>) in the specified collection, reindexing once.
+     */
+    private boolean removeMatching(Collection<?> c, boolean retain) {
+      boolean modified = false;
+      for (Iterator<Unit<?>> it = super.iterator(); it.hasNext();) {
+        if (c.contains(it.next()) != retain) {
+          it.remove();
+          modified = true;
+        }
+      }
+      return modified && reindex();
+    }
+
+    @Override
+    public synchronized void clear() {
+      super.clear();
+      reindex();
+    }
+
+    private void index(Unit<?> unit) {
+      index(dimensionIndex, unit);
+    }
+
+    private void index(Map<Dimension, Set<Unit<?>>> index, Unit<?> unit) {
+      final Dimension dimension = unit.getDimension();
+      if (dimension == null)
+        return;
+      final Set<Unit<?>> previous = index.get(dimension);
+      final Set<Unit<?>> set = (previous != null) ? new LinkedHashSet<Unit<?>>(previous) : new LinkedHashSet<Unit<?>>(4);
+      set.add(unit);
+      index.put(dimension, Collections.unmodifiableSet(set));
+    }
+
+    /**
+     * Rebuilds the dimension index into a new map, published once complete so that readers never see a partial index.
+     */
+    private boolean reindex() {
+      final Map<Dimension, Set<Unit<?>>> index = new ConcurrentHashMap<Dimension, Set<Unit<?>>>();
+      for (Unit<?> unit : this) {
+        index(index, unit);
+      }
+      dimensionIndex = index;
+      conversionTable = null;
+      return true;
+    }
+  }
+
+  /**
+   * Immutable snapshot of the units ids and of the conversion factors between units of the same dimension.
+   */
+  private static final class ConversionTable {
+    private final Unit<?>[] units;
+    private final Map<Unit<?>, Integer> ids;
+    /** Group (dimension) of each unit. */
+    private final int[] groups;
+    /** Position of each unit in its group. */
+    private final int[] positions;
+    private final int[] groupSizes;
+    /** Scale factors per group, indexed by <code>fromPosition * groupSize + toPosition</code>, NaN if not affine. */
+    private final double[][] scales;
+    /** Offsets per group, same layout as scales. */
+    private final double[][] offsets;
+
+    ConversionTable(Set<Unit<?>> systemUnits) {
+      units = systemUnits.toArray(new Unit<?>[systemUnits.size()]);
+      ids = new HashMap<Unit<?>, Integer>(units.length * 4 / 3 + 1);
+      groups = new int[units.length];
+      positions = new int[units.length];
+      final Map<Dimension, List<Integer>> byDimension = new LinkedHashMap<Dimension, List<Integer>>();
+      for (int id = 0; id < units.length; id++) {
+        ids.put(units[id], id);
+        List<Integer> members = byDimension.get(units[id].getDimension());
+        if (members == null) {
+          members = new ArrayList<Integer>();
+          byDimension.put(units[id].getDimension(), members);
+        }
+        members.add(id);
+      }
+      groupSizes = new int[byDimension.size()];
+      scales = new double[groupSizes.length][];
+      offsets = new double[groupSizes.length][];
+      int group = 0;
+      for (List<Integer> members : byDimension.values()) {
+        final int n = members.size();
+        groupSizes[group] = n;
+        scales[group] = new double[n * n];
+        offsets[group] = new double[n * n];
+        for (int i = 0; i < n; i++) {
+          groups[members.get(i)] = group;
+          positions[members.get(i)] = i;
+          for (int j = 0; j < n; j++) {
+            setFactors(group, i * n + j, units[members.get(i)], units[members.get(j)]);
+          }
+        }
+        group++;
+      }
+    }
+
+    private void setFactors(int group, int index, Unit<?> from, Unit<?> to) {
+      double scale = Double.NaN;
+      double offset = 0;
+      try {
+        final UnitConverter converter = converterOf(from, to);
+        if (converter.equals(AbstractConverter.IDENTITY)) {
+          scale = 1;
+        } else if (converter instanceof AffineConverter) {
+          scale = ((AffineConverter) converter).getFactor();
+          offset = ((AffineConverter) converter).getOffset();
+        } else if (converter instanceof AddConverter) {
+          scale = 1;
+          offset = ((AddConverter) converter).getOffset();
+        } else if (converter.isLinear() && AffineConverter.isAffine(converter)) {
+          scale = converter.convert(1.0);
+        }
+      } catch (Exception e) { // Left as NaN, converted (or rejected) on demand.
+        logger.log(Level.FINEST, "No conversion factors from " + from + " to " + to, e);
+      }
+      scales[group][index] = scale;
+      offsets[group][index] = offset;
+    }
+
+    int group(int fromId, int toId) {
+      final int group = groups[fromId];
+      if (group != groups[toId])
+        throw new UnconvertibleException(units[fromId] + " is not compatible with " + units[toId]);
+      return group;
+    }
+
+    int pairIndex(int fromId, int toId) {
+      return positions[fromId] * groupSizes[groups[fromId]] + positions[toId];
+    }
+
+    UnitConverter converter(int fromId, int toId) {
+      try {
+        return converterOf(units[fromId], units[toId]);
+      } catch (UnconvertibleException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new UnconvertibleException(e);
+      }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static UnitConverter converterOf(Unit from, Unit to) throws Exception {
+      return from.getConverterToAny(to);
+    }
+  }
+
+  /**
+   * Adds units to the sets of units of a system. Units shared by unit operations (canonical instances of products or transformed units) are copied
+   * before being named, the other units are named in place.
+   */
   protected static final class Helper {
     static Set<Unit<?>> getUnitsOfDimension(final Set<Unit<?>> units, Dimension dimension) {
       if (dimension != null) {
+        if (units instanceof AbstractSystemOfUnits.UnitSet) {
+          return ((AbstractSystemOfUnits.UnitSet) units).ofDimension(dimension);
+        }
         Set<Unit<?>> dimSet = new HashSet<Unit<?>>();
         for (Unit<?> u : units) {
           if (dimension.equals(u.getDimension())) {
@@ -157,7 +550,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
         case SYMBOL:
         case SYMBOL_AND_LABEL:
           if (name != null && symbol != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
             aUnit.setName(name);
             if (SYMBOL.equals(style) || SYMBOL_AND_LABEL.equals(style)) {
               aUnit.setSymbol(symbol);
@@ -169,7 +562,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
             return (U) aUnit;
           }
           if (name != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
             aUnit.setName(name);
             units.add(aUnit);
             return (U) aUnit;
@@ -208,7 +601,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
       switch (style) {
         case NAME:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
             aUnit.setName(text);
             units.add(aUnit);
             return (U) aUnit;
@@ -216,7 +609,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
           break;
         case SYMBOL:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
             aUnit.setSymbol(text);
             units.add(aUnit);
             return (U) aUnit;
@@ -224,7 +617,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
           break;
         case SYMBOL_AND_LABEL:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
             aUnit.setSymbol(text);
             units.add(aUnit);
             SimpleUnitFormat.getInstance().label(aUnit, text);
@@ -259,20 +652,20 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
     @SuppressWarnings("unchecked")
     public static <U extends Unit<?>> U addUnit(Set<Unit<?>> units, U unit, final String name, final String symbol) {
       if (name != null && symbol != null && unit instanceof AbstractUnit) {
-        AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+        AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
         aUnit.setName(name);
         aUnit.setSymbol(symbol);
         units.add(aUnit);
         return (U) aUnit;
       }
       if (name != null && unit instanceof AbstractUnit) {
-        AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+        AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
         aUnit.setName(name);
         units.add(aUnit);
         return (U) aUnit;
       }
       if (symbol != null && unit instanceof AbstractUnit) {
-        AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+        AbstractUnit<?> aUnit = (AbstractUnit<?>) AbstractUnit.unshared(unit);
         aUnit.setSymbol(symbol);
         units.add(aUnit);
         return (U) aUnit;
@@ -43,7 +43,9 @@ import tec.units.ri.format.SimpleUnitFormat;
 import tec.units.ri.function.AddConverter;
 import tec.units.ri.function.MultiplyConverter;
 import tec.units.ri.function.RationalConverter;
+import tec.units.ri.internal.WeakInterner;
 import tec.units.ri.quantity.QuantityDimension;
+import tec.units.ri.internal.BoundedCache;
 import tec.units.ri.spi.DimensionalModel;
 import tec.units.ri.unit.AlternateUnit;
 import tec.units.ri.unit.AnnotatedUnit;
@@ -64,7 +66,7 @@ import tec.units.ri.unit.Units;
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.5, November 7, 2017
+ * @version 1.0.9, October 17, 2026
  * @since 1.0
  */
 public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Comparable<Unit<Q>> {
@@ -74,6 +76,42 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    */
   // private static final long serialVersionUID = -4344589505537030204L;
 
+  /**
+   * Holds the maximum number of converters kept by the converter cache.
+   */
+  private static final int CONVERTER_CACHE_SIZE = 1024;
+
+  /**
+   * Holds the converters already calculated between two units (and the dimensional model for incommensurable units).
+   */
+  private static final BoundedCache<ConverterKey, UnitConverter> CONVERTER_CACHE = new BoundedCache<ConverterKey, UnitConverter>(CONVERTER_CACHE_SIZE);
+
+  /**
+   * Holds the maximum number of results kept by the unit operation cache.
+   */
+  private static final int OPERATION_CACHE_SIZE = 1024;
+
+  /**
+   * Holds the units already calculated by products, quotients, powers and roots of units.
+   */
+  private static final BoundedCache<OperationKey, Unit<?>> OPERATION_CACHE = new BoundedCache<OperationKey, Unit<?>>(OPERATION_CACHE_SIZE);
+
+  /**
+   * Holds the canonical instances of derived units (products, transformed units). Equal products are only shared when their elements are in the
+   * same order, so a canonical instance is formatted like the unit it replaces.
+   */
+  private static final WeakInterner<Unit<?>> UNITS = new WeakInterner<Unit<?>>(new WeakInterner.Equivalence<Unit<?>>() {
+    @Override
+    public boolean equivalent(Unit<?> a, Unit<?> b) {
+      return a.equals(b) && sameForm(a, b);
+    }
+
+    @Override
+    public int hash(Unit<?> value) {
+      return value.hashCode();
+    }
+  });
+
   /**
    * Holds the dimensionless unit <code>ONE</code>.
    * 
@@ -93,6 +131,11 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    */
   private String symbol;
 
+  /**
+   * Holds the inverse of this unit (calculated when first requested).
+   */
+  private volatile Unit<?> inverse;
+
   /**
    * Default constructor.
    */
@@ -298,6 +341,17 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
   public final UnitConverter getConverterTo(Unit<Q> that) throws UnconvertibleException {
     if ((this == that) || this.equals(that))
       return AbstractConverter.IDENTITY; // Shortcut.
+    if (!(that instanceof AbstractUnit))
+      return internalGetConverterTo(that);
+    // The model is part of the key since incommensurable system units are converted through it.
+    ConverterKey key = new ConverterKey(this, that, DimensionalModel.current(), false);
+    UnitConverter cvtr = CONVERTER_CACHE.get(key);
+    if (cvtr == null)
+      cvtr = CONVERTER_CACHE.putIfAbsent(key, internalGetConverterTo(that));
+    return cvtr;
+  }
+
+  private UnitConverter internalGetConverterTo(Unit<Q> that) throws UnconvertibleException {
     Unit<Q> thisSystemUnit = this.getSystemUnit();
     Unit<Q> thatSystemUnit = that.getSystemUnit();
     if (!thisSystemUnit.equals(thatSystemUnit))
@@ -311,15 +365,23 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
     return thatToSI.inverse().concatenate(thisToSI);
   }
 
-  @SuppressWarnings("rawtypes")
   public final UnitConverter getConverterToAny(Unit<?> that) throws IncommensurableException, UnconvertibleException {
     if (!isCompatible(that))
       throw new IncommensurableException(this + " is not compatible with " + that);
+    DimensionalModel model = DimensionalModel.current();
+    ConverterKey key = new ConverterKey(this, that, model, true);
+    UnitConverter cvtr = CONVERTER_CACHE.get(key);
+    if (cvtr != null)
+      return cvtr;
+    return CONVERTER_CACHE.putIfAbsent(key, internalGetConverterToAny(that, model));
+  }
+
+  @SuppressWarnings("rawtypes")
+  private UnitConverter internalGetConverterToAny(Unit<?> that, DimensionalModel model) {
     AbstractUnit thatAbstr = (AbstractUnit) that; // Since both units are
     // compatible they must
     // be both abstract
     // units.
-    DimensionalModel model = DimensionalModel.current();
     AbstractUnit thisSystemUnit = this.getSystemUnit();
     UnitConverter thisToDimension = model.getDimensionalTransform(thisSystemUnit.getDimension()).concatenate(this.getSystemConverter());
     AbstractUnit thatSystemUnit = thatAbstr.getSystemUnit();
@@ -344,10 +406,66 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
     if (cvtr.equals(AbstractConverter.IDENTITY)) {
       return systemUnit;
     } else {
-      return new TransformedUnit<>(null, this, systemUnit, cvtr);
+      return intern(new TransformedUnit<>(null, this, systemUnit, cvtr));
     }
   }
 
+  /**
+   * Returns the canonical instance of the specified derived unit, so that equal units created by unit operations are the same instance (and
+   * compare with <code>==</code>). Units are weakly referenced and must not change their equality once interned.
+   *
+   * @param unit
+   *          the unit to intern.
+   * @return the canonical instance equal to <code>unit</code>.
+   * @since 1.0.4
+   */
+  @SuppressWarnings("unchecked")
+  protected static <U extends Unit<?>> U intern(U unit) {
+    return (U) UNITS.intern(unit);
+  }
+
+  /**
+   * Returns the specified unit, or a copy of it if it is a canonical instance shared through {@link #intern(Unit)}, so that its name or symbol can
+   * be set without renaming the units returned by unit operations.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static <U extends Unit<?>> U unshared(U unit) {
+    if (!UNITS.isInterned(unit))
+      return unit;
+    if (unit instanceof ProductUnit)
+      return (U) new ProductUnit((ProductUnit) unit);
+    if (unit instanceof TransformedUnit) {
+      final TransformedUnit transformed = (TransformedUnit) unit;
+      return (U) new TransformedUnit(transformed.getSymbol(), transformed.getParentUnit(), transformed.getSystemUnit(), transformed.getConverter());
+    }
+    return unit;
+  }
+
+  /**
+   * Indicates if the specified equal units are also written the same way: product elements in the same order, transformed units of parents written
+   * the same way.
+   */
+  @SuppressWarnings("rawtypes")
+  private static boolean sameForm(Unit<?> a, Unit<?> b) {
+    if (a == b)
+      return true;
+    if ((a instanceof ProductUnit) && (b instanceof ProductUnit)) {
+      final ProductUnit<?> left = (ProductUnit<?>) a;
+      final ProductUnit<?> right = (ProductUnit<?>) b;
+      if (left.getUnitCount() != right.getUnitCount())
+        return false;
+      for (int i = 0; i < left.getUnitCount(); i++) {
+        if ((left.getUnitPow(i) != right.getUnitPow(i)) || (left.getUnitRoot(i) != right.getUnitRoot(i)) || !left.getUnit(i).equals(right.getUnit(i))
+            || !sameForm(left.getUnit(i), right.getUnit(i)))
+          return false;
+      }
+      return true;
+    }
+    if ((a instanceof TransformedUnit) && (b instanceof TransformedUnit))
+      return sameForm(((TransformedUnit) a).getParentUnit(), ((TransformedUnit) b).getParentUnit());
+    return true;
+  }
+
   @Override
   public final Unit<Q> shift(double offset) {
     if (offset == 0)
@@ -397,7 +515,11 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
       return that;
     if (that.equals(ONE))
       return this;
-    return ProductUnit.getProductInstance(this, that);
+    final OperationKey key = new OperationKey(OperationKey.PRODUCT, this, that, 0);
+    Unit<?> product = OPERATION_CACHE.get(key);
+    if (product == null)
+      product = OPERATION_CACHE.putIfAbsent(key, ProductUnit.getProductInstance(this, that));
+    return product;
   }
 
   /**
@@ -406,9 +528,12 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    * @return <code>1 / this</code>
    */
   public final Unit<?> inverse() {
-    if (this.equals(ONE))
-      return this;
-    return ProductUnit.getQuotientInstance(ONE, this);
+    Unit<?> result = inverse;
+    if (result == null) {
+      result = this.equals(ONE) ? this : ProductUnit.getQuotientInstance(ONE, this);
+      inverse = result;
+    }
+    return result;
   }
 
   /**
@@ -440,7 +565,11 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    * @return <code>this.multiply(that.inverse())</code>
    */
   public final Unit<?> divide(Unit<?> that) {
-    return this.multiply(that.inverse());
+    final OperationKey key = new OperationKey(OperationKey.QUOTIENT, this, that, 0);
+    Unit<?> quotient = OPERATION_CACHE.get(key);
+    if (quotient == null)
+      quotient = OPERATION_CACHE.putIfAbsent(key, this.multiply(that.inverse()));
+    return quotient;
   }
 
   /**
@@ -453,13 +582,15 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    *           if <code>n == 0</code> or if this operation would result in an unit with a fractional exponent.
    */
   public final Unit<?> root(int n) {
-    if (n > 0)
-      return ProductUnit.getRootInstance(this, n);
-    else if (n == 0)
+    if (n == 1)
+      return this;
+    if (n == 0)
       throw new ArithmeticException("Root's order of zero");
-    else
-      // n < 0
-      return ONE.divide(this.root(-n));
+    final OperationKey key = new OperationKey(OperationKey.ROOT, this, null, n);
+    Unit<?> root = OPERATION_CACHE.get(key);
+    if (root == null)
+      root = OPERATION_CACHE.putIfAbsent(key, (n > 0) ? ProductUnit.getRootInstance(this, n) : ONE.divide(this.root(-n)));
+    return root;
   }
 
   /**
@@ -470,13 +601,111 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    * @return the result of raising this unit to the exponent.
    */
   public final Unit<?> pow(int n) {
-    if (n > 0)
-      return this.multiply(this.pow(n - 1));
-    else if (n == 0)
+    if (n == 1)
+      return this;
+    if ((n == 0) || this.equals(ONE))
       return ONE;
-    else
-      // n < 0
-      return ONE.divide(this.pow(-n));
+    final OperationKey key = new OperationKey(OperationKey.POW, this, null, n);
+    Unit<?> pow = OPERATION_CACHE.get(key);
+    if (pow == null)
+      pow = OPERATION_CACHE.putIfAbsent(key, (n > 0) ? ProductUnit.getPowInstance(this, n) : ONE.divide(this.pow(-n)));
+    return pow;
+  }
+
+  /**
+   * Returns the statistics of the cache holding the converters calculated by {@link #getConverterTo(Unit)} and {@link #getConverterToAny(Unit)}.
+   *
+   * @return a snapshot of the converter cache statistics.
+   * @since 1.0.4
+   */
+  public static CacheStatistics getConverterCacheStatistics() {
+    return CONVERTER_CACHE.getStatistics();
+  }
+
+  /**
+   * Returns the statistics of the cache holding the units calculated by {@link #multiply(AbstractUnit)}, {@link #divide(Unit)}, {@link #pow(int)}
+   * and {@link #root(int)}.
+   *
+   * @return a snapshot of the unit operation cache statistics.
+   * @since 1.0.4
+   */
+  public static CacheStatistics getOperationCacheStatistics() {
+    return OPERATION_CACHE.getStatistics();
+  }
+
+  /**
+   * Key of the converter cache: source and target units, the dimensional model and whether the converter was requested through
+   * {@link #getConverterToAny(Unit)}.
+   */
+  private static final class ConverterKey {
+    private final Unit<?> source;
+    private final Unit<?> target;
+    private final DimensionalModel model;
+    private final boolean any;
+    private final int hash;
+
+    ConverterKey(Unit<?> source, Unit<?> target, DimensionalModel model, boolean any) {
+      this.source = source;
+      this.target = target;
+      this.model = model;
+      this.any = any;
+      this.hash = (31 * source.hashCode() + target.hashCode()) * 31 + System.identityHashCode(model) + (any ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof ConverterKey))
+        return false;
+      ConverterKey that = (ConverterKey) obj;
+      return (hash == that.hash) && (model == that.model) && (any == that.any) && source.equals(that.source) && target.equals(that.target);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * Key of the unit operation cache: the operation, its unit operands and its exponent (for powers and roots). Operands are compared by identity,
+   * equal units written differently (e.g. <code>m·s</code> and <code>s·m</code>) have distinct results.
+   */
+  private static final class OperationKey {
+    static final int PRODUCT = 0;
+    static final int QUOTIENT = 1;
+    static final int POW = 2;
+    static final int ROOT = 3;
+
+    private final int operation;
+    private final Unit<?> left;
+    private final Unit<?> right;
+    private final int exponent;
+    private final int hash;
+
+    OperationKey(int operation, Unit<?> left, Unit<?> right, int exponent) {
+      this.operation = operation;
+      this.left = left;
+      this.right = right;
+      this.exponent = exponent;
+      this.hash = ((31 * System.identityHashCode(left) + System.identityHashCode(right)) * 31 + exponent) * 31 + operation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof OperationKey))
+        return false;
+      OperationKey that = (OperationKey) obj;
+      return (hash == that.hash) && (operation == that.operation) && (exponent == that.exponent) && (left == that.left) && (right == that.right);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
   }
 
   // //////////////////////////////////////////////////////////////
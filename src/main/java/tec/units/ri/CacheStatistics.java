@@ -0,0 +1,136 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri;
+
+/**
+ * <p>
+ * An immutable snapshot of the statistics of one of the internal caches (for example the converters cached by {@link AbstractUnit}), for
+ * monitoring.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 17, 2026
+ * @since 1.0.4
+ */
+public final class CacheStatistics {
+
+  private final int size;
+
+  private final int maximumSize;
+
+  private final long hitCount;
+
+  private final long missCount;
+
+  private final long evictionCount;
+
+  /**
+   * Creates a snapshot of cache statistics.
+   *
+   * @param size
+   *          the number of entries.
+   * @param maximumSize
+   *          the maximum number of entries.
+   * @param hitCount
+   *          the number of lookups which found a cached value.
+   * @param missCount
+   *          the number of lookups which did not find a cached value.
+   * @param evictionCount
+   *          the number of entries evicted because the cache was full.
+   */
+  public CacheStatistics(int size, int maximumSize, long hitCount, long missCount, long evictionCount) {
+    this.size = size;
+    this.maximumSize = maximumSize;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+  }
+
+  /**
+   * Returns the approximate number of entries in the cache.
+   *
+   * @return the number of entries.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Returns the maximum number of entries in the cache.
+   *
+   * @return the maximum size.
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of lookups which found a cached value.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached value.
+   *
+   * @return the miss count.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns the number of entries evicted because the cache was full.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Returns the ratio of lookups which found a cached value.
+   *
+   * @return the hit rate, <code>1</code> if there was no lookup.
+   */
+  public double getHitRate() {
+    final long lookups = hitCount + missCount;
+    return (lookups == 0) ? 1.0 : (double) hitCount / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStatistics(size=" + size + "/" + maximumSize + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+        + ")";
+  }
+}
@@ -52,7 +52,7 @@ import tec.units.ri.AbstractUnit;
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.1, October 6, 2016
+ * @version 1.0.2, October 17, 2026
  * @since 1.0
  * 
  */
@@ -76,7 +76,7 @@ public abstract class AbstractUnitFormat implements UnitFormat {
    */
   public final String format(Unit<?> unit) {
     if (unit instanceof AbstractUnit) {
-      return format((AbstractUnit<?>) unit, new StringBuilder()).toString();
+      return formatToString((AbstractUnit<?>) unit);
     } else {
       try {
         return (this.format(unit, new StringBuilder())).toString();
@@ -86,6 +86,13 @@ public abstract class AbstractUnitFormat implements UnitFormat {
     }
   }
 
+  /**
+   * Formats the specified unit to a new string, overridden by the formats returning cached texts.
+   */
+  String formatToString(AbstractUnit<?> unit) {
+    return format(unit, new StringBuilder()).toString();
+  }
+
   /**
    * Formats the specified unit.
    *
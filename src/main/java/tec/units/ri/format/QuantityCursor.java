@@ -0,0 +1,523 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.nio.ByteBuffer;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.internal.SymbolTrie;
+import tec.units.ri.quantity.Quantities;
+
+/**
+ * <p>
+ * A reusable cursor parsing quantities composed of a decimal number and a unit separated by whitespace(s) (for example <code>"12.5 km/h"</code>),
+ * from a {@link CharSequence}, a range of a <code>char[]</code> or an ASCII/UTF-8 encoded {@link ByteBuffer}.
+ * </p>
+ *
+ * <p>
+ * The value, the unit and the end position of the last quantity parsed are kept by the cursor, so no quantity (nor any other object) is created per
+ * call. The number is read with a fast decimal parser (exact for up to 18 significant digits and decimal exponents up to 22, other numbers are
+ * delegated to {@link Double#parseDouble(String)}), the unit symbol is tokenized in place and resolved with a per cursor memo of the unit symbols
+ * already parsed by the unit format (reset when new labels or aliases are defined).
+ * </p>
+ *
+ * <p>
+ * <code>
+ * QuantityCursor cursor = new QuantityCursor();<br>
+ * cursor.parse("12.5 km/h");<br>
+ * double kmh = cursor.getValue(); // 12.5<br>
+ * Unit&lt;?&gt; unit = cursor.getUnit(); // KILO(METRE).divide(HOUR)
+ * </code>
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread-safe, each thread should use its own cursor.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantityCursor {
+
+  /**
+   * Holds the maximum number of unit symbols kept by a cursor.
+   */
+  private static final int MAX_UNITS = 256;
+
+  /**
+   * Holds the maximum number of significant digits read exactly.
+   */
+  private static final int MAX_DIGITS = 18;
+
+  /**
+   * Holds the maximum mantissa exactly represented by a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * Holds the powers of ten exactly represented by a double.
+   */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+      1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  private final SimpleUnitFormat format;
+
+  /**
+   * Holds the units of the symbols already parsed.
+   */
+  private SymbolTrie<Unit<?>> units = new SymbolTrie<>();
+
+  /**
+   * Holds the parse cache generation of the format when the units were parsed.
+   */
+  private int generation;
+
+  /**
+   * Views the <code>char[]</code> parsed (or the characters decoded from a byte buffer) as a character sequence.
+   */
+  private final CharArraySequence chars = new CharArraySequence();
+
+  /**
+   * Holds the characters decoded from a byte buffer.
+   */
+  private char[] decoded = new char[32];
+
+  private double value;
+
+  private Unit<?> unit;
+
+  private int index;
+
+  /**
+   * Creates a cursor parsing units with the default {@link SimpleUnitFormat}.
+   */
+  public QuantityCursor() {
+    this(SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Creates a cursor parsing units with the specified format.
+   *
+   * @param format
+   *          the unit format.
+   */
+  public QuantityCursor(SimpleUnitFormat format) {
+    if (format == null)
+      throw new NullPointerException();
+    this.format = format;
+    this.generation = format.parseCacheGeneration;
+  }
+
+  /**
+   * Parses the quantity at the beginning of the specified character sequence.
+   *
+   * @param csq
+   *          the text to parse.
+   * @return the index after the last character parsed.
+   * @throws ParserException
+   *           if the number or the unit cannot be parsed.
+   * @see #parse(CharSequence, int, int)
+   */
+  public int parse(CharSequence csq) throws ParserException {
+    return parse(csq, 0, csq.length());
+  }
+
+  /**
+   * Parses the quantity at the beginning of the specified range of a character sequence. Leading whitespaces are skipped, the number and the unit
+   * are separated by whitespace(s) and the unit ends at the next whitespace or at the end of the range. If there is no unit {@link AbstractUnit#ONE}
+   * is returned.
+   *
+   * @param csq
+   *          the text to parse.
+   * @param start
+   *          the index of the first character to parse.
+   * @param end
+   *          the index after the last character which may be parsed.
+   * @return the index after the last character parsed, also returned by {@link #getIndex()}.
+   * @throws ParserException
+   *           if the number or the unit cannot be parsed.
+   */
+  public int parse(CharSequence csq, int start, int end) throws ParserException {
+    if ((start < 0) || (end > csq.length()) || (start > end))
+      throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + csq.length());
+    int numberStart = skipWhitespaces(csq, start, end);
+    int numberEnd = skipToken(csq, numberStart, end);
+    int unitStart = skipWhitespaces(csq, numberEnd, end);
+    int unitEnd = skipToken(csq, unitStart, end);
+    value = parseNumber(csq, numberStart, numberEnd);
+    unit = (unitStart == unitEnd) ? AbstractUnit.ONE : parseUnit(csq, unitStart, unitEnd);
+    index = (unitStart == unitEnd) ? numberEnd : unitEnd;
+    return index;
+  }
+
+  /**
+   * Parses the quantity at the beginning of the specified range of a character array.
+   *
+   * @param chars
+   *          the characters to parse.
+   * @param start
+   *          the index of the first character to parse.
+   * @param end
+   *          the index after the last character which may be parsed.
+   * @return the index after the last character parsed, also returned by {@link #getIndex()}.
+   * @throws ParserException
+   *           if the number or the unit cannot be parsed.
+   * @see #parse(CharSequence, int, int)
+   */
+  public int parse(char[] chars, int start, int end) throws ParserException {
+    this.chars.array = chars;
+    this.chars.length = chars.length;
+    try {
+      return parse(this.chars, start, end);
+    } finally {
+      this.chars.array = null;
+    }
+  }
+
+  /**
+   * Parses the quantity at the position of the specified ASCII or UTF-8 encoded buffer, the position of the buffer is set after the last byte parsed.
+   *
+   * @param buffer
+   *          the bytes to parse, up to the limit of the buffer.
+   * @return the new position of the buffer, also returned by {@link #getIndex()}.
+   * @throws ParserException
+   *           if the bytes are not valid UTF-8, or if the number or the unit cannot be parsed.
+   */
+  public int parse(ByteBuffer buffer) throws ParserException {
+    final int end = parse(buffer, buffer.position(), buffer.limit());
+    buffer.position(end);
+    return end;
+  }
+
+  /**
+   * Parses the quantity at the beginning of the specified range of an ASCII or UTF-8 encoded buffer. The buffer position is not used nor modified,
+   * several cursors can parse different ranges of the same buffer concurrently.
+   *
+   * @param buffer
+   *          the bytes to parse.
+   * @param start
+   *          the index of the first byte to parse.
+   * @param end
+   *          the index after the last byte which may be parsed.
+   * @return the index after the last byte parsed, also returned by {@link #getIndex()}.
+   * @throws ParserException
+   *           if the bytes are not valid UTF-8, or if the number or the unit cannot be parsed.
+   */
+  public int parse(ByteBuffer buffer, int start, int end) throws ParserException {
+    if ((start < 0) || (end > buffer.limit()) || (start > end))
+      throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", limit: " + buffer.limit());
+    int numberStart = skipWhitespaces(buffer, start, end);
+    int numberEnd = decodeToken(buffer, numberStart, end, 0);
+    final int numberLength = chars.length;
+    int unitStart = skipWhitespaces(buffer, numberEnd, end);
+    int unitEnd = decodeToken(buffer, unitStart, end, numberLength);
+    chars.array = decoded;
+    try {
+      try {
+        value = parseNumber(chars, 0, numberLength);
+      } catch (ParserException e) {
+        throw new ParserException(e.getMessage(), e.getParsedString(), numberStart);
+      }
+      if (unitStart == unitEnd) {
+        unit = AbstractUnit.ONE;
+        index = numberEnd;
+      } else {
+        try {
+          unit = parseUnit(chars, numberLength, chars.length);
+        } catch (ParserException e) {
+          throw new ParserException(e.getMessage(), e.getParsedString(), unitStart + e.getPosition() - numberLength);
+        }
+        index = unitEnd;
+      }
+      return index;
+    } finally {
+      chars.array = null;
+    }
+  }
+
+  /**
+   * Returns the value of the last quantity parsed.
+   *
+   * @return the number parsed.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the unit of the last quantity parsed.
+   *
+   * @return the unit parsed, {@link AbstractUnit#ONE} if there was none, or <code>null</code> if nothing has been parsed yet.
+   */
+  public Unit<?> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the index (or buffer position) after the last quantity parsed.
+   *
+   * @return the end position of the last parse.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the last quantity parsed as a new quantity instance.
+   *
+   * @return the quantity with the current value and unit.
+   * @throws IllegalStateException
+   *           if nothing has been parsed yet.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public Quantity<?> toQuantity() {
+    if (unit == null)
+      throw new IllegalStateException("No quantity parsed");
+    return Quantities.getQuantity(value, (Unit) unit);
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityCursor[value=" + value + ", unit=" + unit + ", index=" + index + "]";
+  }
+
+  private Unit<?> parseUnit(CharSequence csq, int start, int end) throws ParserException {
+    final int current = format.parseCacheGeneration;
+    if (current != generation) { // New labels or aliases.
+      units = new SymbolTrie<>();
+      generation = current;
+    }
+    Unit<?> result = units.get(csq, start, end);
+    if (result == null) {
+      final String symbol = csq.subSequence(start, end).toString();
+      try {
+        result = format.parse(symbol);
+      } catch (ParserException e) {
+        throw new ParserException(e.getMessage(), csq.toString(), start + e.getPosition());
+      }
+      if (units.size() < MAX_UNITS)
+        units.put(symbol, result);
+    }
+    return result;
+  }
+
+  private static double parseNumber(CharSequence csq, int start, int end) throws ParserException {
+    if (start == end)
+      throw new ParserException("Missing number", csq.toString(), start);
+    try {
+      return parseDouble(csq, start, end);
+    } catch (NumberFormatException e) {
+      throw new ParserException("Invalid number: " + csq.subSequence(start, end), csq.toString(), start);
+    }
+  }
+
+  /**
+   * Parses the decimal number in the specified range, with the same syntax and result as {@link Double#parseDouble(String)}. Decimal numbers with
+   * up to 18 significant digits and a decimal exponent up to 22 are parsed without creating any object (the mantissa and the power of ten are exact
+   * doubles, their product or quotient is correctly rounded), other numbers are delegated to {@link Double#parseDouble(String)}.
+   */
+  static double parseDouble(CharSequence csq, int start, int end) throws NumberFormatException {
+    int i = start;
+    boolean negative = false;
+    if ((i < end) && ((csq.charAt(i) == '-') || (csq.charAt(i) == '+'))) {
+      negative = csq.charAt(i) == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean exact = true;
+    boolean hasDigits = false;
+    for (; (i < end) && isDigit(csq.charAt(i)); i++) {
+      hasDigits = true;
+      final int digit = csq.charAt(i) - '0';
+      if (digits < MAX_DIGITS) {
+        mantissa = mantissa * 10 + digit;
+        if (mantissa != 0)
+          digits++;
+      } else {
+        exponent++;
+        exact &= digit == 0;
+      }
+    }
+    if ((i < end) && (csq.charAt(i) == '.')) {
+      for (i++; (i < end) && isDigit(csq.charAt(i)); i++) {
+        hasDigits = true;
+        final int digit = csq.charAt(i) - '0';
+        if (digits < MAX_DIGITS) {
+          mantissa = mantissa * 10 + digit;
+          exponent--;
+          if (mantissa != 0)
+            digits++;
+        } else {
+          exact &= digit == 0;
+        }
+      }
+    }
+    if (hasDigits && (i < end) && ((csq.charAt(i) == 'e') || (csq.charAt(i) == 'E'))) {
+      int j = i + 1;
+      boolean negativeExponent = false;
+      if ((j < end) && ((csq.charAt(j) == '-') || (csq.charAt(j) == '+'))) {
+        negativeExponent = csq.charAt(j) == '-';
+        j++;
+      }
+      int e = 0;
+      boolean hasExponentDigits = false;
+      for (; (j < end) && isDigit(csq.charAt(j)); j++) {
+        hasExponentDigits = true;
+        if (e < 10000)
+          e = e * 10 + (csq.charAt(j) - '0');
+      }
+      if (hasExponentDigits) {
+        exponent += negativeExponent ? -e : e;
+        i = j;
+      } else {
+        hasDigits = false; // Falls back to report the error.
+      }
+    }
+    if (hasDigits && exact && (i == end)) {
+      if (mantissa == 0)
+        return negative ? -0.0 : 0.0;
+      if ((mantissa <= MAX_EXACT_MANTISSA) && (exponent >= -22) && (exponent <= 22)) {
+        final double result = (exponent >= 0) ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -result : result;
+      }
+    }
+    return Double.parseDouble(csq.subSequence(start, end).toString());
+  }
+
+  private static boolean isDigit(char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  private static int skipWhitespaces(CharSequence csq, int start, int end) {
+    while ((start < end) && Character.isWhitespace(csq.charAt(start)))
+      start++;
+    return start;
+  }
+
+  private static int skipToken(CharSequence csq, int start, int end) {
+    while ((start < end) && !Character.isWhitespace(csq.charAt(start)))
+      start++;
+    return start;
+  }
+
+  private static int skipWhitespaces(ByteBuffer buffer, int start, int end) {
+    while ((start < end) && isWhitespace(buffer.get(start)))
+      start++;
+    return start;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return (b >= 0) && Character.isWhitespace((char) b);
+  }
+
+  /**
+   * Decodes the UTF-8 token starting at the specified index into the decoded characters (from the specified offset), the length of the decoded
+   * characters is set and the index after the token is returned.
+   */
+  private int decodeToken(ByteBuffer buffer, int start, int end, int offset) throws ParserException {
+    int i = start;
+    int n = offset;
+    while (i < end) {
+      final int b = buffer.get(i);
+      if (b >= 0) {
+        if (Character.isWhitespace((char) b))
+          break;
+        ensureDecodedCapacity(n + 1);
+        decoded[n++] = (char) b;
+        i++;
+        continue;
+      }
+      final int length = ((b & 0xE0) == 0xC0) ? 2 : ((b & 0xF0) == 0xE0) ? 3 : ((b & 0xF8) == 0xF0) ? 4 : 0;
+      if ((length == 0) || (i + length > end))
+        throw new ParserException("Invalid UTF-8 byte sequence", "", i);
+      int codePoint = b & (0x7F >> length);
+      for (int k = 1; k < length; k++) {
+        final int c = buffer.get(i + k);
+        if ((c & 0xC0) != 0x80)
+          throw new ParserException("Invalid UTF-8 byte sequence", "", i);
+        codePoint = (codePoint << 6) | (c & 0x3F);
+      }
+      if (!Character.isValidCodePoint(codePoint))
+        throw new ParserException("Invalid UTF-8 byte sequence", "", i);
+      ensureDecodedCapacity(n + 2);
+      n += Character.toChars(codePoint, decoded, n);
+      i += length;
+    }
+    chars.length = n;
+    return i;
+  }
+
+  private void ensureDecodedCapacity(int capacity) {
+    if (capacity > decoded.length) {
+      final char[] larger = new char[Math.max(capacity, decoded.length * 2)];
+      System.arraycopy(decoded, 0, larger, 0, decoded.length);
+      decoded = larger;
+    }
+  }
+
+  /**
+   * A mutable view of a character array as a character sequence.
+   */
+  private static final class CharArraySequence implements CharSequence {
+    private char[] array;
+    private int length;
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index >= length)
+        throw new IndexOutOfBoundsException();
+      return array[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if ((start < 0) || (end > length) || (start > end))
+        throw new IndexOutOfBoundsException();
+      return new String(array, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(array, 0, length);
+    }
+  }
+}
@@ -47,7 +47,7 @@ import tec.uom.lib.common.function.Parser;
  * 
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.1, $Date: 2017-07-10 $
+ * @version 1.0.2, $Date: 2026-10-17 $
  * @since 1.0
  */
 @SuppressWarnings("rawtypes")
@@ -200,11 +200,11 @@ public abstract class QuantityFormat implements Parser<CharSequence, Quantity> {
       while ((endDecimal < csq.length()) && !Character.isWhitespace(csq.charAt(endDecimal))) {
         endDecimal++;
       }
-      Double decimal = new Double(csq.subSequence(startDecimal, endDecimal).toString());
+      double decimal = QuantityCursor.parseDouble(csq, startDecimal, endDecimal);
       // cursor.setIndex(endDecimal + 1);
       int startUnit = endDecimal + 1;// csq.toString().indexOf(' ') + 1;
       Unit unit = SimpleUnitFormat.getInstance().parse(csq, startUnit);
-      return NumberQuantity.of(decimal.doubleValue(), unit);
+      return NumberQuantity.of(decimal, unit);
     }
 
     public Quantity<?> parse(CharSequence csq) throws ParserException {
@@ -0,0 +1,659 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.measure.IncommensurableException;
+import javax.measure.MeasurementException;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractUnit;
+
+/**
+ * <p>
+ * Ingests large text files of quantities (one record per line, for example CSV files) into primitive <code>double[]</code> columns, each value
+ * being converted to the unit of its column.
+ * </p>
+ *
+ * <p>
+ * Files are memory-mapped and split at line boundaries into chunks parsed in parallel by the tasks of a fork/join pool. Each task parses its
+ * fields in place with its own {@link QuantityCursor} (the units are resolved by {@link SimpleUnitFormat}) and keeps the converter of the last unit
+ * of each column, so no object is created per value. A value without unit is stated in the unit of its column. Lines which cannot be parsed or
+ * converted (wrong number of fields, invalid number or unit, incompatible unit) are skipped and reported as {@link LineError errors} of the
+ * {@link Result result}, blank lines are ignored.
+ * </p>
+ *
+ * <p>
+ * <code>
+ * QuantityIngester ingester = QuantityIngester.of(KILO(WATT).multiply(HOUR), CELSIUS).withHeaderLines(1);<br>
+ * QuantityIngester.Result result = ingester.ingest(Paths.get("meters.csv"));<br>
+ * double[] energy = result.getColumn(0); // kWh<br>
+ * double[] temperature = result.getColumn(1); // ℃
+ * </code>
+ * </p>
+ *
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantityIngester {
+
+  /**
+   * Holds the minimum size (in bytes) of the chunks parsed by a single task.
+   */
+  private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+  /**
+   * Holds the maximum size (in bytes) of the file regions mapped at once.
+   */
+  private static final long MAX_REGION_SIZE = 1L << 30;
+
+  /**
+   * Holds the maximum number of errors detailed by a result.
+   */
+  static final int MAX_ERROR_DETAILS = 1000;
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private final Unit<?>[] units;
+
+  private final char delimiter;
+
+  private final int headerLines;
+
+  private QuantityIngester(Unit<?>[] units, char delimiter, int headerLines) {
+    this.units = units;
+    this.delimiter = delimiter;
+    this.headerLines = headerLines;
+  }
+
+  /**
+   * Returns an ingester of lines holding one quantity per column, separated by commas.
+   *
+   * @param units
+   *          the unit of each column, the values are converted to.
+   * @return the corresponding ingester.
+   * @throws IllegalArgumentException
+   *           if no unit is specified.
+   */
+  public static QuantityIngester of(Unit<?>... units) {
+    if (units.length == 0)
+      throw new IllegalArgumentException("At least one column is required");
+    for (Unit<?> unit : units) {
+      if (unit == null)
+        throw new NullPointerException();
+    }
+    return new QuantityIngester(units.clone(), ',', 0);
+  }
+
+  /**
+   * Returns an ingester identical to this one, except for the character separating the columns.
+   *
+   * @param delimiter
+   *          the column delimiter (an ASCII character other than space and line terminators, for example <code>';'</code> or <code>'\t'</code>).
+   * @return the corresponding ingester.
+   * @throws IllegalArgumentException
+   *           if the delimiter cannot be used.
+   */
+  public QuantityIngester withDelimiter(char delimiter) {
+    if ((delimiter >= 0x80) || (delimiter == ' ') || (delimiter == '\n') || (delimiter == '\r'))
+      throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+    return new QuantityIngester(units, delimiter, headerLines);
+  }
+
+  /**
+   * Returns an ingester identical to this one, except for the number of lines skipped at the beginning of the input.
+   *
+   * @param count
+   *          the number of header lines.
+   * @return the corresponding ingester.
+   */
+  public QuantityIngester withHeaderLines(int count) {
+    if (count < 0)
+      throw new IllegalArgumentException("Negative count: " + count);
+    return new QuantityIngester(units, delimiter, count);
+  }
+
+  /**
+   * Returns the number of columns (and of fields per line).
+   *
+   * @return the column count.
+   */
+  public int getColumnCount() {
+    return units.length;
+  }
+
+  /**
+   * Returns the unit of the specified column.
+   *
+   * @param column
+   *          the column index.
+   * @return the unit the values of the column are converted to.
+   */
+  public Unit<?> getUnit(int column) {
+    return units[column];
+  }
+
+  /**
+   * Returns the column delimiter.
+   *
+   * @return the character separating the columns.
+   */
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  /**
+   * Ingests the specified ASCII or UTF-8 encoded file, using a shared fork/join pool.
+   *
+   * @param file
+   *          the file to ingest.
+   * @return the columns of the valid lines and the errors.
+   * @throws IOException
+   *           if the file cannot be read.
+   */
+  public Result ingest(Path file) throws IOException {
+    return ingest(file, PoolHolder.POOL);
+  }
+
+  /**
+   * Ingests the specified ASCII or UTF-8 encoded file, using the threads of the specified fork/join pool.
+   *
+   * @param file
+   *          the file to ingest.
+   * @param pool
+   *          the pool running the parsing tasks.
+   * @return the columns of the valid lines and the errors.
+   * @throws IOException
+   *           if the file cannot be read.
+   */
+  public Result ingest(Path file, ForkJoinPool pool) throws IOException {
+    return ingest(file, pool, MAX_REGION_SIZE);
+  }
+
+  /**
+   * Ingests the specified file, mapped in regions of at most the specified size (ending at line boundaries).
+   */
+  Result ingest(Path file, ForkJoinPool pool, long regionSize) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      final List<Chunk> chunks = new ArrayList<>();
+      long position = 0;
+      while (position < size) {
+        final ByteBuffer region = channel.map(MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+        int end = region.limit();
+        if (position + end < size) { // Cuts the region after its last line terminator.
+          while ((end > 0) && (region.get(end - 1) != '\n'))
+            end--;
+          if (end == 0)
+            throw new IOException("Line longer than " + regionSize + " bytes at offset " + position);
+        }
+        parse(region, end, position, position == 0, pool, chunks);
+        position += end;
+      }
+      return merge(chunks);
+    }
+  }
+
+  /**
+   * Ingests the ASCII or UTF-8 encoded bytes of the specified buffer (from its position to its limit, the buffer position is not modified), using a
+   * shared fork/join pool.
+   *
+   * @param buffer
+   *          the bytes to ingest.
+   * @return the columns of the valid lines and the errors, with offsets relative to the buffer position.
+   */
+  public Result ingest(ByteBuffer buffer) {
+    return ingest(buffer, PoolHolder.POOL);
+  }
+
+  /**
+   * Ingests the ASCII or UTF-8 encoded bytes of the specified buffer (from its position to its limit, the buffer position is not modified), using
+   * the threads of the specified fork/join pool.
+   *
+   * @param buffer
+   *          the bytes to ingest.
+   * @param pool
+   *          the pool running the parsing tasks.
+   * @return the columns of the valid lines and the errors, with offsets relative to the buffer position.
+   */
+  public Result ingest(ByteBuffer buffer, ForkJoinPool pool) {
+    final ByteBuffer bytes = buffer.slice();
+    final List<Chunk> chunks = new ArrayList<>();
+    parse(bytes, bytes.limit(), 0, true, pool, chunks);
+    return merge(chunks);
+  }
+
+  /**
+   * Splits the bytes of the specified buffer up to the specified end at line boundaries and parses the chunks in parallel.
+   */
+  private void parse(ByteBuffer buffer, int end, long offset, boolean first, ForkJoinPool pool, List<Chunk> chunks) {
+    int start = 0;
+    if (first && (headerLines > 0)) {
+      final Chunk header = new Chunk(offset, 0);
+      for (; (header.lines < headerLines) && (start < end); header.lines++) {
+        start = nextLine(buffer, start, end);
+      }
+      chunks.add(header);
+    }
+    final int chunkSize = Math.max(MIN_CHUNK_SIZE, (end - start) / (pool.getParallelism() * 4) + 1);
+    final List<ChunkTask> tasks = new ArrayList<>();
+    while (start < end) {
+      final int to = (end - start > chunkSize) ? nextLine(buffer, start + chunkSize, end) : end;
+      tasks.add(new ChunkTask(buffer, start, to, offset));
+      start = to;
+    }
+    if (tasks.size() == 1)
+      tasks.get(0).parse();
+    else if (!tasks.isEmpty())
+      pool.invoke(new ParseTask(tasks));
+    for (ChunkTask task : tasks) {
+      chunks.add(task.chunk);
+    }
+  }
+
+  /**
+   * Concatenates the columns and the errors of the specified chunks (in file order).
+   */
+  private Result merge(List<Chunk> chunks) {
+    long total = 0;
+    for (Chunk chunk : chunks) {
+      total += chunk.rows;
+    }
+    if (total > Integer.MAX_VALUE - 8)
+      throw new IllegalStateException("Too many lines for a column: " + total);
+    final double[][] columns = new double[units.length][(int) total];
+    final List<LineError> errors = new ArrayList<>();
+    long errorCount = 0;
+    long lines = 0;
+    int size = 0;
+    for (Chunk chunk : chunks) {
+      for (int c = 0; (c < units.length) && (chunk.rows > 0); c++) {
+        System.arraycopy(chunk.columns[c], 0, columns[c], size, chunk.rows);
+      }
+      for (LineError error : chunk.errors) {
+        if (errors.size() < MAX_ERROR_DETAILS)
+          errors.add(new LineError(lines + error.lineNumber, error.offset, error.line, error.message));
+      }
+      size += chunk.rows;
+      lines += chunk.lines;
+      errorCount += chunk.errorCount;
+    }
+    return new Result(units, columns, size, lines, errorCount, errors);
+  }
+
+  /**
+   * Returns the index after the line terminator following the specified index, or the end index.
+   */
+  private static int nextLine(ByteBuffer buffer, int from, int end) {
+    final int index = indexOf(buffer, (byte) '\n', from, end);
+    return (index < end) ? index + 1 : end;
+  }
+
+  /**
+   * Returns the index of the specified byte in the specified range, or the end index.
+   */
+  private static int indexOf(ByteBuffer buffer, byte b, int from, int end) {
+    while ((from < end) && (buffer.get(from) != b))
+      from++;
+    return from;
+  }
+
+  private static int skipWhitespaces(ByteBuffer buffer, int from, int end) {
+    while ((from < end) && isWhitespace(buffer.get(from)))
+      from++;
+    return from;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return (b >= 0) && Character.isWhitespace((char) b);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("QuantityIngester[");
+    for (int c = 0; c < units.length; c++) {
+      if (c != 0)
+        sb.append(delimiter);
+      sb.append(units[c]);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * The result of an ingestion: the columns of the lines parsed and the lines in error.
+   */
+  public static final class Result {
+    private final Unit<?>[] units;
+    private final double[][] columns;
+    private final int size;
+    private final long lineCount;
+    private final long errorCount;
+    private final List<LineError> errors;
+
+    private Result(Unit<?>[] units, double[][] columns, int size, long lineCount, long errorCount, List<LineError> errors) {
+      this.units = units;
+      this.columns = columns;
+      this.size = size;
+      this.lineCount = lineCount;
+      this.errorCount = errorCount;
+      this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns the number of lines parsed, the length of each column.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the column count.
+     */
+    public int getColumnCount() {
+      return columns.length;
+    }
+
+    /**
+     * Returns the values of the specified column, in the order of the input lines.
+     *
+     * @param column
+     *          the column index.
+     * @return the values stated in the column unit (the array is not copied).
+     */
+    public double[] getColumn(int column) {
+      return columns[column];
+    }
+
+    /**
+     * Returns the unit of the specified column.
+     *
+     * @param column
+     *          the column index.
+     * @return the unit of the column values.
+     */
+    public Unit<?> getUnit(int column) {
+      return units[column];
+    }
+
+    /**
+     * Returns the number of lines read, including header, blank and erroneous lines.
+     *
+     * @return the line count.
+     */
+    public long getLineCount() {
+      return lineCount;
+    }
+
+    /**
+     * Returns the number of lines which could not be parsed or converted.
+     *
+     * @return the error count.
+     */
+    public long getErrorCount() {
+      return errorCount;
+    }
+
+    /**
+     * Returns the lines which could not be parsed or converted, in the order of the input (only the first thousand errors are detailed).
+     *
+     * @return the errors (unmodifiable).
+     */
+    public List<LineError> getErrors() {
+      return errors;
+    }
+
+    @Override
+    public String toString() {
+      return "QuantityIngester.Result[size=" + size + ", lines=" + lineCount + ", errors=" + errorCount + "]";
+    }
+  }
+
+  /**
+   * A line which could not be ingested.
+   */
+  public static final class LineError {
+    private final long lineNumber;
+    private final long offset;
+    private final String line;
+    private final String message;
+
+    LineError(long lineNumber, long offset, String line, String message) {
+      this.lineNumber = lineNumber;
+      this.offset = offset;
+      this.line = line;
+      this.message = message;
+    }
+
+    /**
+     * Returns the number of the line in error.
+     *
+     * @return the line number (starting from 1).
+     */
+    public long getLineNumber() {
+      return lineNumber;
+    }
+
+    /**
+     * Returns the position of the line in the input.
+     *
+     * @return the offset (in bytes) of the first character of the line.
+     */
+    public long getOffset() {
+      return offset;
+    }
+
+    /**
+     * Returns the text of the line in error.
+     *
+     * @return the line (without line terminator).
+     */
+    public String getLine() {
+      return line;
+    }
+
+    /**
+     * Returns the reason why the line could not be ingested.
+     *
+     * @return the error message.
+     */
+    public String getMessage() {
+      return message;
+    }
+
+    @Override
+    public String toString() {
+      return "Line " + lineNumber + ": " + message + " (" + line + ")";
+    }
+  }
+
+  /**
+   * The columns and the errors of a range of lines, line numbers of the errors are relative to the chunk.
+   */
+  private static final class Chunk {
+    private final long offset;
+    private double[][] columns;
+    private int rows;
+    private long lines;
+    private long errorCount;
+    private final List<LineError> errors = new ArrayList<>();
+
+    Chunk(long offset, int columnCount) {
+      this.offset = offset;
+      this.columns = new double[columnCount][];
+    }
+  }
+
+  /**
+   * Holds the pool used when none is specified (created on first use).
+   */
+  private static final class PoolHolder {
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+  /**
+   * Parses all the chunks in parallel.
+   */
+  @SuppressWarnings("serial")
+  private static final class ParseTask extends RecursiveAction {
+    private final List<ChunkTask> tasks;
+
+    ParseTask(List<ChunkTask> tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    protected void compute() {
+      invokeAll(tasks);
+    }
+  }
+
+  /**
+   * Parses the lines of a chunk into its columns.
+   */
+  @SuppressWarnings("serial")
+  private final class ChunkTask extends RecursiveAction {
+    private final ByteBuffer buffer;
+    private final int from;
+    private final int to;
+    private final Chunk chunk;
+    private final QuantityCursor cursor = new QuantityCursor();
+    private final Unit<?>[] lastUnits = new Unit<?>[units.length];
+    private final UnitConverter[] converters = new UnitConverter[units.length];
+    private final double[] row = new double[units.length];
+
+    ChunkTask(ByteBuffer buffer, int from, int to, long offset) {
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+      this.chunk = new Chunk(offset, units.length);
+    }
+
+    @Override
+    protected void compute() {
+      parse();
+    }
+
+    void parse() {
+      int capacity = Math.max(16, (to - from) / (12 * units.length));
+      for (int c = 0; c < units.length; c++) {
+        chunk.columns[c] = new double[capacity];
+      }
+      for (int start = from; start < to;) {
+        final int lineEnd = indexOf(buffer, (byte) '\n', start, to);
+        int end = lineEnd;
+        if ((end > start) && (buffer.get(end - 1) == '\r'))
+          end--;
+        chunk.lines++;
+        if (skipWhitespaces(buffer, start, end) < end) {
+          final String error = parseLine(start, end);
+          if (error == null) {
+            if (chunk.rows == capacity) {
+              capacity += capacity >> 1;
+              for (int c = 0; c < units.length; c++) {
+                final double[] column = new double[capacity];
+                System.arraycopy(chunk.columns[c], 0, column, 0, chunk.rows);
+                chunk.columns[c] = column;
+              }
+            }
+            for (int c = 0; c < units.length; c++) {
+              chunk.columns[c][chunk.rows] = row[c];
+            }
+            chunk.rows++;
+          } else {
+            chunk.errorCount++;
+            if (chunk.errors.size() < MAX_ERROR_DETAILS)
+              chunk.errors.add(new LineError(chunk.lines, chunk.offset + start, text(start, end), error));
+          }
+        }
+        start = (lineEnd < to) ? lineEnd + 1 : to;
+      }
+    }
+
+    /**
+     * Parses the fields of the specified line into the row, returns the error message or <code>null</code> if the line is valid.
+     */
+    private String parseLine(int start, int end) {
+      int fieldStart = start;
+      for (int c = 0; c < units.length; c++) {
+        final int fieldEnd = indexOf(buffer, (byte) delimiter, fieldStart, end);
+        if ((fieldEnd == end) != (c == units.length - 1))
+          return "Expected " + units.length + " fields";
+        try {
+          cursor.parse(buffer, fieldStart, fieldEnd);
+          if (skipWhitespaces(buffer, cursor.getIndex(), fieldEnd) != fieldEnd)
+            return "Unexpected text after the quantity of field " + (c + 1);
+          final Unit<?> unit = cursor.getUnit();
+          if (unit != lastUnits[c]) {
+            converters[c] = (unit == AbstractUnit.ONE) ? AbstractConverter.IDENTITY : unit.getConverterToAny(units[c]);
+            lastUnits[c] = unit;
+          }
+        } catch (MeasurementException e) {
+          return "Invalid field " + (c + 1) + ": " + e.getMessage();
+        } catch (IncommensurableException e) {
+          return "Invalid field " + (c + 1) + ": " + e.getMessage();
+        }
+        row[c] = converters[c].convert(cursor.getValue());
+        fieldStart = fieldEnd + 1;
+      }
+      return null;
+    }
+
+    private String text(int start, int end) {
+      final byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buffer.get(start + i);
+      }
+      return new String(bytes, UTF8);
+    }
+  }
+}
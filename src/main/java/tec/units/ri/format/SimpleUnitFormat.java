@@ -35,12 +35,15 @@ import static tec.units.ri.unit.Units.LITRE;
 import java.io.IOException;
 import java.lang.CharSequence;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import tec.units.ri.AbstractUnit;
+import tec.units.ri.CacheStatistics;
 import tec.units.ri.function.AddConverter;
 import tec.units.ri.function.MultiplyConverter;
 import tec.units.ri.function.RationalConverter;
+import tec.units.ri.internal.SymbolTrie;
+import tec.units.ri.internal.BoundedCache;
 import tec.units.ri.internal.format.l10n.FieldPosition;
 import tec.units.ri.internal.format.l10n.ParsePosition;
 import tec.units.ri.unit.AlternateUnit;
@@ -70,10 +73,22 @@ import javax.measure.format.UnitFormat;
  *        AbstractUnit.parse("ft").equals(Units.METRE.multiply(0.3048))</code>
  * </p>
  *
+ * <p>
+ * Symbols are resolved directly over the parsed characters through character tries, the labels and aliases first and then a prefix followed by the
+ * symbol of a unit accepting prefixes (for example <code>k&#937;</code>, <code>&#181;g</code> or <code>GHz</code>), so parsing does not create a
+ * <code>String</code> per identifier.
+ * </p>
+ *
+ * <p>
+ * The units parsed from complete texts (such as <code>AbstractUnit.parse("kW\u00b7h")</code>) are kept in a bounded parse cache (see
+ * {@link #getParseCacheStatistics()}), texts which cannot be parsed are cached too and rethrow the same exception. The cache is cleared when labels
+ * or aliases are added and can be {@link #setParseCacheEnabled(boolean) disabled}.
+ * </p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
  * @author Eric Russell
- * @version 1.0.3, June 7, 2017
+ * @version 1.0.7, October 17, 2026
  * @since 1.0
  */
 public abstract class SimpleUnitFormat extends AbstractUnitFormat {
@@ -126,12 +141,144 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     }
   }
 
+  /**
+   * Holds the maximum number of texts kept by the parse cache.
+   */
+  private static final int PARSE_CACHE_SIZE = 1024;
+
+  /**
+   * Holds the maximum length of the texts kept by the parse cache.
+   */
+  private static final int PARSE_CACHE_MAX_LENGTH = 128;
+
+  /**
+   * Holds the units (or the parser exceptions) of the texts already parsed.
+   */
+  private final BoundedCache<String, Object> parseCache = new BoundedCache<String, Object>(PARSE_CACHE_SIZE);
+
+  private volatile boolean parseCacheEnabled = true;
+
+  /**
+   * Incremented when the parse cache is cleared, so parses started before are not cached.
+   */
+  volatile int parseCacheGeneration;
+
+  /**
+   * Holds the maximum number of units kept by the format cache.
+   */
+  private static final int FORMAT_CACHE_SIZE = 1024;
+
+  /**
+   * Holds the texts of the units already formatted, by unit instance (equal units may be written differently, for example <code>m·s</code> and
+   * <code>s·m</code>).
+   */
+  final BoundedCache<FormattedUnit, String> formatCache = new BoundedCache<FormattedUnit, String>(FORMAT_CACHE_SIZE);
+
+  /**
+   * Incremented when the format cache is cleared, so formats started before are not cached.
+   */
+  volatile int formatCacheGeneration;
+
   /**
    * Base constructor.
    */
   protected SimpleUnitFormat() {
   }
 
+  /**
+   * Returns the statistics of the cache holding the units (and the parse failures) of the texts parsed by this format.
+   *
+   * @return a snapshot of the parse cache statistics.
+   * @since 1.0.4
+   */
+  public CacheStatistics getParseCacheStatistics() {
+    return parseCache.getStatistics();
+  }
+
+  /**
+   * Indicates if the units parsed by this format are cached.
+   *
+   * @return <code>true</code> if the parse cache is used (default); <code>false</code> otherwise.
+   * @since 1.0.4
+   */
+  public boolean isParseCacheEnabled() {
+    return parseCacheEnabled;
+  }
+
+  /**
+   * Enables or disables (and clears) the parse cache of this format.
+   *
+   * @param enabled
+   *          <code>true</code> to cache the parsed units; <code>false</code> to parse every text.
+   * @since 1.0.4
+   */
+  public void setParseCacheEnabled(boolean enabled) {
+    parseCacheEnabled = enabled;
+    if (!enabled)
+      clearParseCache();
+  }
+
+  /**
+   * Clears the parse cache, to be called when the units of the parsed texts may have changed (for example a new label).
+   *
+   * @since 1.0.4
+   */
+  protected void clearParseCache() {
+    parseCacheGeneration++;
+    parseCache.clear();
+  }
+
+  /**
+   * Returns the statistics of the cache holding the texts of the units formatted by this format.
+   *
+   * @return a snapshot of the format cache statistics.
+   * @since 1.0.4
+   */
+  public CacheStatistics getFormatCacheStatistics() {
+    return formatCache.getStatistics();
+  }
+
+  /**
+   * Clears the format cache, to be called when the texts of the formatted units may have changed (for example a new label).
+   *
+   * @since 1.0.4
+   */
+  protected void clearFormatCache() {
+    formatCacheGeneration++;
+    formatCache.clear();
+  }
+
+  /**
+   * Parses the specified text from the specified index, returning the cached unit (or rethrowing the cached exception) if the same text was
+   * already parsed.
+   */
+  final Unit<?> cachedParse(CharSequence csq, int index) throws ParserException {
+    if (!parseCacheEnabled || (csq.length() - index > PARSE_CACHE_MAX_LENGTH))
+      return parseObject(csq.toString(), new ParsePosition(index));
+    final String text = csq.subSequence(index, csq.length()).toString();
+    Object result = parseCache.get(text);
+    if (result == null) {
+      final int generation = parseCacheGeneration;
+      try {
+        result = parseObject(text, new ParsePosition(0));
+      } catch (ParserException e) {
+        result = e;
+      }
+      if (generation == parseCacheGeneration) {
+        result = parseCache.putIfAbsent(text, result);
+        if (generation != parseCacheGeneration)
+          parseCache.remove(text, result); // Cleared meanwhile (new label or alias), the result may be stale.
+      }
+    }
+    if (result instanceof ParserException) {
+      final ParserException e = (ParserException) result;
+      if (index == 0)
+        throw e;
+      throw new ParserException(e.getMessage(), csq, index + e.getPosition());
+    }
+    return (Unit<?>) result;
+  }
+
   /**
    * Formats the specified unit.
    *
@@ -293,23 +440,25 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
   protected static class DefaultFormat extends SimpleUnitFormat {
 
     /**
-     * Holds the name to unit mapping.
+     * Holds the unit to name mapping.
      */
-    final HashMap<String, Unit<?>> _nameToUnit = new HashMap<>();
+    final HashMap<Unit<?>, String> _unitToName = new HashMap<>();
 
     /**
-     * Holds the unit to name mapping.
+     * Holds the name to unit mapping used for parsing.
      */
-    final HashMap<Unit<?>, String> _unitToName = new HashMap<>();
+    final SymbolTrie<Unit<?>> _symbols = new SymbolTrie<>();
 
     @Override
     public void label(Unit<?> unit, String label) {
       if (!isValidIdentifier(label))
         throw new IllegalArgumentException("Label: " + label + " is not a valid identifier.");
       synchronized (this) {
-        _nameToUnit.put(label, unit);
         _unitToName.put(unit, label);
+        _symbols.put(label, unit);
       }
+      clearParseCaches();
+      clearFormatCaches();
     }
 
     @Override
@@ -317,8 +466,31 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       if (!isValidIdentifier(alias))
         throw new IllegalArgumentException("Alias: " + alias + " is not a valid identifier.");
       synchronized (this) {
-        _nameToUnit.put(alias, unit);
+        _symbols.put(alias, unit);
       }
+      clearParseCaches();
+    }
+
+    // Clears the parse cache of this format and of the formats falling back to it.
+    private void clearParseCaches() {
+      clearParseCache();
+      if ((this == DEFAULT) && (ASCII != null))
+        ASCII.clearParseCache();
+    }
+
+    // Clears the format cache of this format and of the formats falling back to it.
+    private void clearFormatCaches() {
+      clearFormatCache();
+      if ((this == DEFAULT) && (ASCII != null))
+        ASCII.clearFormatCache();
+    }
+
+    // Labels a prefixed unit for formatting only, it is parsed as its prefix followed by the symbol of its base.
+    private void labelPrefixed(Unit<?> unit, String label) {
+      synchronized (this) {
+        _unitToName.put(unit, label);
+      }
+      clearFormatCaches();
     }
 
     @Override
@@ -413,11 +585,15 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     // Returns the unit for the specified name.
     protected Unit<?> unitFor(String name) {
-      Unit<?> unit = _nameToUnit.get(name);
+      return unitFor(name, 0, name.length());
+    }
+
+    // Returns the unit for the name formed by the specified range of characters.
+    protected Unit<?> unitFor(CharSequence csq, int start, int end) {
+      Unit<?> unit = _symbols.get(csq, start, end);
       if (unit != null)
         return unit;
-      unit = SYMBOL_TO_UNIT.get(name);
-      return unit;
+      return prefixedUnitFor(csq, start, end);
     }
 
     // //////////////////////////
@@ -425,9 +601,10 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public Unit<? extends Quantity> parseSingleUnit(CharSequence csq, ParsePosition pos) throws ParserException {
       int startIndex = pos.getIndex();
-      String name = readIdentifier(csq, pos);
-      Unit unit = unitFor(name);
-      check(unit != null, name + " not recognized", csq, startIndex);
+      int endIndex = identifierEnd(csq, startIndex);
+      pos.setIndex(endIndex);
+      Unit unit = unitFor(csq, startIndex, endIndex);
+      check(unit != null, csq.subSequence(startIndex, endIndex) + " not recognized", csq, startIndex);
       return unit;
     }
 
@@ -669,14 +846,12 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       return Double.parseDouble(csq.subSequence(start, end).toString());
     }
 
-    private String readIdentifier(CharSequence csq, ParsePosition pos) {
+    private static int identifierEnd(CharSequence csq, int start) {
       final int length = csq.length();
-      int start = pos.getIndex();
       int i = start;
       while ((++i < length) && isUnitIdentifierPart(csq.charAt(i))) {
       }
-      pos.setIndex(i);
-      return csq.subSequence(start, i).toString();
+      return i;
     }
 
     // //////////////////////////
@@ -684,6 +859,48 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     @Override
     public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+      return appendable.append(cachedFormat(unit));
+    }
+
+    @Override
+    String formatToString(AbstractUnit<?> unit) {
+      try {
+        return cachedFormat(unit);
+      } catch (IOException ex) {
+        throw new ParserException(ex); // Should never happen.
+      }
+    }
+
+    /**
+     * Returns the text of the specified unit, formatted the first time only (until a new label is defined).
+     */
+    final String cachedFormat(Unit<?> unit) throws IOException {
+      final FormattedUnit key = new FormattedUnit(unit);
+      String text = formatCache.get(key);
+      if (text == null) {
+        final int generation = formatCacheGeneration;
+        text = formatUnit(unit, new StringBuilder()).toString();
+        if (generation == formatCacheGeneration) {
+          text = formatCache.putIfAbsent(key, text);
+          if (generation != formatCacheGeneration)
+            formatCache.remove(key, text); // Cleared meanwhile (new label), the text may be stale.
+        }
+      }
+      return text;
+    }
+
+    /**
+     * Formats the specified unit, the result is cached by {@link #format(Unit, Appendable)}.
+     *
+     * @param unit
+     *          the unit to format.
+     * @param appendable
+     *          the appendable destination.
+     * @return the appendable destination.
+     * @throws IOException
+     *           if an error occurs.
+     */
+    protected Appendable formatUnit(Unit<?> unit, Appendable appendable) throws IOException {
       String name = nameFor(unit);
       if (name != null) {
         return appendable.append(name);
@@ -771,7 +988,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     @Override
     protected Unit<?> parse(CharSequence csq, int index) throws ParserException {
-      return parseObject(csq.toString(), new ParsePosition(index));
+      return cachedParse(csq, index);
     }
   }
 
@@ -791,17 +1008,17 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     }
 
     @Override
-    protected Unit<?> unitFor(String name) {
+    protected Unit<?> unitFor(CharSequence csq, int start, int end) {
       // First search if specific ASCII name.
-      Unit<?> unit = _nameToUnit.get(name);
+      Unit<?> unit = _symbols.get(csq, start, end);
       if (unit != null)
         return unit;
       // Else returns default mapping.
-      return DEFAULT.unitFor(name);
+      return DEFAULT.unitFor(csq, start, end);
     }
 
     @Override
-    public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
+    protected Appendable formatUnit(Unit<?> unit, Appendable appendable) throws IOException {
       String name = nameFor(unit);
       if (name != null)
         return appendable.append(name);
@@ -844,9 +1061,80 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
   }
 
   /**
-   * Holds the unique symbols collection (base units or alternate units).
+   * Holds the indices of the prefixes (in {@link #PREFIXES}) by symbol.
    */
-  private static final Map<String, Unit<?>> SYMBOL_TO_UNIT = new HashMap<>();
+  private static final SymbolTrie<Integer> PREFIX_SYMBOLS = new SymbolTrie<>();
+
+  /**
+   * Holds the units accepting prefixes by symbol.
+   */
+  private static final SymbolTrie<PrefixableUnit> BASE_SYMBOLS = new SymbolTrie<>();
+
+  /**
+   * Holds the length of the longest prefix symbol.
+   */
+  private static int maxPrefixLength;
+
+  // Returns the prefixed unit formed by the specified range of characters or null if none.
+  private static Unit<?> prefixedUnitFor(CharSequence csq, int start, int end) {
+    for (int length = 1; (length <= maxPrefixLength) && (start + length < end); length++) {
+      Integer prefix = PREFIX_SYMBOLS.get(csq, start, start + length);
+      if (prefix != null) {
+        PrefixableUnit base = BASE_SYMBOLS.get(csq, start + length, end);
+        if (base != null)
+          return base.prefixed(prefix);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * A unit accepting prefixes and its prefixed units (created when first parsed).
+   */
+  private static final class PrefixableUnit {
+    private final Unit<?> unit;
+    private final UnitConverter converter; // Applied after the prefix, for units defined from a prefixed unit (gram).
+    private final AtomicReferenceArray<Unit<?>> prefixed = new AtomicReferenceArray<Unit<?>>(CONVERTERS.length);
+
+    PrefixableUnit(Unit<?> unit, UnitConverter converter) {
+      this.unit = unit;
+      this.converter = converter;
+    }
+
+    Unit<?> prefixed(int prefix) {
+      Unit<?> result = prefixed.get(prefix);
+      if (result == null) {
+        result = unit.transform((converter == null) ? CONVERTERS[prefix] : CONVERTERS[prefix].concatenate(converter));
+        prefixed.set(prefix, result);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Key of the format cache: a unit compared by identity.
+   */
+  private static final class FormattedUnit {
+    private final Unit<?> unit;
+
+    FormattedUnit(Unit<?> unit) {
+      this.unit = unit;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return (obj instanceof FormattedUnit) && (unit == ((FormattedUnit) obj).unit);
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(unit);
+    }
+  }
+
+  private static void addPrefixable(String symbol, Unit<?> unit, UnitConverter converter) {
+    BASE_SYMBOLS.put(symbol, new PrefixableUnit(unit, converter));
+  }
 
   // //////////////////////////////////////////////////////////////////////////
   // Initializes the standard unit database for SI units.
@@ -886,15 +1174,20 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
   }
 
   static {
+    for (int i = 0; i < PREFIXES.length; i++) {
+      PREFIX_SYMBOLS.put(PREFIXES[i], i);
+      maxPrefixLength = Math.max(maxPrefixLength, PREFIXES[i].length());
+    }
     for (int i = 0; i < SI_UNITS.length; i++) {
       Unit<?> si = SI_UNITS[i];
       String symbol = (si instanceof BaseUnit) ? ((BaseUnit<?>) si).getSymbol() : ((AlternateUnit<?>) si).getSymbol();
       DEFAULT.label(si, symbol);
+      addPrefixable(symbol, si, null);
       if (isAllASCII(symbol))
         ASCII.label(si, symbol);
       for (int j = 0; j < PREFIXES.length; j++) {
         Unit<?> u = si.transform(CONVERTERS[j]);
-        DEFAULT.label(u, PREFIXES[j] + symbol);
+        DEFAULT.labelPrefixed(u, PREFIXES[j] + symbol);
         if (PREFIXES[j] == "µ") {
           ASCII.label(u, "micro"); // + symbol);
         }
@@ -902,11 +1195,12 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     }
     // Special case for KILOGRAM.
     DEFAULT.label(Units.GRAM, "g");
+    addPrefixable("g", Units.KILOGRAM, MILLI.getConverter());
     for (int i = 0; i < PREFIXES.length; i++) {
       if (CONVERTERS[i] == KILO.getConverter()) // TODO should it better
         // be equals()?
         continue; // kg is already defined.
-      DEFAULT.label(Units.KILOGRAM.transform(CONVERTERS[i].concatenate(MILLI.getConverter())), PREFIXES[i] + "g");
+      DEFAULT.labelPrefixed(Units.KILOGRAM.transform(CONVERTERS[i].concatenate(MILLI.getConverter())), PREFIXES[i] + "g");
       if (PREFIXES[i] == "µ") {
         ASCII.label(Units.KILOGRAM.transform(CONVERTERS[i].concatenate(MILLI.getConverter())), "microg");
       }
@@ -914,9 +1208,9 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     // Alias and ASCIIFormat for Ohm
     DEFAULT.alias(Units.OHM, "Ohm");
+    addPrefixable("Ohm", Units.OHM, null);
     ASCII.label(Units.OHM, "Ohm");
     for (int i = 0; i < PREFIXES.length; i++) {
-      DEFAULT.alias(Units.OHM.transform(CONVERTERS[i]), PREFIXES[i] + "Ohm");
       ASCII.label(Units.OHM.transform(CONVERTERS[i]), asciiPrefix(PREFIXES[i]) + "Ohm");
     }
 
@@ -925,10 +1219,11 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     DEFAULT.label(Units.CELSIUS, "\u00b0C");
     DEFAULT.alias(Units.CELSIUS, "℃");
     // DEFAULT.alias(Units.CELSIUS, "°C");
+    addPrefixable("\u00b0C", Units.CELSIUS, null);
+    addPrefixable("℃", Units.CELSIUS, null);
     ASCII.label(Units.CELSIUS, "Celsius");
     for (int i = 0; i < PREFIXES.length; i++) {
-      DEFAULT.label(Units.CELSIUS.transform(CONVERTERS[i]), PREFIXES[i] + "℃");
-      DEFAULT.alias(Units.CELSIUS.transform(CONVERTERS[i]), PREFIXES[i] + "°C");
+      DEFAULT.labelPrefixed(Units.CELSIUS.transform(CONVERTERS[i]), PREFIXES[i] + "℃");
       ASCII.label(Units.CELSIUS.transform(CONVERTERS[i]), asciiPrefix(PREFIXES[i]) + "Celsius");
     }
 
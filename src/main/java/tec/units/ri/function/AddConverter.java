@@ -96,6 +96,14 @@ public final class AddConverter extends AbstractConverter implements ValueSuppli
     return value + offset;
   }
 
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double offset = this.offset;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = src[srcOff + i] + offset;
+    }
+  }
+
   @Override
   public final String toString() {
     return "AddConverter(" + offset + ")";
@@ -0,0 +1,227 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+
+/**
+ * <p>
+ * This class represents a chain of linear and additive converters folded into a single affine transformation <code>y = factor * x + offset</code>.
+ * </p>
+ *
+ * <p>
+ * Instances are created when concatenating {@link RationalConverter}, {@link MultiplyConverter}, {@link AddConverter}, {@link PiMultiplierConverter}
+ * or {@link PiDivisorConverter} instances of different types, so that converting a value costs a single multiply-add regardless of the length of the
+ * chain. The original steps are retained and still reported by {@link #getConversionSteps()}.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class AffineConverter extends AbstractConverter {
+
+  /**
+   * Holds the scale factor.
+   */
+  private final double factor;
+
+  /**
+   * Holds the offset (applied after scaling).
+   */
+  private final double offset;
+
+  /**
+   * Holds the first (left) converter of the chain.
+   */
+  private final UnitConverter left;
+
+  /**
+   * Holds the second (right) converter of the chain.
+   */
+  private final UnitConverter right;
+
+  /**
+   * Structural constructor.
+   */
+  private AffineConverter(double factor, double offset, UnitConverter left, UnitConverter right) {
+    this.factor = factor + 0.0; // Normalizes -0.0, equal converters have the same hash code.
+    this.offset = offset + 0.0;
+    this.left = left;
+    this.right = right;
+  }
+
+  /**
+   * Indicates if the specified converter can be folded into an affine converter.
+   *
+   * @param converter
+   *          the converter to test.
+   * @return <code>true</code> if the converter is a scaling, an offset or an affine converter; <code>false</code> otherwise.
+   */
+  public static boolean isAffine(UnitConverter converter) {
+    return (converter instanceof RationalConverter) || (converter instanceof MultiplyConverter) || (converter instanceof AddConverter)
+        || (converter instanceof PiMultiplierConverter) || (converter instanceof PiDivisorConverter) || (converter instanceof AffineConverter);
+  }
+
+  /**
+   * Returns the converter equivalent to first converting by the right converter and then by the left converter (in matrix notation
+   * <code>[left] x [right]</code>).
+   *
+   * @param left
+   *          the left converter.
+   * @param right
+   *          the right converter.
+   * @return the affine converter folding both converters or {@link AbstractConverter#IDENTITY} if they cancel each other.
+   * @throws IllegalArgumentException
+   *           if either converter is not {@link #isAffine(UnitConverter) affine}.
+   */
+  public static AbstractConverter of(UnitConverter left, UnitConverter right) {
+    if (!isAffine(left) || !isAffine(right))
+      throw new IllegalArgumentException("Cannot fold " + left + " and " + right + " into an affine converter");
+    final double leftFactor = factorOf(left);
+    final double newFactor = leftFactor * factorOf(right);
+    final double newOffset = leftFactor * offsetOf(right) + offsetOf(left);
+    return (newFactor == 1.0 && newOffset == 0.0) ? IDENTITY : new AffineConverter(newFactor, newOffset, left, right);
+  }
+
+  /**
+   * Returns the scale factor of the specified {@link #isAffine(UnitConverter) affine} converter (<code>1</code> for an offset or the identity).
+   *
+   * @param converter
+   *          the affine converter.
+   * @return the scale factor.
+   * @since 1.0.4
+   */
+  public static double factorOf(UnitConverter converter) {
+    if (converter instanceof RationalConverter)
+      return ((RationalConverter) converter).getAsDouble();
+    if (converter instanceof MultiplyConverter)
+      return ((MultiplyConverter) converter).getFactor();
+    if (converter instanceof PiMultiplierConverter)
+      return PI;
+    if (converter instanceof PiDivisorConverter)
+      return 1.0 / PI;
+    if (converter instanceof AffineConverter)
+      return ((AffineConverter) converter).factor;
+    return 1.0; // AddConverter.
+  }
+
+  /**
+   * Returns the offset of the specified {@link #isAffine(UnitConverter) affine} converter (<code>0</code> for a scaling or the identity).
+   *
+   * @param converter
+   *          the affine converter.
+   * @return the offset.
+   * @since 1.0.4
+   */
+  public static double offsetOf(UnitConverter converter) {
+    if (converter instanceof AddConverter)
+      return ((AddConverter) converter).getOffset();
+    if (converter instanceof AffineConverter)
+      return ((AffineConverter) converter).offset;
+    return 0.0;
+  }
+
+  /**
+   * Returns the scale factor of this converter.
+   *
+   * @return the scale factor.
+   */
+  public double getFactor() {
+    return factor;
+  }
+
+  /**
+   * Returns the offset of this converter (added after scaling).
+   *
+   * @return the offset.
+   */
+  public double getOffset() {
+    return offset;
+  }
+
+  @Override
+  public List<UnitConverter> getConversionSteps() {
+    final List<UnitConverter> steps = new ArrayList<UnitConverter>();
+    steps.addAll(left.getConversionSteps());
+    steps.addAll(right.getConversionSteps());
+    return steps;
+  }
+
+  @Override
+  public AffineConverter inverse() {
+    return new AffineConverter(1.0 / factor, -offset / factor, right.inverse(), left.inverse());
+  }
+
+  @Override
+  public double convert(double value) {
+    return value * factor + offset;
+  }
+
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double factor = this.factor;
+    final double offset = this.offset;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = src[srcOff + i] * factor + offset;
+    }
+  }
+
+  @Override
+  public final String toString() {
+    return "AffineConverter(" + factor + "," + offset + ")";
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (!(obj instanceof AffineConverter))
+      return false;
+    AffineConverter that = (AffineConverter) obj;
+    return (Double.doubleToLongBits(factor) == Double.doubleToLongBits(that.factor))
+        && (Double.doubleToLongBits(offset) == Double.doubleToLongBits(that.offset));
+  }
+
+  @Override
+  public int hashCode() {
+    long bits = Double.doubleToLongBits(factor) * 31 + Double.doubleToLongBits(offset);
+    return (int) (bits ^ (bits >>> 32));
+  }
+
+  public boolean isLinear() {
+    return offset == 0.0;
+  }
+}
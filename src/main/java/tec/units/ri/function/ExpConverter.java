@@ -116,6 +116,14 @@ public final class ExpConverter extends AbstractConverter implements ValueSuppli
     return MathUtil.exp(logOfBase * amount);
   }
 
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double logOfBase = this.logOfBase;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = MathUtil.exp(logOfBase * src[srcOff + i]);
+    }
+  }
+
   // @Override
   // public BigDecimal convert(BigDecimal value, MathContext ctx) throws
   // ArithmeticException {
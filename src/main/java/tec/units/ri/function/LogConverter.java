@@ -113,6 +113,14 @@ public final class LogConverter extends AbstractConverter implements ValueSuppli
     return MathUtil.log(amount) / logOfBase;
   }
 
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double logOfBase = this.logOfBase;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = MathUtil.log(src[srcOff + i]) / logOfBase;
+    }
+  }
+
   // @Override
   // public BigDecimal convert(BigDecimal value, MathContext ctx) throws
   // ArithmeticException {
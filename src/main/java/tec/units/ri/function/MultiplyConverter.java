@@ -97,6 +97,14 @@ public final class MultiplyConverter extends AbstractConverter implements ValueS
     return value * factor;
   }
 
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double factor = this.factor;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = src[srcOff + i] * factor;
+    }
+  }
+
   @Override
   public final String toString() {
     return "MultiplyConverter(" + factor + ")";
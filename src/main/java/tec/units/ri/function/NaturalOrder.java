@@ -33,12 +33,14 @@ import java.util.Comparator;
 
 import javax.measure.Quantity;
 
+import tec.units.ri.AbstractQuantity;
+
 /**
  * Comparator to sort by natural order, looking both the unit and the value.
  * 
  * @author <a href="mailto:werner@uom.technology">Werner Keil</a>
  * @author <a href="mailto:otaviopolianasantana@gmail.com">Otavio Santana</a>
- * @version 1.0.1
+ * @version 1.0.3, October 17, 2026
  * 
  * @return <b>Given:</b>
  *         <p>
@@ -61,8 +63,17 @@ public class NaturalOrder<T extends Quantity<T>> implements Comparator<Quantity<
   @Override
   public int compare(Quantity<T> q1, Quantity<T> q2) {
     if (q1.getUnit().equals(q2.getUnit())) {
+      if (isIntegral(q1.getValue()) && isIntegral(q2.getValue())) // Exact beyond the precision of a double.
+        return Long.compare(q1.getValue().longValue(), q2.getValue().longValue());
       return Double.compare(q1.getValue().doubleValue(), q2.getValue().doubleValue());
     }
+    if (q2 instanceof AbstractQuantity) { // Converts the value only, without creating a quantity.
+      return Double.compare(q1.getValue().doubleValue(), ((AbstractQuantity<T>) q2).doubleValue(q1.getUnit()));
+    }
     return Double.compare(q1.getValue().doubleValue(), q2.to(q1.getUnit()).getValue().doubleValue());
   }
+
+  private static boolean isIntegral(Number value) {
+    return (value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte);
+  }
 }
@@ -56,6 +56,13 @@ public final class PiMultiplierConverter extends AbstractConverter implements Va
     return value * PI;
   }
 
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = src[srcOff + i] * PI;
+    }
+  }
+
   // @Override
   // public BigDecimal convert(BigDecimal value, MathContext ctx)
   // throws ArithmeticException {
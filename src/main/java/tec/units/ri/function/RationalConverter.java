@@ -30,7 +30,11 @@
 package tec.units.ri.function;
 
 import static tec.units.ri.internal.MathUtil.gcd;
-import static tec.units.ri.internal.MathUtil.negateExact;
+import static tec.units.ri.internal.MathUtil.multiplyExact;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 import javax.measure.UnitConverter;
 
@@ -39,13 +43,17 @@ import tec.uom.lib.common.function.ValueSupplier;
 
 /**
  * <p>
- * This class represents a converter multiplying numeric values by an exact scaling factor (represented as the quotient of two <code>double</code>
- * numbers).
+ * This class represents a converter multiplying numeric values by an exact scaling factor (represented as the quotient of two integer numbers).
+ * </p>
+ *
+ * <p>
+ * The factor is always kept reduced. Dividend and divisor are held as <code>long</code> values, falling back to {@link BigInteger} when they do not
+ * fit (e.g. {@link tec.units.ri.unit.MetricPrefix#YOTTA YOTTA}); the <code>double</code> factor is precomputed for {@link #convert(double)}.
  * </p>
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0, October 6, 2016
+ * @version 1.1, October 16, 2026
  * @since 1.0
  */
 public final class RationalConverter extends AbstractConverter implements ValueSupplier<Double> {
@@ -56,14 +64,39 @@ public final class RationalConverter extends AbstractConverter implements ValueS
   // private static final long serialVersionUID = 1L;
 
   /**
-   * Holds the converter dividend.
+   * Holds the precision used to calculate the double factor of large dividends or divisors.
+   */
+  private static final MathContext FACTOR_CONTEXT = new MathContext(20);
+
+  /**
+   * Holds the largest absolute value for which a <code>long</code> is exactly represented by a <code>double</code>.
+   */
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  /**
+   * Holds the converter dividend (meaningless if {@link #bigDividend} is set).
+   */
+  private final long dividend;
+
+  /**
+   * Holds the converter divisor, always positive (meaningless if {@link #bigDividend} is set).
+   */
+  private final long divisor;
+
+  /**
+   * Holds the converter dividend if dividend or divisor do not fit in a <code>long</code>, <code>null</code> otherwise.
+   */
+  private final BigInteger bigDividend;
+
+  /**
+   * Holds the converter divisor if dividend or divisor do not fit in a <code>long</code>, <code>null</code> otherwise.
    */
-  private final double dividend;
+  private final BigInteger bigDivisor;
 
   /**
-   * Holds the converter divisor (always positive).
+   * Holds the scaling factor as a double.
    */
-  private final double divisor;
+  private final double factor;
 
   /**
    * Constructor
@@ -76,14 +109,80 @@ public final class RationalConverter extends AbstractConverter implements ValueS
    *           if <code>divisor &lt;= 0</code>
    * @throws IllegalArgumentException
    *           if <code>dividend == divisor</code>
+   * @since 1.0.4
    */
-  public RationalConverter(double dividend, double divisor) {
+  public RationalConverter(long dividend, long divisor) {
     if (divisor <= 0)
       throw new IllegalArgumentException("Negative or zero divisor");
     if (dividend == divisor)
       throw new IllegalArgumentException("Would result in identity converter");
-    this.dividend = dividend;
-    this.divisor = divisor;
+    final long gcd = gcd(dividend, divisor);
+    this.dividend = dividend / gcd;
+    this.divisor = divisor / gcd;
+    this.bigDividend = null;
+    this.bigDivisor = null;
+    this.factor = factorOf(this.dividend, this.divisor);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param dividend
+   *          the dividend.
+   * @param divisor
+   *          the positive divisor.
+   * @throws IllegalArgumentException
+   *           if <code>divisor &lt;= 0</code>
+   * @throws IllegalArgumentException
+   *           if <code>dividend == divisor</code>
+   * @since 1.0.4
+   */
+  public RationalConverter(BigInteger dividend, BigInteger divisor) {
+    if (divisor.signum() <= 0)
+      throw new IllegalArgumentException("Negative or zero divisor");
+    if (dividend.equals(divisor))
+      throw new IllegalArgumentException("Would result in identity converter");
+    final BigInteger gcd = dividend.gcd(divisor);
+    if (!gcd.equals(BigInteger.ONE)) {
+      dividend = dividend.divide(gcd);
+      divisor = divisor.divide(gcd);
+    }
+    if (dividend.bitLength() < Long.SIZE && divisor.bitLength() < Long.SIZE) {
+      this.dividend = dividend.longValue();
+      this.divisor = divisor.longValue();
+      this.bigDividend = null;
+      this.bigDivisor = null;
+      this.factor = factorOf(this.dividend, this.divisor);
+    } else {
+      this.dividend = 0;
+      this.divisor = 0;
+      this.bigDividend = dividend;
+      this.bigDivisor = divisor;
+      this.factor = new BigDecimal(dividend).divide(new BigDecimal(divisor), FACTOR_CONTEXT).doubleValue();
+    }
+  }
+
+  /**
+   * Constructor, the <code>double</code> values are taken as the decimal numbers they represent (e.g. <code>1E24</code> is
+   * 1000000000000000000000000).
+   *
+   * @param dividend
+   *          the dividend.
+   * @param divisor
+   *          the positive divisor.
+   * @throws IllegalArgumentException
+   *           if <code>divisor &lt;= 0</code>
+   * @throws IllegalArgumentException
+   *           if <code>dividend == divisor</code>
+   * @throws IllegalArgumentException
+   *           if <code>dividend</code> or <code>divisor</code> is not a finite number
+   */
+  public RationalConverter(double dividend, double divisor) {
+    this(decimalOf(dividend), decimalOf(divisor));
+  }
+
+  private RationalConverter(BigDecimal dividend, BigDecimal divisor) {
+    this(scale(dividend.unscaledValue(), divisor.scale() - dividend.scale()), scale(divisor.unscaledValue(), dividend.scale() - divisor.scale()));
   }
 
   /**
@@ -99,7 +198,24 @@ public final class RationalConverter extends AbstractConverter implements ValueS
    *           if <code>dividend == divisor</code>
    */
   public static final RationalConverter of(long dividend, long divisor) {
-    return new RationalConverter((double) dividend, (double) divisor);
+    return new RationalConverter(dividend, divisor);
+  }
+
+  /**
+   * Convenience method equivalent to <code>new RationalConverter(dividend, divisor)</code>
+   *
+   * @param dividend
+   *          the dividend.
+   * @param divisor
+   *          the positive divisor.
+   * @throws IllegalArgumentException
+   *           if <code>divisor &lt;= 0</code>
+   * @throws IllegalArgumentException
+   *           if <code>dividend == divisor</code>
+   * @since 1.0.4
+   */
+  public static final RationalConverter of(BigInteger dividend, BigInteger divisor) {
+    return new RationalConverter(dividend, divisor);
   }
 
   /**
@@ -124,7 +240,7 @@ public final class RationalConverter extends AbstractConverter implements ValueS
    * @return this converter dividend.
    */
   public double getDividend() {
-    return dividend;
+    return (bigDividend == null) ? (double) dividend : bigDividend.doubleValue();
   }
 
   /**
@@ -133,12 +249,63 @@ public final class RationalConverter extends AbstractConverter implements ValueS
    * @return this converter divisor.
    */
   public double getDivisor() {
-    return divisor;
+    return (bigDivisor == null) ? (double) divisor : bigDivisor.doubleValue();
+  }
+
+  /**
+   * Returns the exact integer dividend for this rational converter.
+   *
+   * @return this converter dividend.
+   * @since 1.0.4
+   */
+  public BigInteger getExactDividend() {
+    return (bigDividend == null) ? BigInteger.valueOf(dividend) : bigDividend;
+  }
+
+  /**
+   * Returns the exact integer (positive) divisor for this rational converter.
+   *
+   * @return this converter divisor.
+   * @since 1.0.4
+   */
+  public BigInteger getExactDivisor() {
+    return (bigDivisor == null) ? BigInteger.valueOf(divisor) : bigDivisor;
   }
 
   @Override
   public double convert(double value) {
-    return value * ((double) dividend / (double) divisor);
+    return value * factor;
+  }
+
+  /**
+   * Converts an integer value exactly; the result is truncated toward zero, as a <code>(long)</code> cast of the exact result would be.
+   *
+   * @param value
+   *          the value to convert.
+   * @return the converted value.
+   * @throws ArithmeticException
+   *           if the result overflows a <code>long</code>.
+   * @since 1.0.4
+   */
+  public long convertExact(long value) {
+    if (bigDividend == null) {
+      if (divisor == 1)
+        return multiplyExact(value, dividend);
+      if (((Math.abs(value) | Math.abs(dividend)) >>> 31) == 0)
+        return value * dividend / divisor; // No overflow possible.
+    }
+    final BigInteger result = BigInteger.valueOf(value).multiply(getExactDividend()).divide(getExactDivisor());
+    if (result.bitLength() >= Long.SIZE)
+      throw new ArithmeticException("Overflow (" + result + ")");
+    return result.longValue();
+  }
+
+  @Override
+  protected void convertArray(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    final double factor = this.factor;
+    for (int i = 0; i < len; i++) {
+      dst[dstOff + i] = src[srcOff + i] * factor;
+    }
   }
 
   @Override
@@ -146,23 +313,35 @@ public final class RationalConverter extends AbstractConverter implements ValueS
     if (!(converter instanceof RationalConverter))
       return super.concatenate(converter);
     RationalConverter that = (RationalConverter) converter;
-    double newDividend = this.getDividend() * that.getDividend();
-    double newDivisor = this.getDivisor() * that.getDivisor();
-    double gcd = gcd(newDividend, newDivisor);
-    newDividend = newDividend / gcd; // TODO clarify if this works with long
-    newDivisor = newDivisor / gcd;
-    return (newDividend == 1 && newDivisor == 1) ? IDENTITY : new RationalConverter(newDividend, newDivisor);
+    if ((this.bigDividend == null) && (that.bigDividend == null)) {
+      // Cross-reduces first, so that the products stay small.
+      final long gcd1 = gcd(this.dividend, that.divisor);
+      final long gcd2 = gcd(that.dividend, this.divisor);
+      try {
+        final long newDividend = multiplyExact(this.dividend / gcd1, that.dividend / gcd2);
+        final long newDivisor = multiplyExact(this.divisor / gcd2, that.divisor / gcd1);
+        return (newDividend == newDivisor) ? IDENTITY : new RationalConverter(newDividend, newDivisor);
+      } catch (ArithmeticException e) {
+        // Overflow, continues with BigInteger.
+      }
+    }
+    final BigInteger newDividend = this.getExactDividend().multiply(that.getExactDividend());
+    final BigInteger newDivisor = this.getExactDivisor().multiply(that.getExactDivisor());
+    return newDividend.equals(newDivisor) ? IDENTITY : new RationalConverter(newDividend, newDivisor);
   }
 
   @Override
   public RationalConverter inverse() {
-    return Math.signum(dividend) == -1 ? new RationalConverter(negateExact(getDivisor()), negateExact(getDividend())) : new RationalConverter(
-        getDivisor(), getDividend());
+    if ((bigDividend == null) && (dividend != Long.MIN_VALUE))
+      return (dividend < 0) ? new RationalConverter(-divisor, -dividend) : new RationalConverter(divisor, dividend);
+    final BigInteger newDividend = getExactDividend();
+    return (newDividend.signum() < 0) ? new RationalConverter(getExactDivisor().negate(), newDividend.negate()) : new RationalConverter(
+        getExactDivisor(), newDividend);
   }
 
   @Override
   public final String toString() {
-    return "RationalConverter(" + dividend + "," + divisor + ")";
+    return "RationalConverter(" + getExactDividend() + "," + getExactDivisor() + ")";
   }
 
   @Override
@@ -170,12 +349,16 @@ public final class RationalConverter extends AbstractConverter implements ValueS
     if (!(obj instanceof RationalConverter))
       return false;
     RationalConverter that = (RationalConverter) obj;
-    return (this.dividend == that.dividend && this.divisor == that.divisor);
+    if (this.bigDividend == null) // Both are reduced, so the representation is the same for equal factors.
+      return (that.bigDividend == null) && (this.dividend == that.dividend) && (this.divisor == that.divisor);
+    return this.bigDividend.equals(that.bigDividend) && this.bigDivisor.equals(that.bigDivisor);
   }
 
   @Override
   public int hashCode() {
-    return Double.valueOf(dividend).hashCode() + Double.valueOf(dividend).hashCode();
+    if (bigDividend == null)
+      return 31 * (int) (dividend ^ (dividend >>> 32)) + (int) (divisor ^ (divisor >>> 32));
+    return 31 * bigDividend.hashCode() + bigDivisor.hashCode();
   }
 
   public boolean isLinear() {
@@ -183,10 +366,26 @@ public final class RationalConverter extends AbstractConverter implements ValueS
   }
 
   public double getAsDouble() {
-    return (double) dividend / (double) divisor;
+    return factor;
   }
 
   public Double getValue() {
     return Double.valueOf(getAsDouble());
   }
+
+  private static double factorOf(long dividend, long divisor) {
+    if ((Math.abs(dividend) <= MAX_EXACT_DOUBLE) && (divisor <= MAX_EXACT_DOUBLE))
+      return (double) dividend / (double) divisor; // Correctly rounded.
+    return new BigDecimal(dividend).divide(new BigDecimal(divisor), FACTOR_CONTEXT).doubleValue();
+  }
+
+  private static BigDecimal decimalOf(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value))
+      throw new IllegalArgumentException("Not a finite number: " + value);
+    return BigDecimal.valueOf(value);
+  }
+
+  private static BigInteger scale(BigInteger value, int exponent) {
+    return (exponent > 0) ? value.multiply(BigInteger.TEN.pow(exponent)) : value;
+  }
 }
@@ -0,0 +1,257 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tec.units.ri.CacheStatistics;
+
+/**
+ * <p>
+ * A thread-safe cache holding at most a fixed number of entries.
+ * </p>
+ *
+ * <p>
+ * Lookups and insertions never block: entries are held in a {@link ConcurrentHashMap} and every entry carries a <i>referenced</i> bit which is set
+ * when the entry is read. Once the cache grows beyond its maximum size, a single thread sweeps the entries (second-chance or "clock" policy):
+ * referenced entries have their bit cleared, the others are evicted. Threads arriving during a sweep do not wait for it.
+ * </p>
+ *
+ * <p>
+ * Values must be immutable (or at least safe to share), keys must have consistent {@link Object#equals(Object) equals} and
+ * {@link Object#hashCode() hashCode} implementations.
+ * </p>
+ *
+ * @param <K>
+ *          the type of keys
+ * @param <V>
+ *          the type of cached values
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.2, October 17, 2026
+ * @since 1.0.4
+ */
+public final class BoundedCache<K, V> {
+
+  private final ConcurrentMap<K, Entry<V>> map;
+
+  private final int maximumSize;
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+
+  /**
+   * Holds the lookup counts, striped so that lookups from different threads do not write to a shared cache line.
+   */
+  private final StripedCounter hits = new StripedCounter();
+
+  private final StripedCounter misses = new StripedCounter();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Creates a cache holding at most the specified number of entries.
+   *
+   * @param maximumSize
+   *          the maximum number of entries.
+   * @throws IllegalArgumentException
+   *           if <code>maximumSize &lt; 1</code>
+   */
+  public BoundedCache(int maximumSize) {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximumSize: " + maximumSize);
+    this.maximumSize = maximumSize;
+    this.map = new ConcurrentHashMap<K, Entry<V>>(Math.min(maximumSize, 1024) * 4 / 3 + 1);
+  }
+
+  /**
+   * Returns the value cached for the specified key.
+   *
+   * @param key
+   *          the key (not <code>null</code>).
+   * @return the cached value or <code>null</code> if none.
+   */
+  public V get(K key) {
+    Entry<V> entry = map.get(key);
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    if (!entry.referenced)
+      entry.referenced = true; // Avoids a write (cache line invalidation) on hot entries.
+    hits.increment();
+    return entry.value;
+  }
+
+  /**
+   * Caches the specified value unless a value is already cached for the specified key.
+   *
+   * @param key
+   *          the key (not <code>null</code>).
+   * @param value
+   *          the value (not <code>null</code>).
+   * @return the value now cached for the specified key, either the one already present or <code>value</code>.
+   */
+  public V putIfAbsent(K key, V value) {
+    if (value == null)
+      throw new NullPointerException();
+    Entry<V> previous = map.putIfAbsent(key, new Entry<V>(value));
+    if (previous != null)
+      return previous.value;
+    if (size.incrementAndGet() > maximumSize)
+      sweep();
+    return value;
+  }
+
+  /**
+   * Removes the entry for the specified key if it holds the specified value instance.
+   *
+   * @param key
+   *          the key (not <code>null</code>).
+   * @param value
+   *          the value expected for the key.
+   * @return <code>true</code> if the entry was removed.
+   */
+  public boolean remove(K key, V value) {
+    Entry<V> entry = map.get(key);
+    if ((entry == null) || (entry.value != value) || !map.remove(key, entry))
+      return false;
+    size.decrementAndGet();
+    return true;
+  }
+
+  /**
+   * Removes all entries from this cache; the statistics are kept.
+   */
+  public void clear() {
+    for (Iterator<K> i = map.keySet().iterator(); i.hasNext();) {
+      if (map.remove(i.next()) != null)
+        size.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the approximate number of entries in this cache.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the maximum number of entries in this cache.
+   *
+   * @return the maximum size.
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of lookups which found a cached value.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached value.
+   *
+   * @return the miss count.
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the number of entries evicted because the cache was full.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * Returns a snapshot of the statistics of this cache.
+   *
+   * @return the current size and counts.
+   */
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(size(), maximumSize, getHitCount(), getMissCount(), getEvictionCount());
+  }
+
+  @Override
+  public String toString() {
+    return "BoundedCache(size=" + size() + "/" + maximumSize + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions="
+        + getEvictionCount() + ")";
+  }
+
+  private void sweep() {
+    if (!sweeping.compareAndSet(false, true))
+      return; // Another thread is sweeping.
+    try {
+      // At most two passes: the first one clears every referenced bit it does not evict.
+      for (int pass = 0; pass < 2 && size.get() > maximumSize; pass++) {
+        for (Iterator<Map.Entry<K, Entry<V>>> i = map.entrySet().iterator(); i.hasNext() && size.get() > maximumSize;) {
+          Map.Entry<K, Entry<V>> e = i.next();
+          Entry<V> entry = e.getValue();
+          if (entry.referenced) {
+            entry.referenced = false; // Second chance.
+          } else if (map.remove(e.getKey(), entry)) {
+            size.decrementAndGet();
+            evictions.incrementAndGet();
+          }
+        }
+      }
+    } finally {
+      sweeping.set(false);
+    }
+  }
+
+  private static final class Entry<V> {
+    final V value;
+    volatile boolean referenced;
+
+    Entry(V value) {
+      this.value = value;
+    }
+  }
+}
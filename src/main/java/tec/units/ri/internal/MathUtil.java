@@ -1133,6 +1133,97 @@ public abstract class MathUtil {
       return a;
     return gcd(b, a % b);
   }
+
+  /**
+   * Returns the greatest common divisor of the absolute values of the arguments, using the binary (Stein's) algorithm.
+   *
+   * @param a
+   *          the first value
+   * @param b
+   *          the second value
+   * @return the (non-negative) greatest common divisor, <code>|b|</code> if <code>a == 0</code>
+   */
+  public static long gcd(long a, long b) {
+    // Long.MIN_VALUE is read as 2^63 (unsigned) until its trailing zeros are shifted out.
+    a = Math.abs(a);
+    b = Math.abs(b);
+    if (a == 0)
+      return b;
+    if (b == 0)
+      return a;
+    final int shift = Long.numberOfTrailingZeros(a | b);
+    a >>>= Long.numberOfTrailingZeros(a);
+    do {
+      b >>>= Long.numberOfTrailingZeros(b);
+      if (a > b) {
+        final long t = b;
+        b = a;
+        a = t;
+      }
+      b -= a;
+    } while (b != 0);
+    return a << shift;
+  }
+
+  /**
+   * Returns the sum of the specified values using compensated (Kahan-Babuska/Neumaier) summation, the rounding error of each addition is
+   * accumulated separately and added back at the end.
+   *
+   * @param values
+   *          the values
+   * @param offset
+   *          the index of the first value to add
+   * @param length
+   *          the number of values to add
+   * @return the compensated sum
+   */
+  public static double sum(double[] values, int offset, int length) {
+    double sum = 0;
+    double compensation = 0;
+    for (int i = offset, end = offset + length; i < end; i++) {
+      final double value = values[i];
+      final double t = sum + value;
+      compensation += sumError(sum, value, t);
+      sum = t;
+    }
+    return Double.isInfinite(sum) ? sum : sum + compensation;
+  }
+
+  /**
+   * Returns the rounding error of the floating point addition <code>a + b</code>, to be accumulated by compensated (Neumaier) summations.
+   *
+   * @param a
+   *          the first addend
+   * @param b
+   *          the second addend
+   * @param sum
+   *          the rounded sum <code>a + b</code>
+   * @return the exact sum minus the rounded sum
+   */
+  public static double sumError(double a, double b, double sum) {
+    return (Math.abs(a) >= Math.abs(b)) ? (a - sum) + b : (b - sum) + a;
+  }
+
+  /**
+   * Returns the product of the arguments, throwing an exception if the result overflows a {@code long}.
+   *
+   * @param a
+   *          the first value
+   * @param b
+   *          the second value
+   * @return the result
+   * @throws ArithmeticException
+   *           if the result overflows a long
+   */
+  public static long multiplyExact(long a, long b) {
+    final long r = a * b;
+    if (((Math.abs(a) | Math.abs(b)) >>> 31) != 0) {
+      if (((b != 0) && (r / b != a)) || (a == Long.MIN_VALUE && b == -1)) {
+        throw new ArithmeticException("long overflow");
+      }
+    }
+    return r;
+  }
   /*
     private static final double powSqrt(double x, double y) {
       int den = 1024, num = (int) (y * den), iterations = 10;
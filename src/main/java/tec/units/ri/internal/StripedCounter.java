@@ -0,0 +1,85 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter incremented concurrently by many threads and rarely read. Each thread increments one of several cells, each on its own cache line, so
+ * threads counting at the same time do not invalidate each other's caches. The cells are only added when the count is requested.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 17, 2026
+ * @since 1.0.4
+ */
+final class StripedCounter {
+
+  /**
+   * Holds the maximum number of cells.
+   */
+  private static final int MAX_CELLS = 64;
+
+  /**
+   * Holds the number of <code>long</code> elements between two cells (one cache line).
+   */
+  private static final int STRIDE = 8;
+
+  private final AtomicLongArray cells;
+
+  private final int mask;
+
+  StripedCounter() {
+    int n = 1;
+    while ((n < Runtime.getRuntime().availableProcessors()) && (n < MAX_CELLS)) {
+      n <<= 1;
+    }
+    mask = n - 1;
+    cells = new AtomicLongArray((n + 1) * STRIDE); // Cell i at (i + 1) * STRIDE, padded from the array header.
+  }
+
+  /**
+   * Adds one to the cell of the current thread.
+   */
+  void increment() {
+    final long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L; // Fibonacci hashing, spreads consecutive thread ids.
+    cells.incrementAndGet((((int) (h >>> 32) & mask) + 1) * STRIDE);
+  }
+
+  /**
+   * Returns the sum of the cells, which may or may not include the concurrent increments.
+   */
+  long get() {
+    long sum = 0;
+    for (int i = mask + 1; i > 0; i--) {
+      sum += cells.get(i * STRIDE);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+/**
+ * <p>
+ * A thread-safe map from symbols (character sequences) to values, stored as a character trie.
+ * </p>
+ *
+ * <p>
+ * Lookups can be performed on any range of a {@link CharSequence} without creating a <code>String</code> (or any other object), for example while
+ * tokenizing the text to parse. Insertions are synchronized and copy the modified node edges, lookups do not lock and see either the previous or
+ * the new state of a node.
+ * </p>
+ *
+ * @param <V>
+ *          the type of values.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class SymbolTrie<V> {
+
+  private final Node<V> root = new Node<V>();
+
+  private int size;
+
+  /**
+   * Associates the specified value with the specified symbol, replacing the previous value if any.
+   *
+   * @param symbol
+   *          the symbol (not empty).
+   * @param value
+   *          the value (not <code>null</code>).
+   */
+  public synchronized void put(CharSequence symbol, V value) {
+    if (value == null)
+      throw new NullPointerException();
+    if (symbol.length() == 0)
+      throw new IllegalArgumentException("Empty symbol");
+    Node<V> node = root;
+    for (int i = 0; i < symbol.length(); i++) {
+      node = node.childOrCreate(symbol.charAt(i));
+    }
+    if (node.value == null)
+      size++;
+    node.value = value;
+  }
+
+  /**
+   * Returns the value associated with the specified symbol.
+   *
+   * @param symbol
+   *          the symbol.
+   * @return the value or <code>null</code> if none.
+   */
+  public V get(CharSequence symbol) {
+    return get(symbol, 0, symbol.length());
+  }
+
+  /**
+   * Returns the value associated with the symbol formed by the specified range of characters.
+   *
+   * @param csq
+   *          the characters.
+   * @param start
+   *          the index of the first character of the symbol.
+   * @param end
+   *          the index after the last character of the symbol.
+   * @return the value or <code>null</code> if none.
+   */
+  public V get(CharSequence csq, int start, int end) {
+    Node<V> node = root;
+    for (int i = start; (i < end) && (node != null); i++) {
+      node = node.child(csq.charAt(i));
+    }
+    return (node == null) ? null : node.value;
+  }
+
+  /**
+   * Returns the number of symbols in this trie.
+   *
+   * @return the number of symbols.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * A trie node: the value of the symbol ending at this node and the edges to the nodes of longer symbols.
+   */
+  private static final class Node<V> {
+    private volatile Edges<V> edges = Edges.none();
+    private volatile V value;
+
+    Node<V> child(char c) {
+      final Edges<V> e = edges;
+      final char[] keys = e.keys;
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == c)
+          return e.children[i];
+      }
+      return null;
+    }
+
+    Node<V> childOrCreate(char c) {
+      Node<V> child = child(c);
+      if (child == null) {
+        child = new Node<V>();
+        edges = edges.with(c, child);
+      }
+      return child;
+    }
+  }
+
+  /**
+   * The (immutable) edges of a node, replaced as a whole when a child is added.
+   */
+  private static final class Edges<V> {
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final Edges NONE = new Edges(new char[0], new Node[0]);
+
+    private final char[] keys;
+    private final Node<V>[] children;
+
+    Edges(char[] keys, Node<V>[] children) {
+      this.keys = keys;
+      this.children = children;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> Edges<V> none() {
+      return NONE;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    Edges<V> with(char c, Node<V> child) {
+      final int n = keys.length;
+      final char[] newKeys = new char[n + 1];
+      final Node<V>[] newChildren = new Node[n + 1];
+      System.arraycopy(keys, 0, newKeys, 0, n);
+      System.arraycopy(children, 0, newChildren, 0, n);
+      newKeys[n] = c;
+      newChildren[n] = child;
+      return new Edges<V>(newKeys, newChildren);
+    }
+  }
+}
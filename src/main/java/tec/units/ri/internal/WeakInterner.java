@@ -0,0 +1,230 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A thread-safe table returning a canonical instance for equal objects (hash-consing), similar to {@link String#intern()}.
+ * </p>
+ *
+ * <p>
+ * Instances are only weakly referenced: canonical instances no longer used elsewhere are garbage collected and their entries purged, so the table
+ * does not retain objects (or their class loaders). Objects are interned to the same instance when they are {@link Object#equals(Object) equal},
+ * or according to a stricter {@link Equivalence} specified at construction.
+ * </p>
+ *
+ * @param <T>
+ *          the type of interned objects, which must be immutable as far as their equivalence and hash code are concerned.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class WeakInterner<T> {
+
+  /**
+   * Defines which objects are interned to the same canonical instance.
+   *
+   * @param <T>
+   *          the type of interned objects.
+   */
+  public interface Equivalence<T> {
+
+    /**
+     * Indicates if the specified objects are interchangeable.
+     *
+     * @param a
+     *          the first object.
+     * @param b
+     *          the second object.
+     * @return <code>true</code> if both objects have the same canonical instance.
+     */
+    boolean equivalent(T a, T b);
+
+    /**
+     * Returns the hash code of the specified object, equal for equivalent objects.
+     *
+     * @param value
+     *          the object.
+     * @return the hash code.
+     */
+    int hash(T value);
+  }
+
+  private final ConcurrentMap<Object, WeakEntry> map = new ConcurrentHashMap<Object, WeakEntry>();
+
+  private final ReferenceQueue<T> queue = new ReferenceQueue<T>();
+
+  private final Equivalence<? super T> equivalence;
+
+  /**
+   * Creates a table interning equal objects to the same instance.
+   */
+  public WeakInterner() {
+    this(null);
+  }
+
+  /**
+   * Creates a table interning equivalent objects to the same instance.
+   *
+   * @param equivalence
+   *          the equivalence of the interned objects, or <code>null</code> for {@link Object#equals(Object) equals} and {@link Object#hashCode()
+   *          hashCode}.
+   */
+  public WeakInterner(Equivalence<? super T> equivalence) {
+    this.equivalence = equivalence;
+  }
+
+  /**
+   * Returns the canonical instance equivalent to the specified object, the specified object itself if there is none yet.
+   *
+   * @param value
+   *          the object to intern (not <code>null</code>).
+   * @return the canonical instance.
+   */
+  public T intern(T value) {
+    purge();
+    final Lookup lookup = new Lookup(value);
+    for (;;) {
+      WeakEntry entry = map.get(lookup);
+      if (entry == null) {
+        final WeakEntry newEntry = new WeakEntry(value, lookup.hash);
+        entry = map.putIfAbsent(newEntry, newEntry);
+        if (entry == null)
+          return value;
+      }
+      final T existing = entry.get();
+      if (existing != null)
+        return existing;
+      map.remove(entry, entry); // Cleared but not yet purged.
+    }
+  }
+
+  /**
+   * Indicates if the specified object is the canonical instance held by this table.
+   *
+   * @param value
+   *          the object to test (not <code>null</code>).
+   * @return <code>true</code> if <code>value</code> has been interned and is shared; <code>false</code> otherwise.
+   */
+  public boolean isInterned(T value) {
+    final WeakEntry entry = map.get(new Lookup(value));
+    return (entry != null) && (entry.get() == value);
+  }
+
+  /**
+   * Returns the number of entries in this table, including entries whose instance has been collected but not purged yet.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    purge();
+    return map.size();
+  }
+
+  private void purge() {
+    for (Reference<? extends T> ref; (ref = queue.poll()) != null;) {
+      map.remove(ref, ref);
+    }
+  }
+
+  private int hash(T value) {
+    return (equivalence == null) ? value.hashCode() : equivalence.hash(value);
+  }
+
+  private boolean equivalent(T a, T b) {
+    if ((a == null) || (b == null))
+      return false; // Cleared entry.
+    return (equivalence == null) ? a.equals(b) : equivalence.equivalent(a, b);
+  }
+
+  /**
+   * Weak reference to a canonical instance, also the key of this entry. A cleared entry is only equal to itself.
+   */
+  private final class WeakEntry extends WeakReference<T> {
+    private final int hash;
+
+    WeakEntry(T value, int hash) {
+      super(value, queue);
+      this.hash = hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj instanceof WeakInterner.WeakEntry)
+        return equivalent(get(), ((WeakEntry) obj).get());
+      if (obj instanceof WeakInterner.Lookup)
+        return equivalent(get(), ((Lookup) obj).value);
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * Strongly referenced key used for lookups.
+   */
+  private final class Lookup {
+    private final T value;
+    private final int hash;
+
+    Lookup(T value) {
+      this.value = value;
+      this.hash = hash(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj instanceof WeakInterner.WeakEntry)
+        return equivalent(((WeakEntry) obj).get(), value);
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -44,7 +44,7 @@ import tec.units.ri.AbstractQuantity;
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
  * @param <Q>
  *          The type of the quantity.
- * @version 0.2, $Date: 2017-05-29 $
+ * @version 0.3, $Date: 2026-10-16 $
  * @since 1.0.7
  */
 final class ByteQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -81,19 +81,17 @@ final class ByteQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @Override
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().byteValue(), getUnit());
+    return NumberQuantity.of(value + (byte) NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   @Override
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().byteValue(), getUnit());
+    return NumberQuantity.of(value - (byte) NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   @Override
   public Quantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((short) value / that.getValue().byteValue(), getUnit().divide(that.getUnit()));
+    return NumberQuantity.of((short) value / (byte) NumberQuantity.intValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   @Override
@@ -103,7 +101,7 @@ final class ByteQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @Override
   public Quantity<?> multiply(Quantity<?> multiplier) {
-    return NumberQuantity.of(value * multiplier.getValue().byteValue(), getUnit().multiply(multiplier.getUnit()));
+    return NumberQuantity.of(value * (byte) NumberQuantity.intValueOf(multiplier), getUnit().multiply(multiplier.getUnit()));
   }
 
   @Override
@@ -46,7 +46,7 @@ import tec.units.ri.format.QuantityFormat;
  * @author Otavio de Santana
  * @param <Q>
  *          The type of the quantity.
- * @version 1.0.1, $Date: 2017-05-28 $
+ * @version 1.0.2, $Date: 2026-10-16 $
  * @since 1.0
  */
 final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -77,18 +77,16 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().doubleValue(), getUnit());
+    return NumberQuantity.of(value + NumberQuantity.doubleValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().doubleValue(), getUnit());
+    return NumberQuantity.of(value - NumberQuantity.doubleValueIn(that, getUnit()), getUnit());
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> multiply(Quantity<?> that) {
-    return new DoubleQuantity(value * that.getValue().doubleValue(), getUnit().multiply(that.getUnit()));
+    return new DoubleQuantity(value * NumberQuantity.doubleValueOf(that), getUnit().multiply(that.getUnit()));
   }
 
   public Quantity<Q> multiply(Number that) {
@@ -97,7 +95,7 @@ final class DoubleQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> divide(Quantity<?> that) {
-    return new DoubleQuantity(value / that.getValue().doubleValue(), getUnit().divide(that.getUnit()));
+    return new DoubleQuantity(value / NumberQuantity.doubleValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   public Quantity<Q> divide(Number that) {
@@ -45,7 +45,7 @@ import tec.units.ri.AbstractQuantity;
  * @author Otavio de Santana
  * @param <Q>
  *          The type of the quantity.
- * @version 0.5, $Date: 2018-06-29 $
+ * @version 0.6, $Date: 2026-10-16 $
  * @since 1.0
  */
 final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -76,18 +76,16 @@ final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().floatValue(), getUnit());
+    return NumberQuantity.of(value + NumberQuantity.floatValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().floatValue(), getUnit());
+    return NumberQuantity.of(value - NumberQuantity.floatValueIn(that, getUnit()), getUnit());
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> multiply(Quantity<?> that) {
-    return new FloatQuantity(value * that.getValue().floatValue(), getUnit().multiply(that.getUnit()));
+    return new FloatQuantity(value * NumberQuantity.floatValueOf(that), getUnit().multiply(that.getUnit()));
   }
 
   public Quantity<Q> multiply(Number that) {
@@ -96,7 +94,7 @@ final class FloatQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> divide(Quantity<?> that) {
-    return new FloatQuantity(value / that.getValue().floatValue(), getUnit().divide(that.getUnit()));
+    return new FloatQuantity(value / NumberQuantity.floatValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   @SuppressWarnings("unchecked")
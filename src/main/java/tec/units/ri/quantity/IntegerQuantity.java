@@ -33,8 +33,10 @@ import java.util.Objects;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
 import tec.units.ri.AbstractQuantity;
+import tec.units.ri.function.RationalConverter;
 
 /**
  * An amount of quantity, consisting of an integer and a Unit. IntegerQuantity objects are immutable.
@@ -45,7 +47,7 @@ import tec.units.ri.AbstractQuantity;
  * @author Otavio de Santana
  * @param <Q>
  *          The type of the quantity.
- * @version 0.4, $Date: 2017-05-28 $
+ * @version 0.5, $Date: 2026-10-16 $
  * @since 1.0
  */
 final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -68,7 +70,12 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @Override
   public long longValue(Unit<Q> unit) {
-    double result = doubleValue(unit);
+    if (super.getUnit().equals(unit))
+      return value;
+    final UnitConverter converter = super.getUnit().getConverterTo(unit);
+    if (converter instanceof RationalConverter)
+      return ((RationalConverter) converter).convertExact(value); // Exact, no rounding through double.
+    double result = converter.convert(value);
     if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
       throw new ArithmeticException("Overflow (" + result + ")");
     }
@@ -76,18 +83,16 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().intValue(), getUnit());
+    return NumberQuantity.of(value + NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().intValue(), getUnit());
+    return NumberQuantity.of(value - NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> multiply(Quantity<?> that) {
-    return new IntegerQuantity(value * that.getValue().intValue(), getUnit().multiply(that.getUnit()));
+    return new IntegerQuantity(value * NumberQuantity.intValueOf(that), getUnit().multiply(that.getUnit()));
   }
 
   public Quantity<Q> multiply(Number that) {
@@ -95,7 +100,7 @@ final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((double) value / that.getValue().doubleValue(), getUnit().divide(that.getUnit()));
+    return NumberQuantity.of((double) value / NumberQuantity.doubleValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   @SuppressWarnings("unchecked")
@@ -33,8 +33,10 @@ import java.util.Objects;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
 import tec.units.ri.AbstractQuantity;
+import tec.units.ri.function.RationalConverter;
 
 /**
  * An amount of quantity, consisting of a long and a Unit. LongQuantity objects are immutable.
@@ -44,7 +46,7 @@ import tec.units.ri.AbstractQuantity;
  * @author <a href="mailto:werner@uom.technology">Werner Keil</a>
  * @param <Q>
  *          The type of the quantity.
- * @version 0.3, $Date: 2017-05-28 $
+ * @version 0.4, $Date: 2026-10-16 $
  * @since 1.0
  */
 final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -67,7 +69,12 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
 
   @Override
   public long longValue(Unit<Q> unit) {
-    double result = doubleValue(unit);
+    if (super.getUnit().equals(unit))
+      return value;
+    final UnitConverter converter = super.getUnit().getConverterTo(unit);
+    if (converter instanceof RationalConverter)
+      return ((RationalConverter) converter).convertExact(value); // Exact, no rounding through double.
+    double result = converter.convert(value);
     if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
       throw new ArithmeticException("Overflow (" + result + ")");
     }
@@ -75,18 +82,16 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().longValue(), getUnit());
+    return NumberQuantity.of(value + NumberQuantity.longValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().longValue(), getUnit());
+    return NumberQuantity.of(value - NumberQuantity.longValueIn(that, getUnit()), getUnit());
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public Quantity<?> multiply(Quantity<?> that) {
-    return new LongQuantity(value * that.getValue().longValue(), getUnit());
+    return new LongQuantity(value * NumberQuantity.longValueOf(that), getUnit().multiply(that.getUnit()));
   }
 
   public Quantity<Q> multiply(Number that) {
@@ -94,7 +99,7 @@ final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((double) value / that.getValue().doubleValue(), getUnit().divide(that.getUnit()));
+    return NumberQuantity.of((double) value / NumberQuantity.doubleValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   @SuppressWarnings("unchecked")
@@ -38,6 +38,7 @@ import javax.measure.UnitConverter;
 
 import tec.units.ri.AbstractQuantity;
 import tec.units.ri.format.QuantityFormat;
+import tec.units.ri.function.RationalConverter;
 
 /**
  * An amount of quantity, consisting of a Number and a Unit. NumberQuantity objects are immutable.
@@ -47,7 +48,7 @@ import tec.units.ri.format.QuantityFormat;
  * @author <a href="mailto:werner@uom.technology">Werner Keil</a>
  * @param <Q>
  *          The type of the quantity.
- * @version 1.0.2, $Date: 2017-05-28 $
+ * @version 1.0.4, $Date: 2026-10-17 $
  * @since 1.0
  */
 public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -265,6 +266,113 @@ public class NumberQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
     return new DoubleQuantity<Q>(doubleValue, unit);
   }
 
+  /**
+   * Returns the <code>double</code> value of the specified quantity, without boxing it for the primitive quantities.
+   */
+  static double doubleValueOf(Quantity<?> quantity) {
+    if (quantity instanceof DoubleQuantity)
+      return ((DoubleQuantity<?>) quantity).value;
+    if (quantity instanceof FloatQuantity)
+      return ((FloatQuantity<?>) quantity).value;
+    if (quantity instanceof LongQuantity)
+      return ((LongQuantity<?>) quantity).value;
+    if (quantity instanceof IntegerQuantity)
+      return ((IntegerQuantity<?>) quantity).value;
+    if (quantity instanceof ShortQuantity)
+      return ((ShortQuantity<?>) quantity).value;
+    if (quantity instanceof ByteQuantity)
+      return ((ByteQuantity<?>) quantity).value;
+    return quantity.getValue().doubleValue();
+  }
+
+  /**
+   * Returns the <code>float</code> value of the specified quantity (as {@link Number#floatValue()}), without boxing it for the primitive quantities.
+   */
+  static float floatValueOf(Quantity<?> quantity) {
+    if (quantity instanceof LongQuantity)
+      return ((LongQuantity<?>) quantity).value;
+    if (isPrimitive(quantity))
+      return (float) doubleValueOf(quantity);
+    return quantity.getValue().floatValue();
+  }
+
+  /**
+   * Returns the <code>long</code> value of the specified quantity (as {@link Number#longValue()}), without boxing it for the primitive quantities.
+   */
+  static long longValueOf(Quantity<?> quantity) {
+    if (quantity instanceof LongQuantity)
+      return ((LongQuantity<?>) quantity).value;
+    if (isPrimitive(quantity))
+      return (long) doubleValueOf(quantity);
+    return quantity.getValue().longValue();
+  }
+
+  /**
+   * Returns the <code>int</code> value of the specified quantity (as {@link Number#intValue()}), without boxing it for the primitive quantities.
+   */
+  static int intValueOf(Quantity<?> quantity) {
+    if (quantity instanceof LongQuantity)
+      return (int) ((LongQuantity<?>) quantity).value;
+    if (isPrimitive(quantity))
+      return (int) doubleValueOf(quantity);
+    return quantity.getValue().intValue();
+  }
+
+  private static boolean isIntegral(Quantity<?> quantity) {
+    return (quantity instanceof LongQuantity) || (quantity instanceof IntegerQuantity) || (quantity instanceof ShortQuantity)
+        || (quantity instanceof ByteQuantity);
+  }
+
+  private static boolean isPrimitive(Quantity<?> quantity) {
+    return (quantity instanceof DoubleQuantity) || (quantity instanceof FloatQuantity) || (quantity instanceof LongQuantity)
+        || (quantity instanceof IntegerQuantity) || (quantity instanceof ShortQuantity) || (quantity instanceof ByteQuantity);
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in the specified unit, as <code>quantity.to(unit).getValue().doubleValue()</code> but without
+   * creating the intermediate quantity.
+   */
+  @SuppressWarnings("unchecked")
+  static <Q extends Quantity<Q>> double doubleValueIn(Quantity<Q> quantity, Unit<Q> unit) {
+    if (unit.equals(quantity.getUnit()))
+      return doubleValueOf(quantity);
+    if (quantity instanceof AbstractQuantity)
+      return ((AbstractQuantity<Q>) quantity).doubleValue(unit);
+    return quantity.to(unit).getValue().doubleValue();
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in the specified unit, as <code>quantity.to(unit).getValue().floatValue()</code>.
+   */
+  static <Q extends Quantity<Q>> float floatValueIn(Quantity<Q> quantity, Unit<Q> unit) {
+    return unit.equals(quantity.getUnit()) ? floatValueOf(quantity) : (float) doubleValueIn(quantity, unit);
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in the specified unit, as <code>quantity.to(unit).getValue().longValue()</code>. Integer
+   * quantities converted by a {@link RationalConverter} are converted exactly, beyond the 2<sup>53</sup> precision of a <code>double</code>.
+   */
+  static <Q extends Quantity<Q>> long longValueIn(Quantity<Q> quantity, Unit<Q> unit) {
+    if (unit.equals(quantity.getUnit()))
+      return longValueOf(quantity);
+    if (isIntegral(quantity)) {
+      final UnitConverter converter = quantity.getUnit().getConverterTo(unit);
+      if (converter instanceof RationalConverter)
+        return ((RationalConverter) converter).convertExact(longValueOf(quantity)); // Exact, no rounding through double.
+    }
+    return (long) doubleValueIn(quantity, unit);
+  }
+
+  /**
+   * Returns the value of the specified quantity stated in the specified unit, as <code>quantity.to(unit).getValue().intValue()</code>, exactly for
+   * integer quantities converted by a {@link RationalConverter}.
+   */
+  static <Q extends Quantity<Q>> int intValueIn(Quantity<Q> quantity, Unit<Q> unit) {
+    if (unit.equals(quantity.getUnit()))
+      return intValueOf(quantity);
+    return isIntegral(quantity) ? (int) longValueIn(quantity, unit) : (int) doubleValueIn(quantity, unit);
+  }
+
   /**
    * Returns the decimal quantity of unknown type corresponding to the specified representation. This method can be used to parse dimensionless
    * quantities.<br>
@@ -0,0 +1,331 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.internal.MathUtil;
+
+/**
+ * A thread-safe accumulator of quantities, stated in a fixed accumulation unit.
+ *
+ * <p>
+ * Quantities in any compatible unit can be added concurrently, each value is converted to the accumulation unit (the converter of the last source
+ * unit is kept) and added to one of several cells with compensated summation. Threads updating the accumulator at the same time use different cells,
+ * so they do not wait for each other. The cells are only combined when the {@link #sum() sum}, {@link #count() count}, {@link #min() minimum} or
+ * {@link #max() maximum} is requested.
+ * </p>
+ *
+ * <p>
+ * Reading the accumulator while values are added returns a snapshot which may or may not include the concurrent updates.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantities.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantityAccumulator<Q extends Quantity<Q>> {
+
+  /**
+   * Holds the maximum number of cells.
+   */
+  private static final int MAX_CELLS = 64;
+
+  private final Unit<Q> unit;
+
+  private final Cell[] cells;
+
+  /**
+   * Holds the last source unit and its converter to the accumulation unit.
+   */
+  private volatile Conversion conversion;
+
+  private QuantityAccumulator(Unit<Q> unit) {
+    if (unit == null)
+      throw new NullPointerException();
+    this.unit = unit;
+    int n = 1;
+    while ((n < Runtime.getRuntime().availableProcessors()) && (n < MAX_CELLS)) {
+      n <<= 1;
+    }
+    cells = new Cell[n];
+    for (int i = 0; i < n; i++) {
+      cells[i] = new Cell();
+    }
+  }
+
+  /**
+   * Returns a new accumulator, with values stated in the specified unit.
+   *
+   * @param unit
+   *          the accumulation unit.
+   * @return the corresponding empty accumulator.
+   */
+  public static <Q extends Quantity<Q>> QuantityAccumulator<Q> of(Unit<Q> unit) {
+    return new QuantityAccumulator<Q>(unit);
+  }
+
+  /**
+   * Returns the accumulation unit.
+   *
+   * @return the unit of the sum, minimum and maximum.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Adds the specified quantity, converted to the accumulation unit.
+   *
+   * @param quantity
+   *          the quantity to add.
+   * @throws javax.measure.UnconvertibleException
+   *           if the quantity unit cannot be converted to the accumulation unit.
+   */
+  public void add(Quantity<Q> quantity) {
+    add(NumberQuantity.doubleValueOf(quantity), quantity.getUnit());
+  }
+
+  /**
+   * Adds the specified value stated in the specified unit.
+   *
+   * @param value
+   *          the value to add.
+   * @param unit
+   *          the unit of the value.
+   */
+  public void add(double value, Unit<Q> unit) {
+    add(converterFrom(unit).convert(value));
+  }
+
+  /**
+   * Adds the specified value, stated in the accumulation unit.
+   *
+   * @param value
+   *          the value to add.
+   */
+  public void add(double value) {
+    final Cell[] cells = this.cells;
+    final int mask = cells.length - 1;
+    int index = hash(Thread.currentThread().getId()) & mask;
+    for (int attempt = 0;; attempt++) {
+      final Cell cell = cells[index];
+      if (cell.tryLock()) {
+        try {
+          cell.add(value);
+        } finally {
+          cell.unlock();
+        }
+        return;
+      }
+      index = (index + 1) & mask; // Contended, tries the next cell.
+      if (attempt > mask)
+        Thread.yield();
+    }
+  }
+
+  /**
+   * Returns the number of values added.
+   *
+   * @return the count.
+   */
+  public long count() {
+    long count = 0;
+    for (Cell cell : cells) {
+      cell.lock();
+      try {
+        count += cell.count;
+      } finally {
+        cell.unlock();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the sum of the values added (zero if none).
+   *
+   * @return the sum stated in the accumulation unit.
+   */
+  public Quantity<Q> sum() {
+    double sum = 0;
+    double compensation = 0;
+    for (Cell cell : cells) {
+      cell.lock();
+      try {
+        final double t = sum + cell.sum;
+        compensation += MathUtil.sumError(sum, cell.sum, t);
+        sum = t;
+        compensation += cell.compensation;
+      } finally {
+        cell.unlock();
+      }
+    }
+    return NumberQuantity.of(Double.isInfinite(sum) ? sum : sum + compensation, unit);
+  }
+
+  /**
+   * Returns the smallest value added, or positive infinity if no value was added.
+   *
+   * @return the minimum stated in the accumulation unit.
+   */
+  public Quantity<Q> min() {
+    double min = Double.POSITIVE_INFINITY;
+    for (Cell cell : cells) {
+      cell.lock();
+      try {
+        min = Math.min(min, cell.min);
+      } finally {
+        cell.unlock();
+      }
+    }
+    return NumberQuantity.of(min, unit);
+  }
+
+  /**
+   * Returns the largest value added, or negative infinity if no value was added.
+   *
+   * @return the maximum stated in the accumulation unit.
+   */
+  public Quantity<Q> max() {
+    double max = Double.NEGATIVE_INFINITY;
+    for (Cell cell : cells) {
+      cell.lock();
+      try {
+        max = Math.max(max, cell.max);
+      } finally {
+        cell.unlock();
+      }
+    }
+    return NumberQuantity.of(max, unit);
+  }
+
+  /**
+   * Resets this accumulator to its initial (empty) state. Values added concurrently may or may not be kept.
+   */
+  public void reset() {
+    for (Cell cell : cells) {
+      cell.lock();
+      try {
+        cell.reset();
+      } finally {
+        cell.unlock();
+      }
+    }
+  }
+
+  private UnitConverter converterFrom(Unit<Q> source) {
+    final Conversion last = conversion;
+    if ((last != null) && (last.source == source))
+      return last.converter;
+    final UnitConverter converter = source.getConverterTo(unit);
+    conversion = new Conversion(source, converter);
+    return converter;
+  }
+
+  private static int hash(long id) {
+    final long h = id * 0x9E3779B97F4A7C15L; // Fibonacci hashing, spreads consecutive thread ids.
+    return (int) (h >>> 32);
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityAccumulator[count=" + count() + ", sum=" + sum() + "]";
+  }
+
+  /**
+   * A source unit and its converter to the accumulation unit.
+   */
+  private static final class Conversion {
+    private final Unit<?> source;
+    private final UnitConverter converter;
+
+    Conversion(Unit<?> source, UnitConverter converter) {
+      this.source = source;
+      this.converter = converter;
+    }
+  }
+
+  /**
+   * A partial accumulation, guarded by a spin lock. Padded to avoid false sharing between cells updated by different threads.
+   */
+  @SuppressWarnings("unused")
+  private static final class Cell {
+    private static final AtomicIntegerFieldUpdater<Cell> BUSY = AtomicIntegerFieldUpdater.newUpdater(Cell.class, "busy");
+
+    private long p0, p1, p2, p3, p4, p5, p6;
+    private volatile int busy;
+    private double sum;
+    private double compensation;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long q0, q1, q2, q3, q4, q5, q6;
+
+    boolean tryLock() {
+      return (busy == 0) && BUSY.compareAndSet(this, 0, 1);
+    }
+
+    void lock() {
+      while (!tryLock()) {
+        Thread.yield();
+      }
+    }
+
+    void unlock() {
+      busy = 0;
+    }
+
+    void add(double value) {
+      final double t = sum + value; // Neumaier compensated summation.
+      compensation += MathUtil.sumError(sum, value, t);
+      sum = t;
+      count++;
+      if (value < min)
+        min = value;
+      if (value > max)
+        max = value;
+    }
+
+    void reset() {
+      sum = 0;
+      compensation = 0;
+      count = 0;
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+    }
+  }
+}
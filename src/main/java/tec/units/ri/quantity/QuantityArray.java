@@ -0,0 +1,587 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.internal.MathUtil;
+
+/**
+ * An immutable array of quantities sharing a single unit, the values are held in a primitive array (<code>double[]</code> by default,
+ * <code>float[]</code> or <code>long[]</code> to save memory).
+ *
+ * <p>
+ * A batch of N values then costs one array instead of N quantity objects, and conversions or arithmetic operations are performed by a single loop
+ * over the values. Results of conversions and arithmetic operations are always stated with <code>double</code> values.
+ * </p>
+ *
+ * <code>
+ *     QuantityArray&lt;Length&gt; readings = QuantityArray.of(new double[] { 1.5, 2.5, 3.0 }, KILO(METRE));<br>
+ *     Quantity&lt;Length&gt; total = readings.to(METRE).sum(); // 7000 m
+ * </code>
+ *
+ * @param <Q>
+ *          The type of the quantities.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 16, 2026
+ * @since 1.0.4
+ */
+public final class QuantityArray<Q extends Quantity<Q>> {
+
+  /**
+   * Holds the values (when stated as <code>double</code>).
+   */
+  private final double[] doubles;
+
+  /**
+   * Holds the values (when stated as <code>float</code>).
+   */
+  private final float[] floats;
+
+  /**
+   * Holds the values (when stated as <code>long</code>).
+   */
+  private final long[] longs;
+
+  /**
+   * Holds the number of values.
+   */
+  private final int size;
+
+  /**
+   * Holds the unit of all values.
+   */
+  private final Unit<Q> unit;
+
+  private QuantityArray(double[] doubles, float[] floats, long[] longs, int size, Unit<Q> unit) {
+    if (unit == null)
+      throw new NullPointerException();
+    this.doubles = doubles;
+    this.floats = floats;
+    this.longs = longs;
+    this.size = size;
+    this.unit = unit;
+  }
+
+  /**
+   * Returns an array holding a copy of the specified <code>double</code> values.
+   *
+   * @param values
+   *          the values.
+   * @param unit
+   *          the unit of all values.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values, Unit<Q> unit) {
+    return new QuantityArray<Q>(values.clone(), null, null, values.length, unit);
+  }
+
+  /**
+   * Returns an array holding a copy of the specified <code>float</code> values.
+   *
+   * @param values
+   *          the values.
+   * @param unit
+   *          the unit of all values.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(float[] values, Unit<Q> unit) {
+    return new QuantityArray<Q>(null, values.clone(), null, values.length, unit);
+  }
+
+  /**
+   * Returns an array holding a copy of the specified <code>long</code> values.
+   *
+   * @param values
+   *          the values.
+   * @param unit
+   *          the unit of all values.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(long[] values, Unit<Q> unit) {
+    return new QuantityArray<Q>(null, null, values.clone(), values.length, unit);
+  }
+
+  /**
+   * Returns an array holding the values of the specified quantities, stated in the specified unit.
+   *
+   * @param quantities
+   *          the quantities.
+   * @param unit
+   *          the unit of the array.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(Quantity<Q>[] quantities, Unit<Q> unit) {
+    final double[] values = new double[quantities.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = NumberQuantity.doubleValueIn(quantities[i], unit);
+    }
+    return new QuantityArray<Q>(values, null, null, values.length, unit);
+  }
+
+  private static <Q extends Quantity<Q>> QuantityArray<Q> wrap(double[] values, Unit<Q> unit) {
+    return new QuantityArray<Q>(values, null, null, values.length, unit);
+  }
+
+  /**
+   * Returns the number of values of this array.
+   *
+   * @return the number of values.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the unit of all values of this array.
+   *
+   * @return the unit.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the type of the values held by this array (<code>double.class</code>, <code>float.class</code> or <code>long.class</code>).
+   *
+   * @return the primitive value type.
+   */
+  public Class<?> getValueType() {
+    return (doubles != null) ? double.class : (floats != null) ? float.class : long.class;
+  }
+
+  /**
+   * Returns the quantity at the specified index.
+   *
+   * @param index
+   *          the index.
+   * @return the quantity at this index, of the value type of this array.
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range.
+   */
+  public Quantity<Q> get(int index) {
+    checkIndex(index);
+    if (doubles != null)
+      return NumberQuantity.of(doubles[index], unit);
+    if (floats != null)
+      return NumberQuantity.of(floats[index], unit);
+    return NumberQuantity.of(longs[index], unit);
+  }
+
+  /**
+   * Returns the value at the specified index, stated in the unit of this array.
+   *
+   * @param index
+   *          the index.
+   * @return the value at this index.
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range.
+   */
+  public double doubleValue(int index) {
+    checkIndex(index);
+    if (doubles != null)
+      return doubles[index];
+    if (floats != null)
+      return floats[index];
+    return longs[index];
+  }
+
+  /**
+   * Returns the value at the specified index, stated in the specified unit.
+   *
+   * @param index
+   *          the index.
+   * @param unit
+   *          the unit in which the value is returned.
+   * @return the value at this index, converted to the specified unit.
+   */
+  public double doubleValue(int index, Unit<Q> unit) {
+    final double value = doubleValue(index);
+    return this.unit.equals(unit) ? value : this.unit.getConverterTo(unit).convert(value);
+  }
+
+  /**
+   * Returns a copy of the values of this array, stated in the unit of this array.
+   *
+   * @return the values.
+   */
+  public double[] toDoubleArray() {
+    return (doubles != null) ? doubles.clone() : values();
+  }
+
+  /**
+   * Returns the values of this array converted to the specified unit.
+   *
+   * @param unit
+   *          the unit in which the values are returned.
+   * @return the converted values.
+   */
+  public double[] toDoubleArray(Unit<Q> unit) {
+    return this.unit.equals(unit) ? toDoubleArray() : to(unit).doubles; // A converted array is not shared.
+  }
+
+  /**
+   * Returns this array converted to the specified unit. If the array is already stated in the specified unit, then this array is returned.
+   *
+   * @param unit
+   *          the unit in which the returned array is stated.
+   * @return this array or a new array equivalent to this array but stated in the specified unit.
+   */
+  public QuantityArray<Q> to(Unit<Q> unit) {
+    if (this.unit.equals(unit))
+      return this;
+    final double[] result = (doubles != null) ? new double[size] : values();
+    convert(this.unit.getConverterTo(unit), (doubles != null) ? doubles : result, result);
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the sum of this array and the specified quantity (added to each value).
+   *
+   * @param that
+   *          the quantity to add.
+   * @return <code>this[i] + that</code> stated in the unit of this array.
+   */
+  public QuantityArray<Q> add(Quantity<Q> that) {
+    final double value = NumberQuantity.doubleValueIn(that, unit);
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] += value;
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the element-wise sum of this array and the one specified.
+   *
+   * @param that
+   *          the array to add (converted to the unit of this array).
+   * @return <code>this[i] + that[i]</code> stated in the unit of this array.
+   * @throws IllegalArgumentException
+   *           if the arrays do not have the same size.
+   */
+  public QuantityArray<Q> add(QuantityArray<Q> that) {
+    final double[] result = that.valuesIn(unit, size);
+    for (int i = 0; i < size; i++) {
+      result[i] += doubleValue(i);
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the difference of this array and the specified quantity (subtracted from each value).
+   *
+   * @param that
+   *          the quantity to subtract.
+   * @return <code>this[i] - that</code> stated in the unit of this array.
+   */
+  public QuantityArray<Q> subtract(Quantity<Q> that) {
+    final double value = NumberQuantity.doubleValueIn(that, unit);
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] -= value;
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the element-wise difference of this array and the one specified.
+   *
+   * @param that
+   *          the array to subtract (converted to the unit of this array).
+   * @return <code>this[i] - that[i]</code> stated in the unit of this array.
+   * @throws IllegalArgumentException
+   *           if the arrays do not have the same size.
+   */
+  public QuantityArray<Q> subtract(QuantityArray<Q> that) {
+    final double[] result = that.valuesIn(unit, size);
+    for (int i = 0; i < size; i++) {
+      result[i] = doubleValue(i) - result[i];
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns this array with each value multiplied by the specified factor.
+   *
+   * @param factor
+   *          the factor.
+   * @return <code>this[i] * factor</code>
+   */
+  public QuantityArray<Q> multiply(Number factor) {
+    return wrap(scaled(factor.doubleValue()), unit);
+  }
+
+  /**
+   * Returns this array with each value multiplied by the specified quantity.
+   *
+   * @param that
+   *          the quantity multiplicand.
+   * @return <code>this[i] * that</code> stated in the product unit.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> multiply(Quantity<?> that) {
+    return wrap(scaled(NumberQuantity.doubleValueOf(that)), (Unit) unit.multiply(that.getUnit()));
+  }
+
+  /**
+   * Returns the element-wise product of this array and the one specified.
+   *
+   * @param that
+   *          the array multiplicand.
+   * @return <code>this[i] * that[i]</code> stated in the product unit.
+   * @throws IllegalArgumentException
+   *           if the arrays do not have the same size.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> multiply(QuantityArray<?> that) {
+    checkSize(that);
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] *= that.doubleValue(i);
+    }
+    return wrap(result, (Unit) unit.multiply(that.unit));
+  }
+
+  /**
+   * Returns this array with each value divided by the specified divisor.
+   *
+   * @param divisor
+   *          the divisor.
+   * @return <code>this[i] / divisor</code>
+   */
+  public QuantityArray<Q> divide(Number divisor) {
+    return wrap(divided(divisor.doubleValue()), unit);
+  }
+
+  /**
+   * Returns this array with each value divided by the specified quantity.
+   *
+   * @param that
+   *          the quantity divisor.
+   * @return <code>this[i] / that</code> stated in the quotient unit.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> divide(Quantity<?> that) {
+    return wrap(divided(NumberQuantity.doubleValueOf(that)), (Unit) unit.divide(that.getUnit()));
+  }
+
+  /**
+   * Returns the element-wise quotient of this array and the one specified.
+   *
+   * @param that
+   *          the array divisor.
+   * @return <code>this[i] / that[i]</code> stated in the quotient unit.
+   * @throws IllegalArgumentException
+   *           if the arrays do not have the same size.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> divide(QuantityArray<?> that) {
+    checkSize(that);
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] /= that.doubleValue(i);
+    }
+    return wrap(result, (Unit) unit.divide(that.unit));
+  }
+
+  /**
+   * Returns the sum of all values, calculated with compensated summation to limit the accumulation of rounding errors.
+   *
+   * @return the sum stated in the unit of this array (zero if this array is empty).
+   */
+  public Quantity<Q> sum() {
+    return NumberQuantity.of(sumValue(), unit);
+  }
+
+  /**
+   * Returns the arithmetic mean of all values (compensated sum divided by the number of values).
+   *
+   * @return the mean stated in the unit of this array.
+   * @throws NoSuchElementException
+   *           if this array is empty.
+   */
+  public Quantity<Q> mean() {
+    checkNotEmpty();
+    return NumberQuantity.of(sumValue() / size, unit);
+  }
+
+  /**
+   * Returns the smallest value of this array.
+   *
+   * @return the minimum stated in the unit of this array.
+   * @throws NoSuchElementException
+   *           if this array is empty.
+   */
+  public Quantity<Q> min() {
+    checkNotEmpty();
+    double min = doubleValue(0);
+    for (int i = 1; i < size; i++) {
+      min = Math.min(min, doubleValue(i));
+    }
+    return NumberQuantity.of(min, unit);
+  }
+
+  /**
+   * Returns the largest value of this array.
+   *
+   * @return the maximum stated in the unit of this array.
+   * @throws NoSuchElementException
+   *           if this array is empty.
+   */
+  public Quantity<Q> max() {
+    checkNotEmpty();
+    double max = doubleValue(0);
+    for (int i = 1; i < size; i++) {
+      max = Math.max(max, doubleValue(i));
+    }
+    return NumberQuantity.of(max, unit);
+  }
+
+  private double[] scaled(double factor) {
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] *= factor;
+    }
+    return result;
+  }
+
+  private double[] divided(double divisor) {
+    final double[] result = values();
+    for (int i = 0; i < size; i++) {
+      result[i] /= divisor;
+    }
+    return result;
+  }
+
+  private double sumValue() {
+    return MathUtil.sum((doubles != null) ? doubles : values(), 0, size);
+  }
+
+  /**
+   * Returns a new array holding the values stated in the unit of this array.
+   */
+  private double[] values() {
+    final double[] values = new double[size];
+    if (doubles != null) {
+      System.arraycopy(doubles, 0, values, 0, size);
+    } else if (floats != null) {
+      for (int i = 0; i < size; i++)
+        values[i] = floats[i];
+    } else {
+      for (int i = 0; i < size; i++)
+        values[i] = longs[i];
+    }
+    return values;
+  }
+
+  /**
+   * Returns a new array holding the values converted to the specified unit, checking the expected size.
+   */
+  private double[] valuesIn(Unit<Q> unit, int expectedSize) {
+    if (size != expectedSize)
+      throw new IllegalArgumentException("Size mismatch: " + expectedSize + " and " + size);
+    final double[] result = values();
+    if (!this.unit.equals(unit))
+      convert(this.unit.getConverterTo(unit), result, result);
+    return result;
+  }
+
+  private void convert(UnitConverter converter, double[] src, double[] dst) {
+    if (converter instanceof AbstractConverter) {
+      ((AbstractConverter) converter).convert(src, 0, dst, 0, size);
+    } else {
+      for (int i = 0; i < size; i++)
+        dst[i] = converter.convert(src[i]);
+    }
+  }
+
+  private void checkIndex(int index) {
+    if ((index < 0) || (index >= size))
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+  }
+
+  private void checkSize(QuantityArray<?> that) {
+    if (size != that.size)
+      throw new IllegalArgumentException("Size mismatch: " + size + " and " + that.size);
+  }
+
+  private void checkNotEmpty() {
+    if (size == 0)
+      throw new NoSuchElementException("Empty quantity array");
+  }
+
+  /**
+   * Indicates if this array is equal to the specified object: both arrays have the same unit and the same values (regardless of the value type).
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (!(obj instanceof QuantityArray))
+      return false;
+    final QuantityArray<?> that = (QuantityArray<?>) obj;
+    if ((size != that.size) || !unit.equals(that.unit))
+      return false;
+    for (int i = 0; i < size; i++) {
+      if (Double.compare(doubleValue(i), that.doubleValue(i)) != 0)
+        return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = unit.hashCode();
+    for (int i = 0; i < size; i++) {
+      final long bits = Double.doubleToLongBits(doubleValue(i));
+      hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the values of this array followed by its unit, for example <code>[1.0, 2.5] m</code>.
+   */
+  @Override
+  public String toString() {
+    if (doubles != null)
+      return Arrays.toString(doubles) + " " + unit;
+    if (floats != null)
+      return Arrays.toString(floats) + " " + unit;
+    return Arrays.toString(longs) + " " + unit;
+  }
+}
@@ -0,0 +1,516 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.AbstractUnit;
+
+/**
+ * A fixed capacity buffer of <code>double</code> values stated in a single unit, backed by a {@link ByteBuffer} (heap, direct or memory-mapped).
+ *
+ * <p>
+ * The byte buffer starts with a small header recording the unit, so a buffer written to a file can be mapped again later (see
+ * {@link #map(File, boolean)}) without any other metadata:
+ * </p>
+ * <ul>
+ * <li>the magic number <code>0x51425546</code> (4 bytes),</li>
+ * <li>the header version (1 byte) and the byte order of the values (1 byte, 0 for big-endian and 1 for little-endian),</li>
+ * <li>the length (2 bytes) and UTF-8 bytes of the unit, as formatted by {@link tec.units.ri.format.SimpleUnitFormat SimpleUnitFormat},</li>
+ * <li>padding up to a multiple of 8 bytes, followed by the values.</li>
+ * </ul>
+ *
+ * <p>
+ * Values are read and written in place, no quantity object is created unless requested through {@link #getQuantity(int)}. Accesses to different
+ * indices can be performed concurrently.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantities.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantityBuffer<Q extends Quantity<Q>> {
+
+  /**
+   * Holds the magic number starting the header ("QBUF").
+   */
+  private static final int MAGIC = 0x51425546;
+
+  /**
+   * Holds the header version.
+   */
+  private static final byte VERSION = 1;
+
+  /**
+   * Holds the size of the fixed part of the header (magic, version, byte order and unit length).
+   */
+  private static final int FIXED_HEADER_SIZE = 8;
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Holds the number of values converted at once by {@link #convertTo(int, QuantityBuffer, int, int)}.
+   */
+  private static final int CHUNK_SIZE = 512;
+
+  /**
+   * Holds the whole buffer (header included).
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Holds the view of the values.
+   */
+  private final DoubleBuffer values;
+
+  private final Unit<Q> unit;
+
+  private QuantityBuffer(ByteBuffer buffer, DoubleBuffer values, Unit<Q> unit) {
+    this.buffer = buffer;
+    this.values = values;
+    this.unit = unit;
+  }
+
+  /**
+   * Returns a new buffer of the specified capacity backed by a direct (off-heap) byte buffer, values are stored in the native byte order.
+   *
+   * @param capacity
+   *          the number of values.
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding buffer, with all values set to zero.
+   * @throws IllegalArgumentException
+   *           if the capacity is negative or too large for a byte buffer.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> allocateDirect(int capacity, Unit<Q> unit) {
+    final byte[] symbol = symbolOf(unit);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect((int) sizeOf(symbol.length, capacity));
+    return initialize(buffer, symbol, ByteOrder.nativeOrder(), unit);
+  }
+
+  /**
+   * Returns a new buffer of the specified capacity backed by a heap byte buffer, values are stored in big-endian byte order.
+   *
+   * @param capacity
+   *          the number of values.
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding buffer, with all values set to zero.
+   * @throws IllegalArgumentException
+   *           if the capacity is negative or too large for a byte buffer.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> allocate(int capacity, Unit<Q> unit) {
+    final byte[] symbol = symbolOf(unit);
+    final ByteBuffer buffer = ByteBuffer.allocate((int) sizeOf(symbol.length, capacity));
+    return initialize(buffer, symbol, ByteOrder.BIG_ENDIAN, unit);
+  }
+
+  /**
+   * Creates (or replaces) the specified file, sized for the specified capacity, and returns a buffer mapped to it. Values written to the buffer are
+   * written to the file by the operating system.
+   *
+   * @param file
+   *          the file.
+   * @param capacity
+   *          the number of values.
+   * @param unit
+   *          the unit of the values.
+   * @return the buffer mapped to the file.
+   * @throws IOException
+   *           if the file cannot be created or mapped.
+   * @throws IllegalArgumentException
+   *           if the capacity is negative or too large for a mapped buffer.
+   */
+  public static <Q extends Quantity<Q>> QuantityBuffer<Q> create(File file, int capacity, Unit<Q> unit) throws IOException {
+    final byte[] symbol = symbolOf(unit);
+    final long size = sizeOf(symbol.length, capacity);
+    final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.setLength(0);
+      raf.setLength(size);
+      final ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      return initialize(buffer, symbol, ByteOrder.nativeOrder(), unit);
+    } finally {
+      raf.close(); // The mapping stays valid.
+    }
+  }
+
+  /**
+   * Maps the specified file, previously created by {@link #create(File, int, Unit)} or holding a buffer written by {@link #writeTo(File)}.
+   *
+   * @param file
+   *          the file.
+   * @param readOnly
+   *          <code>true</code> to map the file read-only.
+   * @return the buffer mapped to the file.
+   * @throws IOException
+   *           if the file cannot be mapped.
+   * @throws IllegalArgumentException
+   *           if the file does not start with a valid header.
+   */
+  public static QuantityBuffer<?> map(File file, boolean readOnly) throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r" : "rw");
+    try {
+      return wrap(raf.getChannel().map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, raf.length()));
+    } finally {
+      raf.close(); // The mapping stays valid.
+    }
+  }
+
+  /**
+   * Returns a buffer over the specified bytes, which must start with a header (from the position of the byte buffer up to its limit).
+   *
+   * @param bytes
+   *          the bytes, for example read from a file or received from the network.
+   * @return the corresponding buffer, sharing the specified bytes.
+   * @throws IllegalArgumentException
+   *           if the bytes do not start with a valid header.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public static QuantityBuffer<?> wrap(ByteBuffer bytes) {
+    final ByteBuffer buffer = bytes.slice().order(ByteOrder.BIG_ENDIAN);
+    if ((buffer.remaining() < FIXED_HEADER_SIZE) || (buffer.getInt(0) != MAGIC))
+      throw new IllegalArgumentException("Not a quantity buffer");
+    if (buffer.get(4) != VERSION)
+      throw new IllegalArgumentException("Unsupported quantity buffer version " + buffer.get(4));
+    final ByteOrder order = (buffer.get(5) == 0) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    final int length = buffer.getShort(6) & 0xFFFF;
+    if (dataOffset(length) > buffer.remaining())
+      throw new IllegalArgumentException("Truncated quantity buffer header");
+    final byte[] symbol = new byte[length];
+    for (int i = 0; i < length; i++) {
+      symbol[i] = buffer.get(FIXED_HEADER_SIZE + i);
+    }
+    final Unit unit = AbstractUnit.parse(new String(symbol, UTF8));
+    return new QuantityBuffer(buffer, valuesOf(buffer, length, order), unit);
+  }
+
+  private static <Q extends Quantity<Q>> QuantityBuffer<Q> initialize(ByteBuffer bytes, byte[] symbol, ByteOrder order, Unit<Q> unit) {
+    final ByteBuffer buffer = bytes.order(ByteOrder.BIG_ENDIAN);
+    buffer.putInt(0, MAGIC);
+    buffer.put(4, VERSION);
+    buffer.put(5, (byte) (ByteOrder.BIG_ENDIAN.equals(order) ? 0 : 1));
+    buffer.putShort(6, (short) symbol.length);
+    for (int i = 0; i < symbol.length; i++) {
+      buffer.put(FIXED_HEADER_SIZE + i, symbol[i]);
+    }
+    return new QuantityBuffer<Q>(buffer, valuesOf(buffer, symbol.length, order), unit);
+  }
+
+  private static DoubleBuffer valuesOf(ByteBuffer buffer, int symbolLength, ByteOrder order) {
+    final ByteBuffer data = buffer.duplicate();
+    data.position(dataOffset(symbolLength));
+    return data.slice().order(order).asDoubleBuffer();
+  }
+
+  private static byte[] symbolOf(Unit<?> unit) {
+    final byte[] symbol = unit.toString().getBytes(UTF8);
+    if (symbol.length > 0xFFFF)
+      throw new IllegalArgumentException("Unit symbol too long: " + unit);
+    return symbol;
+  }
+
+  private static int dataOffset(int symbolLength) {
+    return (FIXED_HEADER_SIZE + symbolLength + 7) & ~7; // Aligned values.
+  }
+
+  /**
+   * Returns the size in bytes of a buffer (header included) holding the specified number of values, at most {@link Integer#MAX_VALUE}.
+   */
+  private static long sizeOf(int symbolLength, int capacity) {
+    if (capacity < 0)
+      throw new IllegalArgumentException("Negative capacity: " + capacity);
+    final long size = dataOffset(symbolLength) + (long) capacity * 8;
+    if (size > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Capacity too large for a buffer: " + capacity);
+    return size;
+  }
+
+  /**
+   * Returns the number of values of this buffer.
+   *
+   * @return the capacity.
+   */
+  public int capacity() {
+    return values.capacity();
+  }
+
+  /**
+   * Returns the unit of the values of this buffer.
+   *
+   * @return the unit.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Indicates if this buffer is read-only.
+   *
+   * @return <code>true</code> if values cannot be written.
+   */
+  public boolean isReadOnly() {
+    return values.isReadOnly();
+  }
+
+  /**
+   * Returns a read-only view of this buffer (sharing its values).
+   *
+   * @return the read-only buffer.
+   */
+  public QuantityBuffer<Q> asReadOnlyBuffer() {
+    return isReadOnly() ? this : new QuantityBuffer<Q>(buffer.asReadOnlyBuffer(), values.asReadOnlyBuffer(), unit);
+  }
+
+  /**
+   * Returns this buffer parameterized with the specified quantity type.
+   *
+   * @param type
+   *          the quantity type.
+   * @return this buffer parameterized with the specified type.
+   * @throws ClassCastException
+   *           if the dimension of the unit of this buffer is different from the specified quantity dimension.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Quantity<T>> QuantityBuffer<T> asType(Class<T> type) throws ClassCastException {
+    unit.asType(type); // Ensures dimension check.
+    return (QuantityBuffer<T>) this;
+  }
+
+  /**
+   * Returns the byte buffer holding the header and the values of this buffer.
+   *
+   * @return a duplicate of the underlying byte buffer.
+   */
+  public ByteBuffer getByteBuffer() {
+    return buffer.duplicate();
+  }
+
+  /**
+   * Returns the value at the specified index.
+   *
+   * @param index
+   *          the index.
+   * @return the value, stated in the unit of this buffer.
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range.
+   */
+  public double get(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * Returns the value at the specified index converted to the specified unit.
+   *
+   * @param index
+   *          the index.
+   * @param unit
+   *          the unit in which the value is returned.
+   * @return the converted value.
+   */
+  public double get(int index, Unit<Q> unit) {
+    final double value = values.get(index);
+    return this.unit.equals(unit) ? value : this.unit.getConverterTo(unit).convert(value);
+  }
+
+  /**
+   * Returns the quantity at the specified index.
+   *
+   * @param index
+   *          the index.
+   * @return the quantity, stated in the unit of this buffer.
+   */
+  public Quantity<Q> getQuantity(int index) {
+    return NumberQuantity.of(values.get(index), unit);
+  }
+
+  /**
+   * Writes the specified value at the specified index.
+   *
+   * @param index
+   *          the index.
+   * @param value
+   *          the value, stated in the unit of this buffer.
+   * @return this buffer.
+   * @throws java.nio.ReadOnlyBufferException
+   *           if this buffer is read-only.
+   */
+  public QuantityBuffer<Q> put(int index, double value) {
+    values.put(index, value);
+    return this;
+  }
+
+  /**
+   * Writes the specified quantity (converted to the unit of this buffer) at the specified index.
+   *
+   * @param index
+   *          the index.
+   * @param quantity
+   *          the quantity.
+   * @return this buffer.
+   */
+  public QuantityBuffer<Q> put(int index, Quantity<Q> quantity) {
+    values.put(index, NumberQuantity.doubleValueIn(quantity, unit));
+    return this;
+  }
+
+  /**
+   * Reads <code>length</code> values starting at the specified index into an array.
+   *
+   * @param index
+   *          the index of the first value.
+   * @param dst
+   *          the destination array.
+   * @param offset
+   *          the offset of the first value in the destination array.
+   * @param length
+   *          the number of values.
+   * @return this buffer.
+   */
+  public QuantityBuffer<Q> get(int index, double[] dst, int offset, int length) {
+    final DoubleBuffer src = values.duplicate();
+    src.position(index);
+    src.get(dst, offset, length);
+    return this;
+  }
+
+  /**
+   * Writes <code>length</code> values from an array starting at the specified index.
+   *
+   * @param index
+   *          the index of the first value.
+   * @param src
+   *          the source array.
+   * @param offset
+   *          the offset of the first value in the source array.
+   * @param length
+   *          the number of values.
+   * @return this buffer.
+   */
+  public QuantityBuffer<Q> put(int index, double[] src, int offset, int length) {
+    final DoubleBuffer dst = values.duplicate();
+    dst.position(index);
+    dst.put(src, offset, length);
+    return this;
+  }
+
+  /**
+   * Converts all the values of this buffer into the specified buffer (which must have at least the same capacity), stated in its unit.
+   *
+   * @param target
+   *          the target buffer.
+   * @return the target buffer.
+   */
+  public QuantityBuffer<Q> convertTo(QuantityBuffer<Q> target) {
+    convertTo(0, target, 0, capacity());
+    return target;
+  }
+
+  /**
+   * Converts <code>length</code> values of this buffer into the specified buffer, stated in its unit.
+   *
+   * @param index
+   *          the index of the first value of this buffer.
+   * @param target
+   *          the target buffer (may be this buffer).
+   * @param targetIndex
+   *          the index of the first converted value in the target buffer.
+   * @param length
+   *          the number of values.
+   * @throws IndexOutOfBoundsException
+   *           if a range exceeds the capacity of its buffer.
+   */
+  public void convertTo(int index, QuantityBuffer<Q> target, int targetIndex, int length) {
+    if ((length < 0) || (index < 0) || (targetIndex < 0) || (index > capacity() - length) || (targetIndex > target.capacity() - length))
+      throw new IndexOutOfBoundsException("index: " + index + ", targetIndex: " + targetIndex + ", length: " + length);
+    final UnitConverter converter = unit.getConverterTo(target.unit);
+    final DoubleBuffer src = values.duplicate();
+    final DoubleBuffer dst = target.values.duplicate();
+    final double[] chunk = new double[Math.min(length, CHUNK_SIZE)];
+    final boolean backward = (target.values == values) && (index < targetIndex); // Overlapping ranges, from the end.
+    for (int done = 0; done < length;) {
+      final int n = Math.min(chunk.length, length - done);
+      final int from = backward ? (length - done - n) : done;
+      src.position(index + from);
+      src.get(chunk, 0, n);
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(chunk, 0, chunk, 0, n);
+      } else {
+        for (int i = 0; i < n; i++)
+          chunk[i] = converter.convert(chunk[i]);
+      }
+      dst.position(targetIndex + from);
+      dst.put(chunk, 0, n);
+      done += n;
+    }
+  }
+
+  /**
+   * Writes this buffer (header and values) to the specified file, which can then be mapped with {@link #map(File, boolean)}.
+   *
+   * @param file
+   *          the file.
+   * @throws IOException
+   *           if the file cannot be written.
+   */
+  public void writeTo(File file) throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.setLength(0);
+      final ByteBuffer bytes = buffer.duplicate();
+      bytes.clear();
+      final FileChannel channel = raf.getChannel();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    } finally {
+      raf.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityBuffer[capacity=" + capacity() + ", unit=" + unit + (isReadOnly() ? ", read-only]" : "]");
+  }
+}
@@ -31,12 +31,14 @@ package tec.units.ri.quantity;
 
 import tec.units.ri.AbstractUnit;
 import tec.units.ri.unit.BaseUnit;
+import tec.units.ri.unit.ProductUnit;
 import tec.units.ri.unit.Units;
 
 import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -56,9 +58,15 @@ import java.util.logging.Logger;
  * </code>
  * </p>
  *
+ * <p>
+ * Dimensions made of the seven SI base dimensions hold their rational exponents packed into two <code>long</code> values (one byte per base
+ * dimension for the numerators, one for the denominators), which makes their products, quotients, powers, roots and comparisons cheap. Other
+ * dimensions (e.g. <code>QuantityDimension.parse('X')</code>) are represented by a pseudo unit.
+ * </p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.2, $Date: 2016-10-18 $
+ * @version 1.1, $Date: 2026-10-16 $
  * @since 1.0
  */
 public final class QuantityDimension implements Dimension {
@@ -69,10 +77,36 @@ public final class QuantityDimension implements Dimension {
 	 */
   // private static final long serialVersionUID = 123289037718650030L;
 
+  /**
+   * Holds the symbols of the base dimensions, in packing order.
+   */
+  private static final String BASE_SYMBOLS = "LMTI\u0398NJ";
+
+  /**
+   * Holds the number of base dimensions.
+   */
+  private static final int BASE_COUNT = 7;
+
+  /**
+   * Holds the packed denominators of a dimension having only integer exponents.
+   */
+  private static final long INTEGER_ROOTS = 0x01010101010101L;
+
   /**
    * Holds dimensionless.
    */
-  public static final Dimension NONE = new QuantityDimension(AbstractUnit.ONE);
+  public static final Dimension NONE = new QuantityDimension(0L, INTEGER_ROOTS);
+
+  /**
+   * Holds the pseudo units of the base dimensions, in packing order.
+   */
+  private static final Unit<?>[] BASE_UNITS = new Unit<?>[BASE_COUNT];
+
+  static {
+    for (int i = 0; i < BASE_COUNT; i++) {
+      BASE_UNITS[i] = new BaseUnit<>("[" + BASE_SYMBOLS.charAt(i) + ']', NONE);
+    }
+  }
 
   /**
    * Holds length dimension (L).
@@ -110,10 +144,35 @@ public final class QuantityDimension implements Dimension {
   public static final Dimension LUMINOUS_INTENSITY = new QuantityDimension('J');
 
   /**
-   * Holds the pseudo unit associated to this dimension.
+   * Holds the base dimensions, in packing order.
+   */
+  private static final Dimension[] BASE_DIMENSIONS = { LENGTH, MASS, TIME, ELECTRIC_CURRENT, TEMPERATURE, AMOUNT_OF_SUBSTANCE, LUMINOUS_INTENSITY };
+
+  /**
+   * Holds the exponent numerators of the base dimensions (one signed byte each), if {@link #pseudoUnit} is <code>null</code>.
+   */
+  private final long pows;
+
+  /**
+   * Holds the exponent denominators of the base dimensions (one unsigned byte each, always positive), if {@link #pseudoUnit} is <code>null</code>.
+   */
+  private final long roots;
+
+  /**
+   * Holds the pseudo unit associated to this dimension if it is not made of base dimensions, <code>null</code> otherwise.
    */
   private final Unit<?> pseudoUnit;
 
+  /**
+   * Holds the pseudo unit equivalent to the packed exponents, lazily created.
+   */
+  private volatile Unit<?> packedUnit;
+
+  /**
+   * Holds the base dimensions, lazily created.
+   */
+  private volatile Map<? extends Dimension, Integer> baseDimensions;
+
   /**
    * Returns the physical dimension having the specified symbol.
    *
@@ -122,7 +181,16 @@ public final class QuantityDimension implements Dimension {
    */
   @SuppressWarnings("rawtypes")
   QuantityDimension(char symbol) {
-    pseudoUnit = new BaseUnit("[" + symbol + ']', NONE);
+    final int index = BASE_SYMBOLS.indexOf(symbol);
+    if (index >= 0) {
+      pows = 1L << (index * Byte.SIZE);
+      roots = INTEGER_ROOTS;
+      pseudoUnit = null;
+    } else {
+      pows = 0;
+      roots = 0;
+      pseudoUnit = new BaseUnit("[" + symbol + ']', NONE);
+    }
   }
 
   /**
@@ -190,9 +258,25 @@ public final class QuantityDimension implements Dimension {
    *          the pseudo-unit.
    */
   private QuantityDimension(Unit<?> pseudoUnit) {
+    this.pows = 0;
+    this.roots = 0;
     this.pseudoUnit = pseudoUnit;
   }
 
+  /**
+   * Constructor from packed exponents (not visible).
+   *
+   * @param pows
+   *          the packed numerators.
+   * @param roots
+   *          the packed denominators.
+   */
+  private QuantityDimension(long pows, long roots) {
+    this.pows = pows;
+    this.roots = roots;
+    this.pseudoUnit = null;
+  }
+
   /**
    * Returns the product of this dimension with the one specified. If the specified dimension is not a physics dimension, then
    * <code>that.multiply(this)</code> is returned.
@@ -203,7 +287,7 @@ public final class QuantityDimension implements Dimension {
    * @since 1.0
    */
   public Dimension multiply(Dimension that) {
-    return (that instanceof QuantityDimension) ? this.multiply((QuantityDimension) that) : this.multiply(that);
+    return (that instanceof QuantityDimension) ? this.multiply((QuantityDimension) that) : that.multiply(this);
   }
 
   /**
@@ -215,7 +299,26 @@ public final class QuantityDimension implements Dimension {
    * @since 1.0
    */
   public QuantityDimension multiply(QuantityDimension that) {
-    return new QuantityDimension(this.pseudoUnit.multiply(that.pseudoUnit));
+    if ((this.pseudoUnit != null) || (that.pseudoUnit != null))
+      return of(this.pseudoUnit().multiply(that.pseudoUnit()));
+    long newPows = 0;
+    long newRoots = 0;
+    for (int i = 0, shift = 0; i < BASE_COUNT; i++, shift += Byte.SIZE) {
+      final int r1 = rootAt(this.roots, shift);
+      final int r2 = rootAt(that.roots, shift);
+      int pow = powAt(this.pows, shift) * r2 + powAt(that.pows, shift) * r1;
+      int root = r1 * r2;
+      if (root != 1) {
+        final int gcd = gcd(Math.abs(pow), root);
+        pow /= gcd;
+        root /= gcd;
+      }
+      if ((pow < Byte.MIN_VALUE) || (pow > Byte.MAX_VALUE) || (root > 0xFF))
+        return of(this.pseudoUnit().multiply(that.pseudoUnit())); // Exponent too large to be packed.
+      newPows |= (pow & 0xFFL) << shift;
+      newRoots |= ((long) root) << shift;
+    }
+    return valueOf(newPows, newRoots);
   }
 
   /**
@@ -251,7 +354,16 @@ public final class QuantityDimension implements Dimension {
    * @since 1.0
    */
   public final QuantityDimension pow(int n) {
-    return new QuantityDimension(this.pseudoUnit.pow(n));
+    if (pseudoUnit != null)
+      return of(pseudoUnit.pow(n));
+    long newPows = 0;
+    for (int shift = 0; shift < BASE_COUNT * Byte.SIZE; shift += Byte.SIZE) {
+      final long pow = (long) powAt(pows, shift) * n;
+      if ((pow < Byte.MIN_VALUE) || (pow > Byte.MAX_VALUE))
+        return of(pseudoUnit().pow(n)); // Exponent too large to be packed.
+      newPows |= (pow & 0xFFL) << shift;
+    }
+    return (roots == INTEGER_ROOTS) ? valueOf(newPows, roots) : reduce(newPows, roots);
   }
 
   /**
@@ -265,7 +377,20 @@ public final class QuantityDimension implements Dimension {
    * @since 1.0
    */
   public final QuantityDimension root(int n) {
-    return new QuantityDimension(this.pseudoUnit.root(n));
+    if (pseudoUnit != null)
+      return of(pseudoUnit.root(n));
+    if (n == 0)
+      throw new ArithmeticException("Root's order of zero");
+    if (n < 0)
+      return root(-n).pow(-1);
+    long newRoots = 0;
+    for (int shift = 0; shift < BASE_COUNT * Byte.SIZE; shift += Byte.SIZE) {
+      final long root = (long) rootAt(roots, shift) * n;
+      if (root > 0xFF)
+        return of(pseudoUnit().root(n)); // Exponent too large to be packed.
+      newRoots |= root << shift;
+    }
+    return reduce(pows, newRoots);
   }
 
   /**
@@ -277,19 +402,33 @@ public final class QuantityDimension implements Dimension {
    */
   @SuppressWarnings("rawtypes")
   public Map<? extends Dimension, Integer> getBaseDimensions() {
-    Map<? extends Unit, Integer> pseudoUnits = pseudoUnit.getBaseUnits();
-    if (pseudoUnits == null)
-      return null;
-    final Map<QuantityDimension, Integer> baseDimensions = new HashMap<QuantityDimension, Integer>();
-    for (Map.Entry<? extends Unit, Integer> entry : pseudoUnits.entrySet()) {
-      baseDimensions.put(new QuantityDimension(entry.getKey()), entry.getValue());
+    Map<? extends Dimension, Integer> result = baseDimensions;
+    if (result != null)
+      return result;
+    final Map<Dimension, Integer> map = new HashMap<Dimension, Integer>();
+    if (pseudoUnit == null) {
+      if (Long.bitCount(pows) == 1 && (pows & 0x01010101010101L) != 0 && (roots == INTEGER_ROOTS))
+        return null; // Base dimension.
+      for (int i = 0, shift = 0; i < BASE_COUNT; i++, shift += Byte.SIZE) {
+        final int pow = powAt(pows, shift);
+        if (pow != 0)
+          map.put(BASE_DIMENSIONS[i], pow);
+      }
+    } else {
+      Map<? extends Unit, Integer> pseudoUnits = pseudoUnit.getBaseUnits();
+      if (pseudoUnits == null)
+        return null;
+      for (Map.Entry<? extends Unit, Integer> entry : pseudoUnits.entrySet()) {
+        map.put(of(entry.getKey()), entry.getValue());
+      }
     }
-    return baseDimensions;
+    baseDimensions = result = Collections.unmodifiableMap(map); // Benign race, the map is immutable.
+    return result;
   }
 
   @Override
   public String toString() {
-    return pseudoUnit.toString();
+    return pseudoUnit().toString();
   }
 
   @Override
@@ -299,13 +438,107 @@ public final class QuantityDimension implements Dimension {
     }
     if (obj instanceof QuantityDimension) {
       QuantityDimension other = (QuantityDimension) obj;
-      return (pseudoUnit == other.pseudoUnit) || (pseudoUnit != null && pseudoUnit.equals(other.pseudoUnit));
+      if (pseudoUnit == null) // Packed representation is canonical.
+        return (other.pseudoUnit == null) && (pows == other.pows) && (roots == other.roots);
+      return pseudoUnit.equals(other.pseudoUnit);
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return pseudoUnit == null ? 0 : pseudoUnit.hashCode();
+    if (pseudoUnit == null)
+      return 31 * (int) (pows ^ (pows >>> 32)) + (int) (roots ^ (roots >>> 32));
+    return pseudoUnit.hashCode();
+  }
+
+  /**
+   * Returns the pseudo unit of this dimension.
+   */
+  private Unit<?> pseudoUnit() {
+    if (pseudoUnit != null)
+      return pseudoUnit;
+    Unit<?> unit = packedUnit;
+    if (unit == null) {
+      unit = AbstractUnit.ONE;
+      for (int i = 0, shift = 0; i < BASE_COUNT; i++, shift += Byte.SIZE) {
+        final int pow = powAt(pows, shift);
+        if (pow != 0) {
+          final int root = rootAt(roots, shift);
+          unit = unit.multiply((root == 1) ? BASE_UNITS[i].pow(pow) : BASE_UNITS[i].pow(pow).root(root));
+        }
+      }
+      packedUnit = unit; // Benign race, units are immutable.
+    }
+    return unit;
+  }
+
+  /**
+   * Returns the dimension of the specified pseudo unit, packed if it is made of base dimensions.
+   */
+  private static QuantityDimension of(Unit<?> pseudoUnit) {
+    if (pseudoUnit instanceof ProductUnit) {
+      final ProductUnit<?> product = (ProductUnit<?>) pseudoUnit;
+      long pows = 0;
+      long roots = INTEGER_ROOTS;
+      for (int i = 0; i < product.getUnitCount(); i++) {
+        final int index = indexOf(product.getUnit(i));
+        final int pow = product.getUnitPow(i);
+        final int root = product.getUnitRoot(i);
+        if ((index < 0) || (pow < Byte.MIN_VALUE) || (pow > Byte.MAX_VALUE) || (root > 0xFF))
+          return new QuantityDimension(pseudoUnit);
+        final int shift = index * Byte.SIZE;
+        pows |= (pow & 0xFFL) << shift;
+        roots = (roots & ~(0xFFL << shift)) | ((long) root << shift);
+      }
+      return valueOf(pows, roots);
+    }
+    final int index = indexOf(pseudoUnit);
+    return (index >= 0) ? (QuantityDimension) BASE_DIMENSIONS[index] : new QuantityDimension(pseudoUnit);
+  }
+
+  private static QuantityDimension valueOf(long pows, long roots) {
+    return ((pows == 0) && (roots == INTEGER_ROOTS)) ? (QuantityDimension) NONE : new QuantityDimension(pows, roots);
+  }
+
+  /**
+   * Reduces the packed exponents fractions.
+   */
+  private static QuantityDimension reduce(long pows, long roots) {
+    long newRoots = 0;
+    long newPows = 0;
+    for (int shift = 0; shift < BASE_COUNT * Byte.SIZE; shift += Byte.SIZE) {
+      int pow = powAt(pows, shift);
+      int root = rootAt(roots, shift);
+      final int gcd = gcd(Math.abs(pow), root);
+      newPows |= ((pow / gcd) & 0xFFL) << shift;
+      newRoots |= ((long) (root / gcd)) << shift;
+    }
+    return valueOf(newPows, newRoots);
+  }
+
+  private static int indexOf(Unit<?> unit) {
+    for (int i = 0; i < BASE_COUNT; i++) {
+      if (BASE_UNITS[i].equals(unit))
+        return i;
+    }
+    return -1;
+  }
+
+  private static int powAt(long pows, int shift) {
+    return (byte) (pows >>> shift);
+  }
+
+  private static int rootAt(long roots, int shift) {
+    return (int) ((roots >>> shift) & 0xFF);
+  }
+
+  private static int gcd(int m, int n) {
+    while (n != 0) {
+      final int r = m % n;
+      m = n;
+      n = r;
+    }
+    return m;
   }
 }
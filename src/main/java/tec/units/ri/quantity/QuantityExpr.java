@@ -0,0 +1,476 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.function.AffineConverter;
+
+/**
+ * A lazily evaluated arithmetic expression of quantities, such as a physical formula.
+ *
+ * <p>
+ * An expression records the operations on its {@link #variable(int, Unit) variables} and {@link #constant(double, Unit) constants}. The unit of each
+ * intermediate result and the unit conversions needed by additions and subtractions are resolved once, when the expression is built: evaluating the
+ * expression only performs primitive arithmetic on the values of the variables, without creating units or quantities. Scalings and affine
+ * conversions are fused (for example converting a sum to another unit and multiplying it by a number results in a single multiplication and
+ * addition), and operations on constants only are calculated when the expression is built.
+ * </p>
+ *
+ * <code>
+ *     QuantityExpr&lt;Length&gt; distance = QuantityExpr.variable(0, KILO(METRE));<br>
+ *     QuantityExpr&lt;Time&gt; duration = QuantityExpr.variable(1, MINUTE);<br>
+ *     QuantityExpr&lt;Speed&gt; speed = distance.divide(duration).asType(Speed.class).to(KILOMETRE_PER_HOUR);<br>
+ *     double kmh = speed.evaluate(12, 30); // About 24 km/h.
+ * </code>
+ *
+ * <p>
+ * Expressions are immutable and can be evaluated concurrently. As for {@link NumberQuantity#multiply(Quantity) quantities}, products and quotients
+ * multiply and divide the values as stated in the units of the operands.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity resulting from the expression.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 16, 2026
+ * @since 1.0.4
+ */
+public abstract class QuantityExpr<Q extends Quantity<Q>> {
+
+  private final Unit<Q> unit;
+
+  private QuantityExpr(Unit<Q> unit) {
+    if (unit == null)
+      throw new NullPointerException();
+    this.unit = unit;
+  }
+
+  /**
+   * Returns an expression whose value is the element at the specified index of the values passed to {@link #evaluate(double...)}.
+   *
+   * @param index
+   *          the index of the variable value.
+   * @param unit
+   *          the unit the variable values are stated in.
+   * @return the corresponding expression.
+   */
+  public static <Q extends Quantity<Q>> QuantityExpr<Q> variable(int index, Unit<Q> unit) {
+    if (index < 0)
+      throw new IllegalArgumentException("Negative index: " + index);
+    return new Variable<Q>(index, unit);
+  }
+
+  /**
+   * Returns an expression of constant value.
+   *
+   * @param value
+   *          the value.
+   * @param unit
+   *          the unit of the value.
+   * @return the corresponding expression.
+   */
+  public static <Q extends Quantity<Q>> QuantityExpr<Q> constant(double value, Unit<Q> unit) {
+    return new Constant<Q>(value, unit);
+  }
+
+  /**
+   * Returns an expression of constant value.
+   *
+   * @param quantity
+   *          the constant quantity.
+   * @return the corresponding expression.
+   */
+  public static <Q extends Quantity<Q>> QuantityExpr<Q> constant(Quantity<Q> quantity) {
+    return new Constant<Q>(NumberQuantity.doubleValueOf(quantity), quantity.getUnit());
+  }
+
+  /**
+   * Returns the unit of the value of this expression.
+   *
+   * @return the unit of the result.
+   */
+  public final Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the sum of this expression and the specified expression, stated in the unit of this expression.
+   *
+   * @param that
+   *          the expression to add.
+   * @return <code>this + that</code>
+   * @throws javax.measure.UnconvertibleException
+   *           if the unit of the specified expression cannot be converted to the unit of this expression.
+   */
+  public QuantityExpr<Q> add(QuantityExpr<Q> that) {
+    return sum(this, that.to(unit), 1);
+  }
+
+  /**
+   * Returns the difference of this expression and the specified expression, stated in the unit of this expression.
+   *
+   * @param that
+   *          the expression to subtract.
+   * @return <code>this - that</code>
+   * @throws javax.measure.UnconvertibleException
+   *           if the unit of the specified expression cannot be converted to the unit of this expression.
+   */
+  public QuantityExpr<Q> subtract(QuantityExpr<Q> that) {
+    return sum(this, that.to(unit), -1);
+  }
+
+  /**
+   * Returns the product of this expression and the specified expression.
+   *
+   * @param that
+   *          the multiplier.
+   * @return <code>this * that</code>
+   */
+  public QuantityExpr<?> multiply(QuantityExpr<?> that) {
+    return product(this, that, true);
+  }
+
+  /**
+   * Returns the quotient of this expression and the specified expression.
+   *
+   * @param that
+   *          the divisor.
+   * @return <code>this / that</code>
+   */
+  public QuantityExpr<?> divide(QuantityExpr<?> that) {
+    return product(this, that, false);
+  }
+
+  /**
+   * Returns the product of this expression and the specified number.
+   *
+   * @param factor
+   *          the multiplier.
+   * @return <code>this * factor</code>
+   */
+  public QuantityExpr<Q> multiply(double factor) {
+    return linear(this, factor, 0, unit);
+  }
+
+  /**
+   * Returns the quotient of this expression and the specified number.
+   *
+   * @param divisor
+   *          the divisor.
+   * @return <code>this / divisor</code>
+   */
+  public QuantityExpr<Q> divide(double divisor) {
+    return linear(this, 1 / divisor, 0, unit);
+  }
+
+  /**
+   * Returns the opposite of this expression.
+   *
+   * @return <code>-this</code>
+   */
+  public QuantityExpr<Q> negate() {
+    return linear(this, -1, 0, unit);
+  }
+
+  /**
+   * Returns this expression converted to the specified unit.
+   *
+   * @param unit
+   *          the unit of the result.
+   * @return this expression stated in the specified unit.
+   * @throws javax.measure.UnconvertibleException
+   *           if the unit of this expression cannot be converted to the specified unit.
+   */
+  public QuantityExpr<Q> to(Unit<Q> unit) {
+    if (unit.equals(this.unit))
+      return this;
+    final UnitConverter converter = this.unit.getConverterTo(unit);
+    if (converter.isIdentity())
+      return linear(this, 1, 0, unit);
+    if (AffineConverter.isAffine(converter))
+      return linear(this, AffineConverter.factorOf(converter), AffineConverter.offsetOf(converter), unit);
+    return new Converted<Q>(this, converter, unit);
+  }
+
+  /**
+   * Casts this expression to a parameterized expression of the specified quantity type.
+   *
+   * @param type
+   *          the quantity class identifying the nature of the result.
+   * @return this expression parameterized with the specified type.
+   * @throws ClassCastException
+   *           if the dimension of the unit of this expression is different from the specified quantity dimension.
+   */
+  @SuppressWarnings("unchecked")
+  public final <T extends Quantity<T>> QuantityExpr<T> asType(Class<T> type) {
+    unit.asType(type); // Raises ClassCastException if the dimension mismatches.
+    return (QuantityExpr<T>) this;
+  }
+
+  /**
+   * Evaluates this expression for the specified variable values.
+   *
+   * @param values
+   *          the values of the variables, by index.
+   * @return the value of this expression, stated in its {@link #getUnit() unit}.
+   * @throws IndexOutOfBoundsException
+   *           if there are less values than variables.
+   */
+  public final double evaluate(double... values) {
+    return valueOf(values);
+  }
+
+  /**
+   * Evaluates this expression for the specified variable values.
+   *
+   * @param values
+   *          the values of the variables, by index.
+   * @return the resulting quantity.
+   */
+  public final Quantity<Q> evaluateQuantity(double... values) {
+    return NumberQuantity.of(valueOf(values), unit);
+  }
+
+  /**
+   * Evaluates this expression for each row of the specified columns of variable values.
+   *
+   * @param columns
+   *          the values of each variable (by index), all columns having at least <code>results.length</code> values.
+   * @param results
+   *          the array receiving the value of this expression for each row.
+   */
+  public final void evaluate(double[][] columns, double[] results) {
+    final double[] row = new double[columns.length];
+    for (int i = 0; i < results.length; i++) {
+      for (int j = 0; j < columns.length; j++) {
+        row[j] = columns[j][i];
+      }
+      results[i] = valueOf(row);
+    }
+  }
+
+  /**
+   * Returns the value of this expression for the specified variable values.
+   */
+  abstract double valueOf(double[] values);
+
+  @Override
+  public String toString() {
+    return format() + " " + unit;
+  }
+
+  /**
+   * Returns the formula of this expression (without the unit of the result).
+   */
+  abstract String format();
+
+  private static <Q extends Quantity<Q>> QuantityExpr<Q> linear(QuantityExpr<Q> operand, double factor, double offset, Unit<Q> unit) {
+    if (operand instanceof Constant)
+      return new Constant<Q>(((Constant<Q>) operand).value * factor + offset, unit);
+    if (operand instanceof Linear) { // Fuses a scaling/conversion of a scaling/conversion.
+      final Linear<Q> linear = (Linear<Q>) operand;
+      return linear(linear.operand, linear.factor * factor, linear.offset * factor + offset, unit);
+    }
+    if ((factor == 1) && (offset == 0) && unit.equals(operand.unit))
+      return operand;
+    return new Linear<Q>(operand, factor, offset, unit);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static <Q extends Quantity<Q>> QuantityExpr<Q> sum(QuantityExpr<Q> left, QuantityExpr<Q> right, int sign) {
+    if ((left instanceof Constant) && (right instanceof Constant))
+      return new Constant<Q>(((Constant) left).value + sign * ((Constant) right).value, left.unit);
+    return new Sum<Q>(left, right, sign);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static QuantityExpr<?> product(QuantityExpr<?> left, QuantityExpr<?> right, boolean multiply) {
+    final Unit unit = multiply ? left.unit.multiply(right.unit) : left.unit.divide(right.unit);
+    if (right instanceof Constant) { // Also handles constant operands on both sides.
+      final double value = ((Constant) right).value;
+      return linear((QuantityExpr) left, multiply ? value : 1 / value, 0, unit);
+    }
+    if ((left instanceof Constant) && multiply)
+      return linear((QuantityExpr) right, ((Constant) left).value, 0, unit);
+    return new Product(left, right, multiply, unit);
+  }
+
+  /**
+   * A variable value.
+   */
+  private static final class Variable<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final int index;
+
+    Variable(int index, Unit<Q> unit) {
+      super(unit);
+      this.index = index;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      return values[index];
+    }
+
+    @Override
+    String format() {
+      return "x" + index;
+    }
+  }
+
+  /**
+   * A constant value.
+   */
+  private static final class Constant<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final double value;
+
+    Constant(double value, Unit<Q> unit) {
+      super(unit);
+      this.value = value;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      return value;
+    }
+
+    @Override
+    String format() {
+      return String.valueOf(value);
+    }
+  }
+
+  /**
+   * An operand scaled and offset, for example converted to another unit by an affine converter.
+   */
+  private static final class Linear<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final QuantityExpr<Q> operand;
+    private final double factor;
+    private final double offset;
+
+    Linear(QuantityExpr<Q> operand, double factor, double offset, Unit<Q> unit) {
+      super(unit);
+      this.operand = operand;
+      this.factor = factor;
+      this.offset = offset;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      return operand.valueOf(values) * factor + offset;
+    }
+
+    @Override
+    String format() {
+      return (offset == 0) ? "(" + operand.format() + " * " + factor + ")" : "(" + operand.format() + " * " + factor + " + " + offset + ")";
+    }
+  }
+
+  /**
+   * An operand converted to another unit by a non-linear converter.
+   */
+  private static final class Converted<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final QuantityExpr<Q> operand;
+    private final UnitConverter converter;
+
+    Converted(QuantityExpr<Q> operand, UnitConverter converter, Unit<Q> unit) {
+      super(unit);
+      this.operand = operand;
+      this.converter = converter;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      return converter.convert(operand.valueOf(values));
+    }
+
+    @Override
+    String format() {
+      return converter + "(" + operand.format() + ")";
+    }
+  }
+
+  /**
+   * The sum or difference of two operands stated in the same unit.
+   */
+  private static final class Sum<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final QuantityExpr<Q> left;
+    private final QuantityExpr<Q> right;
+    private final int sign;
+
+    Sum(QuantityExpr<Q> left, QuantityExpr<Q> right, int sign) {
+      super(left.getUnit());
+      this.left = left;
+      this.right = right;
+      this.sign = sign;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      final double a = left.valueOf(values);
+      final double b = right.valueOf(values);
+      return (sign > 0) ? a + b : a - b;
+    }
+
+    @Override
+    String format() {
+      return "(" + left.format() + ((sign > 0) ? " + " : " - ") + right.format() + ")";
+    }
+  }
+
+  /**
+   * The product or quotient of two operands.
+   */
+  private static final class Product<Q extends Quantity<Q>> extends QuantityExpr<Q> {
+    private final QuantityExpr<?> left;
+    private final QuantityExpr<?> right;
+    private final boolean multiply;
+
+    Product(QuantityExpr<?> left, QuantityExpr<?> right, boolean multiply, Unit<Q> unit) {
+      super(unit);
+      this.left = left;
+      this.right = right;
+      this.multiply = multiply;
+    }
+
+    @Override
+    double valueOf(double[] values) {
+      final double a = left.valueOf(values);
+      final double b = right.valueOf(values);
+      return multiply ? a * b : a / b;
+    }
+
+    @Override
+    String format() {
+      return "(" + left.format() + (multiply ? " * " : " / ") + right.format() + ")";
+    }
+  }
+}
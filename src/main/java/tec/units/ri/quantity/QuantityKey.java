@@ -0,0 +1,151 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import javax.measure.Quantity;
+import javax.measure.UnconvertibleException;
+import javax.measure.Unit;
+
+import tec.units.ri.AbstractQuantity;
+
+/**
+ * A normalized view of a quantity, to be used as a key in hash or sorted collections.
+ *
+ * <p>
+ * Unlike {@link AbstractQuantity#equals(Object) quantities}, which are only equal when stated in the same unit, keys compare the values of their
+ * quantities stated in the system unit: the keys of <code>1 km</code> and <code>1000 m</code> are equal. The system value is calculated once, when
+ * the key is created, and hashing, equality and ordering only compare this primitive value. Values are compared exactly, values which differ only
+ * by conversion rounding are different keys.
+ * </p>
+ *
+ * <code>
+ *     Map&lt;QuantityKey&lt;Length&gt;, Quantity&lt;Length&gt;&gt; distinct = new HashMap&lt;&gt;();<br>
+ *     distinct.put(QuantityKey.of(length), length);
+ * </code>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 16, 2026
+ * @since 1.0.4
+ */
+public final class QuantityKey<Q extends Quantity<Q>> implements Comparable<QuantityKey<Q>> {
+
+  private final Quantity<Q> quantity;
+
+  private final Unit<Q> systemUnit;
+
+  private final double value;
+
+  private QuantityKey(Quantity<Q> quantity) {
+    this.quantity = quantity;
+    this.systemUnit = quantity.getUnit().getSystemUnit();
+    final double systemValue = (quantity instanceof AbstractQuantity) ? ((AbstractQuantity<Q>) quantity).systemValue()
+        : quantity.getUnit().getConverterTo(systemUnit).convert(NumberQuantity.doubleValueOf(quantity));
+    this.value = systemValue + 0.0; // Negative zero is zero.
+  }
+
+  /**
+   * Returns the key of the specified quantity.
+   *
+   * @param quantity
+   *          the quantity.
+   * @return the corresponding key.
+   */
+  public static <Q extends Quantity<Q>> QuantityKey<Q> of(Quantity<Q> quantity) {
+    if (quantity == null)
+      throw new NullPointerException();
+    return new QuantityKey<Q>(quantity);
+  }
+
+  /**
+   * Returns the quantity of this key.
+   *
+   * @return the quantity, in its original unit.
+   */
+  public Quantity<Q> getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Returns the system unit the value of this key is stated in.
+   *
+   * @return the system unit of the quantity.
+   */
+  public Unit<Q> getUnit() {
+    return systemUnit;
+  }
+
+  /**
+   * Returns the value of the quantity stated in the system unit.
+   *
+   * @return the normalized value.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Compares the normalized values of this key and the specified key.
+   *
+   * @param that
+   *          the key to compare with.
+   * @return <code>Double.compare(this.getValue(), that.getValue())</code>
+   * @throws UnconvertibleException
+   *           if the keys have different system units.
+   */
+  @Override
+  public int compareTo(QuantityKey<Q> that) {
+    if ((systemUnit != that.systemUnit) && !systemUnit.equals(that.systemUnit))
+      throw new UnconvertibleException("Cannot compare " + quantity + " with " + that.quantity);
+    return Double.compare(value, that.value);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (!(obj instanceof QuantityKey<?>))
+      return false;
+    final QuantityKey<?> that = (QuantityKey<?>) obj;
+    return (Double.doubleToLongBits(value) == Double.doubleToLongBits(that.value)) && systemUnit.equals(that.systemUnit);
+  }
+
+  @Override
+  public int hashCode() {
+    final long bits = Double.doubleToLongBits(value);
+    return 31 * systemUnit.hashCode() + (int) (bits ^ (bits >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return value + " " + systemUnit;
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractQuantity;
+
+/**
+ * An immutable index of {@link QuantityRange quantity ranges}, finding the ranges which contain a quantity.
+ *
+ * <p>
+ * The limits of the ranges are converted to the system unit when the index is built, so ranges and quantities may be stated in any compatible
+ * units. A range without minimum (or maximum) is open on this side, limits are inclusive. The ranges are kept sorted by minimum in an implicit
+ * balanced interval tree (each node holding the largest maximum of its subtree), a query visits <code>O(log n + k)</code> nodes for <code>k</code>
+ * matching ranges instead of testing every range.
+ * </p>
+ *
+ * <code>
+ *     QuantityRangeIndex&lt;Temperature&gt; alarms = QuantityRangeIndex.of(ranges);<br>
+ *     List&lt;QuantityRange&lt;Temperature&gt;&gt; triggered = alarms.rangesContaining(reading);
+ * </code>
+ *
+ * <p>
+ * Ranges are identified by their position in the iteration order of the collection given to {@link #of(Iterable)}, as returned by
+ * {@link #get(int)}.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantities.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0, October 16, 2026
+ * @since 1.0.4
+ */
+public final class QuantityRangeIndex<Q extends Quantity<Q>> {
+
+  private static final int[] NONE = new int[0];
+
+  private final List<QuantityRange<Q>> ranges;
+
+  /**
+   * Holds the minimums of the ranges (in the system unit), in ascending order.
+   */
+  private final double[] minimums;
+
+  /**
+   * Holds the maximums of the ranges (in the system unit), in the order of the minimums.
+   */
+  private final double[] maximums;
+
+  /**
+   * Holds the largest maximum of the subtree rooted at each position (the middle of its sub-array).
+   */
+  private final double[] subtreeMaximums;
+
+  /**
+   * Holds the range identifiers, in the order of the minimums.
+   */
+  private final int[] ids;
+
+  private QuantityRangeIndex(List<QuantityRange<Q>> ranges) {
+    this.ranges = ranges;
+    final int n = ranges.size();
+    final long[] keys = new long[n];
+    final int[] order = new int[n];
+    final double[] lower = new double[n];
+    final double[] upper = new double[n];
+    for (int i = 0; i < n; i++) {
+      final QuantityRange<Q> range = ranges.get(i);
+      lower[i] = range.hasMinimum() ? systemValueOf(range.getMinimum()) : Double.NEGATIVE_INFINITY;
+      upper[i] = range.hasMaximum() ? systemValueOf(range.getMaximum()) : Double.POSITIVE_INFINITY;
+      keys[i] = QuantitySorter.sortableBits(lower[i]);
+      order[i] = i;
+    }
+    QuantitySorter.sortKeys(keys, order, 0, n, new long[n], new int[n]);
+    minimums = new double[n];
+    maximums = new double[n];
+    ids = order;
+    for (int i = 0; i < n; i++) {
+      minimums[i] = lower[order[i]];
+      maximums[i] = upper[order[i]];
+    }
+    subtreeMaximums = new double[n];
+    buildSubtree(0, n);
+  }
+
+  /**
+   * Returns an index of the specified ranges.
+   *
+   * @param ranges
+   *          the ranges to index.
+   * @return the corresponding index.
+   * @throws javax.measure.UnconvertibleException
+   *           if the limits of a range cannot be converted to their system unit.
+   */
+  public static <Q extends Quantity<Q>> QuantityRangeIndex<Q> of(Iterable<? extends QuantityRange<Q>> ranges) {
+    final List<QuantityRange<Q>> list = new ArrayList<QuantityRange<Q>>();
+    for (QuantityRange<Q> range : ranges) {
+      if (range == null)
+        throw new NullPointerException();
+      list.add(range);
+    }
+    return new QuantityRangeIndex<Q>(Collections.unmodifiableList(list));
+  }
+
+  /**
+   * Returns the number of ranges in this index.
+   *
+   * @return the number of ranges.
+   */
+  public int size() {
+    return ranges.size();
+  }
+
+  /**
+   * Returns the range with the specified identifier.
+   *
+   * @param id
+   *          the position of the range in the indexed collection.
+   * @return the corresponding range.
+   */
+  public QuantityRange<Q> get(int id) {
+    return ranges.get(id);
+  }
+
+  /**
+   * Returns the ranges containing the specified quantity, in the order of the indexed collection.
+   *
+   * @param quantity
+   *          the quantity to look up.
+   * @return the ranges containing the quantity (empty if none).
+   */
+  public List<QuantityRange<Q>> rangesContaining(Quantity<Q> quantity) {
+    final int[] found = indicesContaining(quantity);
+    final List<QuantityRange<Q>> result = new ArrayList<QuantityRange<Q>>(found.length);
+    for (int id : found) {
+      result.add(ranges.get(id));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the identifiers of the ranges containing the specified quantity, in ascending order.
+   *
+   * @param quantity
+   *          the quantity to look up.
+   * @return the identifiers of the ranges containing the quantity (empty if none).
+   */
+  public int[] indicesContaining(Quantity<Q> quantity) {
+    final IntBuffer buffer = new IntBuffer();
+    search(0, ids.length, systemValueOf(quantity), buffer);
+    return buffer.toSortedArray();
+  }
+
+  /**
+   * Returns the identifiers of the ranges containing each of the specified values, stated in the specified unit.
+   *
+   * @param values
+   *          the values to look up.
+   * @param unit
+   *          the unit of the values.
+   * @return for each value, the identifiers of the ranges containing it in ascending order.
+   */
+  public int[][] indicesContaining(double[] values, Unit<Q> unit) {
+    final UnitConverter converter = unit.getConverterTo(unit.getSystemUnit());
+    final IntBuffer buffer = new IntBuffer();
+    final int[][] result = new int[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      buffer.size = 0;
+      search(0, ids.length, converter.convert(values[i]), buffer);
+      result[i] = buffer.toSortedArray();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of ranges containing each of the specified values, stated in the specified unit.
+   *
+   * @param values
+   *          the values to look up.
+   * @param unit
+   *          the unit of the values.
+   * @return for each value, the number of ranges containing it.
+   */
+  public int[] countContaining(double[] values, Unit<Q> unit) {
+    final UnitConverter converter = unit.getConverterTo(unit.getSystemUnit());
+    final IntBuffer buffer = new IntBuffer();
+    final int[] result = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      buffer.size = 0;
+      search(0, ids.length, converter.convert(values[i]), buffer);
+      result[i] = buffer.size;
+    }
+    return result;
+  }
+
+  private double buildSubtree(int from, int to) {
+    if (from >= to)
+      return Double.NEGATIVE_INFINITY;
+    final int mid = (from + to) >>> 1;
+    final double max = Math.max(maximums[mid], Math.max(buildSubtree(from, mid), buildSubtree(mid + 1, to)));
+    subtreeMaximums[mid] = max;
+    return max;
+  }
+
+  private void search(int from, int to, double value, IntBuffer found) {
+    while (from < to) {
+      final int mid = (from + to) >>> 1;
+      if (!(subtreeMaximums[mid] >= value)) // Also excludes NaN.
+        return;
+      search(from, mid, value, found);
+      if (minimums[mid] > value)
+        return; // All the ranges on the right start after the value.
+      if (maximums[mid] >= value)
+        found.add(ids[mid]);
+      from = mid + 1;
+    }
+  }
+
+  private static <Q extends Quantity<Q>> double systemValueOf(Quantity<Q> quantity) {
+    if (quantity instanceof AbstractQuantity)
+      return ((AbstractQuantity<Q>) quantity).systemValue();
+    return NumberQuantity.doubleValueIn(quantity, quantity.getUnit().getSystemUnit());
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityRangeIndex[size=" + ranges.size() + "]";
+  }
+
+  /**
+   * A growable array of identifiers.
+   */
+  private static final class IntBuffer {
+    private int[] elements = NONE;
+    private int size;
+
+    void add(int element) {
+      if (size == elements.length)
+        elements = Arrays.copyOf(elements, Math.max(8, size * 2));
+      elements[size++] = element;
+    }
+
+    int[] toSortedArray() {
+      if (size == 0)
+        return NONE;
+      final int[] array = Arrays.copyOf(elements, size);
+      Arrays.sort(array);
+      return array;
+    }
+  }
+}
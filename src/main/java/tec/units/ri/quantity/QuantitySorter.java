@@ -0,0 +1,431 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+/**
+ * Sorting and selection of quantities stated in mixed units.
+ *
+ * <p>
+ * Instead of comparing quantities (which converts one of them on every comparison), each quantity is converted once to a primitive key, its value
+ * stated in the system unit, and the keys are sorted. Large inputs are sorted with a (stable) radix sort on the bits of the keys. The order is the
+ * order of {@link Double#compare(double, double)} applied to the keys, which is the natural order of the quantities.
+ * </p>
+ *
+ * <code>
+ *     QuantitySorter.sort(readings); // Ascending, from the smallest to the largest quantity.<br>
+ *     List&lt;Quantity&lt;Energy&gt;&gt; largest = QuantitySorter.top(readings, 10);
+ * </code>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantitySorter {
+
+  /**
+   * Holds the size under which keys are sorted by insertion.
+   */
+  private static final int INSERTION_THRESHOLD = 48;
+
+  /**
+   * Holds the size under which parallel tasks sort sequentially.
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  /**
+   * Private singleton constructor.
+   */
+  private QuantitySorter() {
+  }
+
+  /**
+   * Sorts the specified array of quantities in ascending order.
+   *
+   * @param quantities
+   *          the quantities to sort (in place).
+   */
+  public static <Q extends Quantity<Q>> void sort(Quantity<Q>[] quantities) {
+    final int n = quantities.length;
+    if (n < 2)
+      return;
+    final long[] keys = new long[n];
+    final int[] index = new int[n];
+    new KeyTask<Q>(quantities, systemUnitOf(quantities), keys, index, 0, n).compute();
+    sortKeys(keys, index, 0, n, new long[n], new int[n]);
+    permute(quantities, index);
+  }
+
+  /**
+   * Sorts the specified list of quantities in ascending order.
+   *
+   * @param quantities
+   *          the quantities to sort (in place).
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public static <Q extends Quantity<Q>> void sort(List<Quantity<Q>> quantities) {
+    final Quantity<Q>[] array = quantities.toArray(new Quantity[quantities.size()]);
+    sort(array);
+    setAll(quantities, array);
+  }
+
+  /**
+   * Sorts the specified array of quantities in ascending order, using several threads of a shared fork/join pool for large arrays.
+   *
+   * @param quantities
+   *          the quantities to sort (in place).
+   */
+  public static <Q extends Quantity<Q>> void parallelSort(Quantity<Q>[] quantities) {
+    parallelSort(quantities, PoolHolder.POOL);
+  }
+
+  /**
+   * Sorts the specified array of quantities in ascending order, using the threads of the specified fork/join pool for large arrays.
+   *
+   * @param quantities
+   *          the quantities to sort (in place).
+   * @param pool
+   *          the pool running the sorting tasks.
+   */
+  public static <Q extends Quantity<Q>> void parallelSort(Quantity<Q>[] quantities, ForkJoinPool pool) {
+    final int n = quantities.length;
+    if (n <= PARALLEL_THRESHOLD) {
+      sort(quantities);
+      return;
+    }
+    final long[] keys = new long[n];
+    final int[] index = new int[n];
+    pool.invoke(new KeyTask<Q>(quantities, systemUnitOf(quantities), keys, index, 0, n));
+    pool.invoke(new SortTask(keys, index, new long[n], new int[n], 0, n));
+    permute(quantities, index);
+  }
+
+  /**
+   * Sorts the specified list of quantities in ascending order, using several threads of a shared fork/join pool for large lists.
+   *
+   * @param quantities
+   *          the quantities to sort (in place).
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public static <Q extends Quantity<Q>> void parallelSort(List<Quantity<Q>> quantities) {
+    final Quantity<Q>[] array = quantities.toArray(new Quantity[quantities.size()]);
+    parallelSort(array);
+    setAll(quantities, array);
+  }
+
+  /**
+   * Returns the <code>k</code> largest quantities, from the largest to the smallest. Only <code>k</code> quantities are kept while iterating.
+   *
+   * @param quantities
+   *          the quantities.
+   * @param k
+   *          the maximum number of quantities returned.
+   * @return the largest quantities (descending order).
+   */
+  public static <Q extends Quantity<Q>> List<Quantity<Q>> top(Iterable<? extends Quantity<Q>> quantities, int k) {
+    return select(quantities, k, 1);
+  }
+
+  /**
+   * Returns the <code>k</code> smallest quantities, from the smallest to the largest. Only <code>k</code> quantities are kept while iterating.
+   *
+   * @param quantities
+   *          the quantities.
+   * @param k
+   *          the maximum number of quantities returned.
+   * @return the smallest quantities (ascending order).
+   */
+  public static <Q extends Quantity<Q>> List<Quantity<Q>> bottom(Iterable<? extends Quantity<Q>> quantities, int k) {
+    return select(quantities, k, -1);
+  }
+
+  /**
+   * Selects the <code>k</code> first quantities in the order given by <code>sign</code> (<code>1</code> for descending) with a bounded heap whose
+   * root is the last selected quantity.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static <Q extends Quantity<Q>> List<Quantity<Q>> select(Iterable<? extends Quantity<Q>> quantities, int k, int sign) {
+    if (k < 0)
+      throw new IllegalArgumentException("Negative k: " + k);
+    final double[] heapKeys = new double[k];
+    final Quantity<Q>[] heap = new Quantity[k];
+    int size = 0;
+    Unit<Q> systemUnit = null;
+    Unit<Q> lastUnit = null;
+    UnitConverter converter = null;
+    if (k > 0) {
+      for (Quantity<Q> quantity : quantities) {
+        if (quantity.getUnit() != lastUnit) {
+          lastUnit = quantity.getUnit();
+          if (systemUnit == null)
+            systemUnit = lastUnit.getSystemUnit();
+          converter = lastUnit.getConverterTo(systemUnit);
+        }
+        final double key = converter.convert(NumberQuantity.doubleValueOf(quantity));
+        if (size < k) {
+          heapKeys[size] = key;
+          heap[size] = quantity;
+          siftUp(heapKeys, heap, size++, sign);
+        } else if (sign * Double.compare(key, heapKeys[0]) > 0) {
+          heapKeys[0] = key;
+          heap[0] = quantity;
+          siftDown(heapKeys, heap, size, sign);
+        }
+      }
+    }
+    final Quantity<Q>[] result = new Quantity[size];
+    for (int i = size - 1; i >= 0; i--) { // Removes the root (last in order) until empty.
+      result[i] = heap[0];
+      heapKeys[0] = heapKeys[i];
+      heap[0] = heap[i];
+      siftDown(heapKeys, heap, i, sign);
+    }
+    return new ArrayList<Quantity<Q>>(Arrays.asList(result));
+  }
+
+  private static void siftUp(double[] keys, Object[] items, int i, int sign) {
+    while (i > 0) {
+      final int parent = (i - 1) >>> 1;
+      if (sign * Double.compare(keys[i], keys[parent]) >= 0)
+        return;
+      swap(keys, items, i, parent);
+      i = parent;
+    }
+  }
+
+  private static void siftDown(double[] keys, Object[] items, int size, int sign) {
+    int i = 0;
+    for (int child = 1; child < size; child = 2 * i + 1) {
+      if ((child + 1 < size) && (sign * Double.compare(keys[child + 1], keys[child]) < 0))
+        child++;
+      if (sign * Double.compare(keys[child], keys[i]) >= 0)
+        return;
+      swap(keys, items, i, child);
+      i = child;
+    }
+  }
+
+  private static void swap(double[] keys, Object[] items, int i, int j) {
+    final double key = keys[i];
+    keys[i] = keys[j];
+    keys[j] = key;
+    final Object item = items[i];
+    items[i] = items[j];
+    items[j] = item;
+  }
+
+  private static <Q extends Quantity<Q>> Unit<Q> systemUnitOf(Quantity<Q>[] quantities) {
+    return quantities[0].getUnit().getSystemUnit();
+  }
+
+  private static <T> void permute(T[] items, int[] index) {
+    final T[] copy = items.clone();
+    for (int i = 0; i < items.length; i++) {
+      items[i] = copy[index[i]];
+    }
+  }
+
+  private static <T> void setAll(List<T> list, T[] items) {
+    final ListIterator<T> iterator = list.listIterator();
+    for (T item : items) {
+      iterator.next();
+      iterator.set(item);
+    }
+  }
+
+  /**
+   * Returns a key whose unsigned order is the order of {@link Double#compare(double, double)}.
+   */
+  static long sortableBits(double value) {
+    final long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE); // Flips all bits of negative values, only the sign bit of positive values.
+  }
+
+  /**
+   * Sorts the range of keys (as unsigned values), moving their indices accordingly. The buffers must be as long as the keys.
+   */
+  static void sortKeys(long[] keys, int[] index, int from, int to, long[] keyBuffer, int[] indexBuffer) {
+    final int n = to - from;
+    if (n < INSERTION_THRESHOLD) {
+      insertionSort(keys, index, from, to);
+      return;
+    }
+    long[] srcKeys = keys;
+    int[] srcIndex = index;
+    long[] dstKeys = keyBuffer;
+    int[] dstIndex = indexBuffer;
+    final int[] count = new int[257];
+    for (int shift = 0; shift < 64; shift += 8) {
+      Arrays.fill(count, 0);
+      for (int i = from; i < to; i++) {
+        count[(int) ((srcKeys[i] >>> shift) & 0xFF) + 1]++;
+      }
+      if (count[(int) ((srcKeys[from] >>> shift) & 0xFF) + 1] == n)
+        continue; // Same byte for all keys, nothing to reorder.
+      for (int b = 0; b < 256; b++) {
+        count[b + 1] += count[b];
+      }
+      for (int i = from; i < to; i++) {
+        final int position = from + count[(int) ((srcKeys[i] >>> shift) & 0xFF)]++;
+        dstKeys[position] = srcKeys[i];
+        dstIndex[position] = srcIndex[i];
+      }
+      final long[] keySwap = srcKeys;
+      srcKeys = dstKeys;
+      dstKeys = keySwap;
+      final int[] indexSwap = srcIndex;
+      srcIndex = dstIndex;
+      dstIndex = indexSwap;
+    }
+    if (srcKeys != keys) {
+      System.arraycopy(srcKeys, from, keys, from, n);
+      System.arraycopy(srcIndex, from, index, from, n);
+    }
+  }
+
+  private static void insertionSort(long[] keys, int[] index, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      final long key = keys[i];
+      final int idx = index[i];
+      int j = i - 1;
+      while ((j >= from) && ((keys[j] ^ Long.MIN_VALUE) > (key ^ Long.MIN_VALUE))) {
+        keys[j + 1] = keys[j];
+        index[j + 1] = index[j];
+        j--;
+      }
+      keys[j + 1] = key;
+      index[j + 1] = idx;
+    }
+  }
+
+  /**
+   * Lazily creates the shared fork/join pool.
+   */
+  private static final class PoolHolder {
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+  /**
+   * Converts a range of quantities to their sortable keys and initializes their indices.
+   */
+  @SuppressWarnings("serial")
+  private static final class KeyTask<Q extends Quantity<Q>> extends RecursiveAction {
+    private final Quantity<Q>[] quantities;
+    private final Unit<Q> systemUnit;
+    private final long[] keys;
+    private final int[] index;
+    private final int from;
+    private final int to;
+
+    KeyTask(Quantity<Q>[] quantities, Unit<Q> systemUnit, long[] keys, int[] index, int from, int to) {
+      this.quantities = quantities;
+      this.systemUnit = systemUnit;
+      this.keys = keys;
+      this.index = index;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if ((to - from > PARALLEL_THRESHOLD) && inForkJoinPool()) {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new KeyTask<Q>(quantities, systemUnit, keys, index, from, mid), new KeyTask<Q>(quantities, systemUnit, keys, index, mid, to));
+        return;
+      }
+      Unit<Q> lastUnit = null;
+      UnitConverter converter = null;
+      for (int i = from; i < to; i++) {
+        final Quantity<Q> quantity = quantities[i];
+        if (quantity.getUnit() != lastUnit) {
+          lastUnit = quantity.getUnit();
+          converter = lastUnit.getConverterTo(systemUnit);
+        }
+        keys[i] = sortableBits(converter.convert(NumberQuantity.doubleValueOf(quantity)));
+        index[i] = i;
+      }
+    }
+  }
+
+  /**
+   * Sorts the halves of a range in parallel and merges them.
+   */
+  @SuppressWarnings("serial")
+  private static final class SortTask extends RecursiveAction {
+    private final long[] keys;
+    private final int[] index;
+    private final long[] keyBuffer;
+    private final int[] indexBuffer;
+    private final int from;
+    private final int to;
+
+    SortTask(long[] keys, int[] index, long[] keyBuffer, int[] indexBuffer, int from, int to) {
+      this.keys = keys;
+      this.index = index;
+      this.keyBuffer = keyBuffer;
+      this.indexBuffer = indexBuffer;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        sortKeys(keys, index, from, to, keyBuffer, indexBuffer);
+        return;
+      }
+      final int mid = (from + to) >>> 1;
+      invokeAll(new SortTask(keys, index, keyBuffer, indexBuffer, from, mid), new SortTask(keys, index, keyBuffer, indexBuffer, mid, to));
+      int i = from;
+      int j = mid;
+      for (int k = from; k < to; k++) { // Stable merge, left first on equal keys.
+        if ((j >= to) || ((i < mid) && ((keys[i] ^ Long.MIN_VALUE) <= (keys[j] ^ Long.MIN_VALUE)))) {
+          keyBuffer[k] = keys[i];
+          indexBuffer[k] = index[i++];
+        } else {
+          keyBuffer[k] = keys[j];
+          indexBuffer[k] = index[j++];
+        }
+      }
+      System.arraycopy(keyBuffer, from, keys, from, to - from);
+      System.arraycopy(indexBuffer, from, index, from, to - from);
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.function.AffineConverter;
+import tec.units.ri.internal.MathUtil;
+
+/**
+ * A state object collecting statistics (count, sum, minimum, maximum, mean and variance) of quantities, stated in a chosen unit.
+ *
+ * <p>
+ * Quantities in any compatible unit are converted to the unit of the statistics as they are accepted (the converter of the last source unit is
+ * kept), in a single pass and without creating intermediate quantities. The sum is calculated with compensated summation, the mean and variance with
+ * Welford's algorithm. Statistics collected separately (for example by the tasks of a fork/join reduction) can be merged with
+ * {@link #combine(QuantitySummaryStatistics)}.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe, each thread should collect its own statistics which are then combined.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantities.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 1.0.1, October 17, 2026
+ * @since 1.0.4
+ */
+public final class QuantitySummaryStatistics<Q extends Quantity<Q>> {
+
+  private final Unit<Q> unit;
+
+  private long count;
+
+  private double sum;
+
+  private double compensation;
+
+  private double mean;
+
+  /**
+   * Holds the sum of squared differences from the mean.
+   */
+  private double m2;
+
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  private Unit<Q> lastUnit;
+
+  private UnitConverter lastConverter;
+
+  private QuantitySummaryStatistics(Unit<Q> unit) {
+    if (unit == null)
+      throw new NullPointerException();
+    this.unit = unit;
+  }
+
+  /**
+   * Returns new empty statistics, stated in the specified unit.
+   *
+   * @param unit
+   *          the unit of the statistics.
+   * @return the corresponding statistics.
+   */
+  public static <Q extends Quantity<Q>> QuantitySummaryStatistics<Q> of(Unit<Q> unit) {
+    return new QuantitySummaryStatistics<Q>(unit);
+  }
+
+  /**
+   * Returns the unit of these statistics.
+   *
+   * @return the unit of the sum, minimum, maximum and mean.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Records the specified quantity.
+   *
+   * @param quantity
+   *          the quantity, converted to the unit of these statistics.
+   * @return these statistics.
+   */
+  public QuantitySummaryStatistics<Q> accept(Quantity<Q> quantity) {
+    return accept(NumberQuantity.doubleValueOf(quantity), quantity.getUnit());
+  }
+
+  /**
+   * Records the specified value stated in the specified unit.
+   *
+   * @param value
+   *          the value.
+   * @param unit
+   *          the unit of the value.
+   * @return these statistics.
+   */
+  public QuantitySummaryStatistics<Q> accept(double value, Unit<Q> unit) {
+    if (unit != lastUnit) {
+      lastConverter = unit.getConverterTo(this.unit);
+      lastUnit = unit;
+    }
+    return accept(lastConverter.convert(value));
+  }
+
+  /**
+   * Records the specified value, stated in the unit of these statistics.
+   *
+   * @param value
+   *          the value.
+   * @return these statistics.
+   */
+  public QuantitySummaryStatistics<Q> accept(double value) {
+    count++;
+    final double t = sum + value; // Neumaier compensated summation.
+    compensation += MathUtil.sumError(sum, value, t);
+    sum = t;
+    final double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    return this;
+  }
+
+  /**
+   * Merges the specified statistics into these statistics, as if all the values recorded by the other statistics had been recorded by these ones.
+   *
+   * @param other
+   *          the statistics to merge (unchanged), possibly stated in another unit.
+   * @return these statistics.
+   * @throws IllegalArgumentException
+   *           if the other statistics are stated in a unit which is not converted by a scaling and/or an offset (for example a logarithmic unit).
+   */
+  public QuantitySummaryStatistics<Q> combine(QuantitySummaryStatistics<Q> other) {
+    if (other.count == 0)
+      return this;
+    final UnitConverter converter = other.unit.getConverterTo(unit);
+    double otherSum = other.sum;
+    double otherCompensation = other.compensation;
+    double otherMean = other.mean;
+    double otherM2 = other.m2;
+    double otherMin = other.min;
+    double otherMax = other.max;
+    if (!AbstractConverter.IDENTITY.equals(converter)) {
+      if (!isAffine(converter))
+        throw new IllegalArgumentException("Cannot combine statistics stated in " + other.unit + " into " + unit);
+      final double offset = converter.convert(0);
+      final double factor = converter.convert(1) - offset;
+      otherSum = otherSum * factor + other.count * offset;
+      otherCompensation *= factor;
+      otherMean = otherMean * factor + offset;
+      otherM2 *= factor * factor;
+      otherMin = converter.convert(other.min);
+      otherMax = converter.convert(other.max);
+      if (factor < 0) {
+        final double swap = otherMin;
+        otherMin = otherMax;
+        otherMax = swap;
+      }
+    }
+    if (count == 0) {
+      mean = otherMean;
+      m2 = otherM2;
+    } else {
+      final long total = count + other.count;
+      final double delta = otherMean - mean;
+      mean += delta * other.count / total;
+      m2 += otherM2 + delta * delta * ((double) count * other.count / total);
+    }
+    count += other.count;
+    final double t = sum + otherSum;
+    compensation += MathUtil.sumError(sum, otherSum, t);
+    sum = t;
+    compensation += otherCompensation;
+    min = Math.min(min, otherMin);
+    max = Math.max(max, otherMax);
+    return this;
+  }
+
+  /**
+   * Indicates if the specified converter only scales and/or offsets values, every step being linear or {@link AffineConverter#isAffine affine}.
+   */
+  private static boolean isAffine(UnitConverter converter) {
+    for (UnitConverter step : converter.getConversionSteps()) {
+      if (!step.isLinear() && !AffineConverter.isAffine(step))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of values recorded.
+   *
+   * @return the count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the sum of the values recorded (zero if none).
+   *
+   * @return the sum.
+   */
+  public Quantity<Q> getSum() {
+    return NumberQuantity.of(Double.isInfinite(sum) ? sum : sum + compensation, unit);
+  }
+
+  /**
+   * Returns the smallest value recorded, or positive infinity if none.
+   *
+   * @return the minimum.
+   */
+  public Quantity<Q> getMin() {
+    return NumberQuantity.of(min, unit);
+  }
+
+  /**
+   * Returns the largest value recorded, or negative infinity if none.
+   *
+   * @return the maximum.
+   */
+  public Quantity<Q> getMax() {
+    return NumberQuantity.of(max, unit);
+  }
+
+  /**
+   * Returns the arithmetic mean of the values recorded (zero if none).
+   *
+   * @return the mean.
+   */
+  public Quantity<Q> getAverage() {
+    return NumberQuantity.of(mean, unit);
+  }
+
+  /**
+   * Returns the sample variance of the values recorded (zero for less than two values), stated in the square of the unit of these statistics.
+   *
+   * @return the sample variance value.
+   */
+  public double getVariance() {
+    return (count > 1) ? m2 / (count - 1) : 0;
+  }
+
+  /**
+   * Returns the sample standard deviation of the values recorded (zero for less than two values).
+   *
+   * @return the standard deviation.
+   */
+  public Quantity<Q> getStandardDeviation() {
+    return NumberQuantity.of(Math.sqrt(getVariance()), unit);
+  }
+
+  @Override
+  public String toString() {
+    return "QuantitySummaryStatistics[count=" + count + ", sum=" + getSum() + ", min=" + getMin() + ", average=" + getAverage() + ", max="
+        + getMax() + "]";
+  }
+}
@@ -44,7 +44,7 @@ import tec.units.ri.AbstractQuantity;
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
  * @param <Q>
  *          The type of the quantity.
- * @version 0.2, $Date: 2017-05-28 $
+ * @version 0.3, $Date: 2026-10-16 $
  * @since 1.0
  */
 final class ShortQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
@@ -75,17 +75,15 @@ final class ShortQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<Q> add(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value + converted.getValue().shortValue(), getUnit());
+    return NumberQuantity.of(value + (short) NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<Q> subtract(Quantity<Q> that) {
-    final Quantity<Q> converted = that.to(getUnit());
-    return NumberQuantity.of(value - converted.getValue().shortValue(), getUnit());
+    return NumberQuantity.of(value - (short) NumberQuantity.intValueIn(that, getUnit()), getUnit());
   }
 
   public Quantity<?> multiply(Quantity<?> that) {
-    return NumberQuantity.of(value * that.getValue().shortValue(), getUnit().multiply(that.getUnit()));
+    return NumberQuantity.of(value * (short) NumberQuantity.intValueOf(that), getUnit().multiply(that.getUnit()));
   }
 
   public Quantity<Q> multiply(Number that) {
@@ -93,7 +91,7 @@ final class ShortQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> {
   }
 
   public Quantity<?> divide(Quantity<?> that) {
-    return NumberQuantity.of((short) value / that.getValue().shortValue(), getUnit().divide(that.getUnit()));
+    return NumberQuantity.of((short) value / (short) NumberQuantity.intValueOf(that), getUnit().divide(that.getUnit()));
   }
 
   @SuppressWarnings("unchecked")
@@ -75,7 +75,7 @@ import tec.units.ri.quantity.QuantityDimension;
  * @see <a href="http://en.wikipedia.org/wiki/Dimensional_analysis">Wikipedia: Dimensional Analysis</a>
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0, $Date: 2016-10-06 $
+ * @version 1.0.1, $Date: 2026-10-16 $
  */
 public abstract class DimensionalModel {
 
@@ -126,7 +126,7 @@ public abstract class DimensionalModel {
     // Dimensional Product.
     Dimension fundamentalProduct = QuantityDimension.NONE;
     for (Map.Entry<? extends Dimension, Integer> e : dimensions.entrySet()) {
-      fundamentalProduct = fundamentalProduct.multiply(this.getFundamentalDimension(e.getKey())).pow(e.getValue());
+      fundamentalProduct = fundamentalProduct.multiply(this.getFundamentalDimension(e.getKey()).pow(e.getValue()));
     }
     return fundamentalProduct;
   }
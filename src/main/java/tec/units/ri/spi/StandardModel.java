@@ -29,6 +29,10 @@
  */
 package tec.units.ri.spi;
 
+import javax.measure.Dimension;
+import javax.measure.UnitConverter;
+
+import tec.units.ri.AbstractConverter;
 import tec.units.ri.spi.DimensionalModel;
 
 /**
@@ -125,7 +129,31 @@ import tec.units.ri.spi.DimensionalModel;
  * This class represents the standard model.
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
- * @version 0.7.1, November 7, 2017
+ * @version 0.8, October 16, 2026
  */
 class StandardModel extends DimensionalModel {
+
+  /**
+   * Returns the specified dimension, all base dimensions being fundamental in the standard model.
+   *
+   * @param dimension
+   *          the dimension for which the fundamental dimension is returned.
+   * @return <code>dimension</code>
+   */
+  @Override
+  public Dimension getFundamentalDimension(Dimension dimension) {
+    return dimension;
+  }
+
+  /**
+   * Returns the identity converter, all base dimensions being fundamental in the standard model.
+   *
+   * @param dimension
+   *          the dimension for which the dimensional transform is returned.
+   * @return the identity converter.
+   */
+  @Override
+  public UnitConverter getDimensionalTransform(Dimension dimension) {
+    return AbstractConverter.IDENTITY;
+  }
 }
\ No newline at end of file
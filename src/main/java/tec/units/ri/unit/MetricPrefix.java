@@ -29,7 +29,7 @@
  */
 package tec.units.ri.unit;
 
-import static tec.units.ri.internal.MathUtil.pow;
+import java.math.BigInteger;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -60,18 +60,18 @@ import tec.uom.lib.common.function.UnitConverterSupplier;
  * @see <a href="http://en.wikipedia.org/wiki/Metric_prefix">Wikipedia: Metric Prefix</a>
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0, $Date: 2016-10-06 $
+ * @version 1.1, $Date: 2026-10-16 $
  * @since 1.0
  */
 public enum MetricPrefix implements SymbolSupplier, UnitConverterSupplier {
-  YOTTA("Y", RationalConverter.of(1000000000000000000000000d, 1d)), ZETTA("Z", RationalConverter.of(1000000000000000000000d, 1d)), EXA("E",
-      RationalConverter.of(pow(10, 18), 1d)), PETA("P", RationalConverter.of(pow(10, 15), 1d)), TERA("T", RationalConverter.of(pow(10, 12), 1d)), GIGA(
-      "G", RationalConverter.of(pow(10, 9), 1d)), MEGA("M", RationalConverter.of(pow(10, 6), 1d)), KILO("k", RationalConverter.of(pow(10, 3), 1d)), HECTO(
-      "h", RationalConverter.of(100d, 1d)), DEKA("da", RationalConverter.of(10d, 1d)), DECI("d", RationalConverter.of(1d, 10d)), CENTI("c",
-      RationalConverter.of(1d, 100d)), MILLI("m", RationalConverter.of(1d, 1000d)), MICRO("µ", RationalConverter.of(1d, pow(10, 6))), NANO("n",
-      RationalConverter.of(1d, pow(10, 9))), PICO("p", RationalConverter.of(1d, pow(10, 12))), FEMTO("f", RationalConverter.of(1d, pow(10, 15))), ATTO(
-      "a", RationalConverter.of(1d, pow(10, 18))), ZEPTO("z", RationalConverter.of(1d, pow(10, 21))), YOCTO("y", RationalConverter
-      .of(1d, pow(10, 24)));
+  YOTTA("Y", RationalConverter.of(BigInteger.TEN.pow(24), BigInteger.ONE)), ZETTA("Z", RationalConverter.of(BigInteger.TEN.pow(21), BigInteger.ONE)), EXA(
+      "E", RationalConverter.of(1000000000000000000L, 1L)), PETA("P", RationalConverter.of(1000000000000000L, 1L)), TERA("T", RationalConverter.of(
+      1000000000000L, 1L)), GIGA("G", RationalConverter.of(1000000000L, 1L)), MEGA("M", RationalConverter.of(1000000L, 1L)), KILO("k",
+      RationalConverter.of(1000L, 1L)), HECTO("h", RationalConverter.of(100L, 1L)), DEKA("da", RationalConverter.of(10L, 1L)), DECI("d",
+      RationalConverter.of(1L, 10L)), CENTI("c", RationalConverter.of(1L, 100L)), MILLI("m", RationalConverter.of(1L, 1000L)), MICRO("µ",
+      RationalConverter.of(1L, 1000000L)), NANO("n", RationalConverter.of(1L, 1000000000L)), PICO("p", RationalConverter.of(1L, 1000000000000L)), FEMTO(
+      "f", RationalConverter.of(1L, 1000000000000000L)), ATTO("a", RationalConverter.of(1L, 1000000000000000000L)), ZEPTO("z", RationalConverter.of(
+      BigInteger.ONE, BigInteger.TEN.pow(21))), YOCTO("y", RationalConverter.of(BigInteger.ONE, BigInteger.TEN.pow(24)));
 
   /**
    * The symbol of this prefix, as returned by {@link #getSymbol}.
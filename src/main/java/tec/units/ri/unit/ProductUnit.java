@@ -29,6 +29,7 @@
  */
 package tec.units.ri.unit;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -52,12 +53,17 @@ import tec.uom.lib.common.function.UnitSupplier;
  * returns <code>METRE</code>.
  * </p>
  *
+ * <p>
+ * Elements are kept in the order they were introduced (which is the order used for formatting), together with a canonical order by unit hash code.
+ * Equality, hashing and the merging of products and quotients walk the canonical order linearly.
+ * </p>
+ *
  * @param <Q>
  *          The type of the quantity measured by this unit.
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.2, November 7, 2017
+ * @version 1.0.3, October 16, 2026
  * @since 1.0
  */
 public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
@@ -72,6 +78,31 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   private final Element[] elements;
 
+  /**
+   * Holds the canonical order of the elements (indexes into {@link #elements} sorted by unit hash code).
+   */
+  private final int[] order;
+
+  /**
+   * Holds the base units map, lazily created.
+   */
+  private volatile Map<Unit<?>, Integer> baseUnits;
+
+  /**
+   * Holds the system unit, lazily calculated.
+   */
+  private volatile AbstractUnit<Q> systemUnit;
+
+  /**
+   * Holds the converter to the system unit, lazily calculated.
+   */
+  private volatile UnitConverter systemConverter;
+
+  /**
+   * Holds the dimension, lazily calculated.
+   */
+  private volatile Dimension dimension;
+
   /**
    * Holds the hashcode (optimization).
    */
@@ -82,12 +113,28 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   private final String symbol;
 
+  /**
+   * Holds an empty array of elements.
+   */
+  private static final Element[] NO_ELEMENTS = new Element[0];
+
+  /**
+   * Holds the canonical order of no elements.
+   */
+  private static final int[] NO_ORDER = new int[0];
+
+  /**
+   * Holds the canonical order of a single element.
+   */
+  private static final int[] SINGLE_ORDER = new int[] { 0 };
+
   /**
    * Default constructor (used solely to create <code>ONE</code> instance).
    */
   public ProductUnit() {
     this.symbol = "";
-    elements = new Element[0];
+    elements = NO_ELEMENTS;
+    order = NO_ORDER;
   }
 
   /**
@@ -101,6 +148,7 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
   public ProductUnit(Unit<?> productUnit) {
     this.symbol = productUnit.getSymbol();
     this.elements = ((ProductUnit<?>) productUnit).elements;
+    this.order = ((ProductUnit<?>) productUnit).order;
   }
 
   /**
@@ -108,9 +156,12 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    *
    * @param elements
    *          the product elements.
+   * @param order
+   *          the canonical order of the elements.
    */
-  private ProductUnit(Element[] elements) {
+  private ProductUnit(Element[] elements, int[] order) {
     this.elements = elements;
+    this.order = order;
     // this.symbol = elements[0].getUnit().getSymbol(); // TODO should contain ALL elements
     this.symbol = null;
   }
@@ -126,16 +177,24 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   public static Unit<?> getProductInstance(AbstractUnit<?> left, AbstractUnit<?> right) {
     Element[] leftElems;
-    if (left instanceof ProductUnit<?>)
+    int[] leftOrder;
+    if (left instanceof ProductUnit<?>) {
       leftElems = ((ProductUnit<?>) left).elements;
-    else
+      leftOrder = ((ProductUnit<?>) left).order;
+    } else {
       leftElems = new Element[] { new Element(left, 1, 1) };
+      leftOrder = SINGLE_ORDER;
+    }
     Element[] rightElems;
-    if (right instanceof ProductUnit<?>)
+    int[] rightOrder;
+    if (right instanceof ProductUnit<?>) {
       rightElems = ((ProductUnit<?>) right).elements;
-    else
+      rightOrder = ((ProductUnit<?>) right).order;
+    } else {
       rightElems = new Element[] { new Element(right, 1, 1) };
-    return getInstance(leftElems, rightElems);
+      rightOrder = SINGLE_ORDER;
+    }
+    return getInstance(leftElems, leftOrder, rightElems, rightOrder);
   }
 
   /**
@@ -149,20 +208,28 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   public static Unit<?> getQuotientInstance(Unit<?> left, Unit<?> right) {
     Element[] leftElems;
-    if (left instanceof ProductUnit<?>)
+    int[] leftOrder;
+    if (left instanceof ProductUnit<?>) {
       leftElems = ((ProductUnit<?>) left).elements;
-    else
+      leftOrder = ((ProductUnit<?>) left).order;
+    } else {
       leftElems = new Element[] { new Element(left, 1, 1) };
+      leftOrder = SINGLE_ORDER;
+    }
     Element[] rightElems;
+    int[] rightOrder;
     if (right instanceof ProductUnit<?>) {
       Element[] elems = ((ProductUnit<?>) right).elements;
       rightElems = new Element[elems.length];
       for (int i = 0; i < elems.length; i++) {
-        rightElems[i] = new Element(elems[i].unit, -elems[i].pow, elems[i].root);
+        rightElems[i] = new Element(elems[i].unit, elems[i].hash, -elems[i].pow, elems[i].root);
       }
-    } else
+      rightOrder = ((ProductUnit<?>) right).order; // Same units, same order.
+    } else {
       rightElems = new Element[] { new Element(right, -1, 1) };
-    return getInstance(leftElems, rightElems);
+      rightOrder = SINGLE_ORDER;
+    }
+    return getInstance(leftElems, leftOrder, rightElems, rightOrder);
   }
 
   /**
@@ -178,16 +245,20 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   public static Unit<?> getRootInstance(AbstractUnit<?> unit, int n) {
     Element[] unitElems;
+    int[] unitOrder;
     if (unit instanceof ProductUnit<?>) {
       Element[] elems = ((ProductUnit<?>) unit).elements;
       unitElems = new Element[elems.length];
       for (int i = 0; i < elems.length; i++) {
         int gcd = gcd(Math.abs(elems[i].pow), elems[i].root * n);
-        unitElems[i] = new Element(elems[i].unit, elems[i].pow / gcd, elems[i].root * n / gcd);
+        unitElems[i] = new Element(elems[i].unit, elems[i].hash, elems[i].pow / gcd, elems[i].root * n / gcd);
       }
-    } else
+      unitOrder = ((ProductUnit<?>) unit).order;
+    } else {
       unitElems = new Element[] { new Element(unit, 1, n) };
-    return getInstance(unitElems, new Element[0]);
+      unitOrder = SINGLE_ORDER;
+    }
+    return getInstance(unitElems, unitOrder, NO_ELEMENTS, NO_ORDER);
   }
 
   /**
@@ -201,16 +272,20 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   public static Unit<?> getPowInstance(AbstractUnit<?> unit, int n) {
     Element[] unitElems;
+    int[] unitOrder;
     if (unit instanceof ProductUnit<?>) {
       Element[] elems = ((ProductUnit<?>) unit).elements;
       unitElems = new Element[elems.length];
       for (int i = 0; i < elems.length; i++) {
         int gcd = gcd(Math.abs(elems[i].pow * n), elems[i].root);
-        unitElems[i] = new Element(elems[i].unit, elems[i].pow * n / gcd, elems[i].root / gcd);
+        unitElems[i] = new Element(elems[i].unit, elems[i].hash, elems[i].pow * n / gcd, elems[i].root / gcd);
       }
-    } else
+      unitOrder = ((ProductUnit<?>) unit).order;
+    } else {
       unitElems = new Element[] { new Element(unit, n, 1) };
-    return getInstance(unitElems, new Element[0]);
+      unitOrder = SINGLE_ORDER;
+    }
+    return getInstance(unitElems, unitOrder, NO_ELEMENTS, NO_ORDER);
   }
 
   /**
@@ -263,9 +338,13 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
   @Override
   public Map<Unit<?>, Integer> getBaseUnits() {
-    final Map<Unit<?>, Integer> units = new HashMap<Unit<?>, Integer>();
-    for (int i = 0; i < getUnitCount(); i++) {
-      units.put(getUnit(i), getUnitPow(i));
+    Map<Unit<?>, Integer> units = baseUnits;
+    if (units == null) { // Benign race, the map is immutable.
+      final Map<Unit<?>, Integer> map = new HashMap<Unit<?>, Integer>();
+      for (int i = 0; i < getUnitCount(); i++) {
+        map.put(getUnit(i), getUnitPow(i));
+      }
+      baseUnits = units = Collections.unmodifiableMap(map);
     }
     return units;
   }
@@ -277,24 +356,25 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     if (!(that instanceof ProductUnit<?>))
       return false;
     // Two products are equals if they have the same elements
-    // regardless of the elements' order.
-    Element[] elems = ((ProductUnit<?>) that).elements;
-    if (elements.length != elems.length)
+    // regardless of the elements' order: compares the canonical orders.
+    final ProductUnit<?> thatUnit = (ProductUnit<?>) that;
+    final int n = elements.length;
+    if (n != thatUnit.elements.length)
       return false;
-    for (Element element : elements) {
-      boolean unitFound = false;
-      for (Element elem : elems) {
-        if (element.unit.equals(elem.unit))
-          if ((element.pow != elem.pow) || (element.root != elem.root))
-            return false;
-          else {
-            unitFound = true;
-            break;
-          }
-      }
-      if (!unitFound)
+    for (int k = 0; k < n; k++) {
+      if (elements[order[k]].hash != thatUnit.elements[thatUnit.order[k]].hash)
         return false;
     }
+    for (int k = 0; k < n; k++) {
+      final Element elem = elements[order[k]];
+      final Element thatElem = thatUnit.elements[thatUnit.order[k]];
+      if (elem.unit == thatElem.unit || elem.unit.equals(thatElem.unit)) {
+        if ((elem.pow != thatElem.pow) || (elem.root != thatElem.root))
+          return false;
+      } else if (!containsInRun(thatUnit.elements, thatUnit.order, k, elem)) {
+        return false; // Not found among the elements having the same hash code.
+      }
+    }
     return true;
   }
 
@@ -304,15 +384,22 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
       return this.hashCode;
     int code = 0;
     for (Element element : elements) {
-      code += element.unit.hashCode() * (element.pow * 3 - element.root * 2);
+      code += element.hash * (element.pow * 3 - element.root * 2);
     }
     this.hashCode = code;
     return code;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public AbstractUnit<Q> toSystemUnit() {
+    AbstractUnit<Q> unit = systemUnit;
+    if (unit == null) // Benign race, units are immutable.
+      systemUnit = unit = calculateSystemUnit();
+    return unit;
+  }
+
+  @SuppressWarnings("unchecked")
+  private AbstractUnit<Q> calculateSystemUnit() {
     Unit<?> systemUnit = AbstractUnit.ONE;
     for (Element element : elements) {
       Unit<?> unit = element.unit.getSystemUnit();
@@ -324,6 +411,13 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
   }
 
   public UnitConverter getSystemConverter() {
+    UnitConverter converter = systemConverter;
+    if (converter == null) // Benign race, converters are immutable.
+      systemConverter = converter = calculateSystemConverter();
+    return converter;
+  }
+
+  private UnitConverter calculateSystemConverter() {
     UnitConverter converter = AbstractConverter.IDENTITY;
     for (Element e : elements) {
       @SuppressWarnings("rawtypes")
@@ -349,6 +443,13 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
   @Override
   public Dimension getDimension() {
+    Dimension result = dimension;
+    if (result == null) // Benign race, dimensions are immutable.
+      dimension = result = calculateDimension();
+    return result;
+  }
+
+  private Dimension calculateDimension() {
     Dimension dimension = QuantityDimension.NONE;
     for (int i = 0; i < this.getUnitCount(); i++) {
       Unit<?> unit = this.getUnit(i);
@@ -369,61 +470,120 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    *
    * @param leftElems
    *          left multiplicand elements.
+   * @param leftOrder
+   *          canonical order of the left multiplicand elements.
    * @param rightElems
    *          right multiplicand elements.
+   * @param rightOrder
+   *          canonical order of the right multiplicand elements.
    * @return the corresponding unit.
    */
   @SuppressWarnings("rawtypes")
-  private static Unit<?> getInstance(Element[] leftElems, Element[] rightElems) {
-
-    // Merges left elements with right elements.
-    Element[] result = new Element[leftElems.length + rightElems.length];
-    int resultIndex = 0;
-    for (Element leftElem : leftElems) {
-      Unit<?> unit = leftElem.unit;
-      int p1 = leftElem.pow;
-      int r1 = leftElem.root;
-      int p2 = 0;
-      int r2 = 1;
-      for (Element rightElem : rightElems) {
-        if (unit.equals(rightElem.unit)) {
-          p2 = rightElem.pow;
-          r2 = rightElem.root;
-          break; // No duplicate.
+  private static Unit<?> getInstance(Element[] leftElems, int[] leftOrder, Element[] rightElems, int[] rightOrder) {
+
+    // Merges left elements with right elements, following the canonical orders.
+    // The merged elements are kept by left index, the right elements merged are flagged.
+    final Element[] leftResult = new Element[leftElems.length];
+    final boolean[] rightMerged = new boolean[rightElems.length];
+    final int[] sorted = new int[leftElems.length + rightElems.length]; // Left index i as i, right index j as ~j.
+    int sortedCount = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < leftOrder.length) && (j < rightOrder.length)) {
+      final int leftHash = leftElems[leftOrder[i]].hash;
+      final int rightHash = rightElems[rightOrder[j]].hash;
+      if (leftHash < rightHash) {
+        leftResult[leftOrder[i]] = leftElems[leftOrder[i]];
+        sorted[sortedCount++] = leftOrder[i++];
+      } else if (leftHash > rightHash) {
+        sorted[sortedCount++] = ~rightOrder[j++];
+      } else { // Elements having the same hash code (usually one on each side).
+        int rightEnd = j;
+        while ((rightEnd < rightOrder.length) && (rightElems[rightOrder[rightEnd]].hash == leftHash))
+          rightEnd++;
+        for (; (i < leftOrder.length) && (leftElems[leftOrder[i]].hash == leftHash); i++) {
+          final Element leftElem = leftElems[leftOrder[i]];
+          Element result = leftElem;
+          for (int k = j; k < rightEnd; k++) {
+            final Element rightElem = rightElems[rightOrder[k]];
+            if (leftElem.unit.equals(rightElem.unit)) {
+              rightMerged[rightOrder[k]] = true;
+              int pow = (leftElem.pow * rightElem.root) + (rightElem.pow * leftElem.root);
+              int root = leftElem.root * rightElem.root;
+              if (pow != 0) {
+                int gcd = gcd(Math.abs(pow), root);
+                result = new Element(leftElem.unit, leftElem.hash, pow / gcd, root / gcd);
+              } else {
+                result = null;
+              }
+              break; // No duplicate.
+            }
+          }
+          if (result != null) {
+            leftResult[leftOrder[i]] = result;
+            sorted[sortedCount++] = leftOrder[i];
+          }
         }
-      }
-      int pow = (p1 * r2) + (p2 * r1);
-      int root = r1 * r2;
-      if (pow != 0) {
-        int gcd = gcd(Math.abs(pow), root);
-        result[resultIndex++] = new Element(unit, pow / gcd, root / gcd);
-      }
-    }
-
-    // Appends remaining right elements not merged.
-    for (Element rightElem : rightElems) {
-      Unit<?> unit = rightElem.unit;
-      boolean hasBeenMerged = false;
-      for (Element leftElem : leftElems) {
-        if (unit.equals(leftElem.unit)) {
-          hasBeenMerged = true;
-          break;
+        for (; j < rightEnd; j++) {
+          if (!rightMerged[rightOrder[j]])
+            sorted[sortedCount++] = ~rightOrder[j];
         }
       }
-      if (!hasBeenMerged)
-        result[resultIndex++] = rightElem;
+    }
+    for (; i < leftOrder.length; i++) {
+      leftResult[leftOrder[i]] = leftElems[leftOrder[i]];
+      sorted[sortedCount++] = leftOrder[i];
+    }
+    for (; j < rightOrder.length; j++) {
+      sorted[sortedCount++] = ~rightOrder[j];
     }
 
     // Returns or creates instance.
-    if (resultIndex == 0)
+    if (sortedCount == 0)
       return AbstractUnit.ONE;
-    else if ((resultIndex == 1) && (result[0].pow == result[0].root))
-      return result[0].unit;
-    else {
-      Element[] elems = new Element[resultIndex];
-      System.arraycopy(result, 0, elems, 0, resultIndex);
-      return new ProductUnit(elems);
+    final Element first = (sorted[0] >= 0) ? leftResult[sorted[0]] : rightElems[~sorted[0]];
+    if ((sortedCount == 1) && (first.pow == first.root))
+      return first.unit;
+
+    // Elements order: left elements, then remaining right elements not merged.
+    final Element[] elems = new Element[sortedCount];
+    final int[] leftIndex = new int[leftElems.length];
+    final int[] rightIndex = new int[rightElems.length];
+    int resultIndex = 0;
+    for (int k = 0; k < leftElems.length; k++) {
+      if (leftResult[k] != null) {
+        leftIndex[k] = resultIndex;
+        elems[resultIndex++] = leftResult[k];
+      }
+    }
+    for (int k = 0; k < rightElems.length; k++) {
+      if (!rightMerged[k]) {
+        rightIndex[k] = resultIndex;
+        elems[resultIndex++] = rightElems[k];
+      }
     }
+    final int[] order = new int[sortedCount];
+    for (int k = 0; k < sortedCount; k++) {
+      order[k] = (sorted[k] >= 0) ? leftIndex[sorted[k]] : rightIndex[~sorted[k]];
+    }
+    return intern(new ProductUnit(elems, order));
+  }
+
+  /**
+   * Indicates if the specified element is found (same unit and exponents) among the elements having the same hash code as the element at the
+   * specified canonical position.
+   */
+  private static boolean containsInRun(Element[] elems, int[] order, int position, Element elem) {
+    final int hash = elems[order[position]].hash;
+    int start = position;
+    while ((start > 0) && (elems[order[start - 1]].hash == hash))
+      start--;
+    for (int k = start; (k < order.length) && (elems[order[k]].hash == hash); k++) {
+      final Element e = elems[order[k]];
+      if (e.unit.equals(elem.unit))
+        return (e.pow == elem.pow) && (e.root == elem.root);
+    }
+    return false;
   }
 
   /**
@@ -458,6 +618,11 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     private final Unit<?> unit;
 
+    /**
+     * Holds the hash code of the unit (defines the canonical order).
+     */
+    private final int hash;
+
     /**
      * Holds the power exponent.
      */
@@ -479,7 +644,24 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      *          the root exponent.
      */
     private Element(Unit<?> unit, int pow, int root) {
+      this(unit, unit.hashCode(), pow, root);
+    }
+
+    /**
+     * Structural constructor.
+     *
+     * @param unit
+     *          the unit.
+     * @param hash
+     *          the unit hash code.
+     * @param pow
+     *          the power exponent.
+     * @param root
+     *          the root exponent.
+     */
+    private Element(Unit<?> unit, int hash, int pow, int root) {
       this.unit = unit;
+      this.hash = hash;
       this.pow = pow;
       this.root = root;
     }
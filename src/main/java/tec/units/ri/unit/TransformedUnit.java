@@ -66,7 +66,7 @@ import tec.uom.lib.common.function.UnitConverterSupplier;
  *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 1.0.3, June 9, 2017
+ * @version 1.0.4, October 16, 2026
  * @since 1.0
  */
 public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements UnitConverterSupplier {
@@ -96,6 +96,16 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
    */
   private String symbol;
 
+  /**
+   * Holds the converter to the system unit, lazily calculated.
+   */
+  private volatile UnitConverter systemConverter;
+
+  /**
+   * Holds the hashcode (optimization).
+   */
+  private int hashCode;
+
   /**
    * Creates a transformed unit from the specified parent and system unit. using the parent as symbol
    * 
@@ -174,7 +184,10 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
   @Override
   public UnitConverter getSystemConverter() {
-    return parentUnit.getSystemConverter().concatenate(converter);
+    UnitConverter cvtr = systemConverter;
+    if (cvtr == null) // Benign race, converters are immutable.
+      systemConverter = cvtr = parentUnit.getSystemConverter().concatenate(converter);
+    return cvtr;
   }
 
   @Override
@@ -189,7 +202,10 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
   @Override
   public int hashCode() {
-    return parentUnit.hashCode() + converter.hashCode();
+    int code = hashCode;
+    if (code == 0)
+      hashCode = code = parentUnit.hashCode() + converter.hashCode();
+    return code;
   }
 
   @Override
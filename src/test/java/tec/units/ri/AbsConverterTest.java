@@ -73,4 +73,12 @@ public class AbsConverterTest {
   public void conversionStepsTest() {
     assertNotNull(converter.getConversionSteps());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 1, 2 };
+    double[] result = new double[2];
+    converter.convert(values, 0, result, 0, 2);
+    assertArrayEquals(values, result, 0);
+  }
 }
@@ -32,13 +32,20 @@ package tec.units.ri;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.measure.UnconvertibleException;
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
 import javax.measure.quantity.Mass;
 import javax.measure.quantity.Volume;
 
@@ -46,6 +53,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import tec.units.ri.quantity.QuantityDimension;
+import tec.units.ri.unit.Units;
 
 public class AbsSystemOfUnitsTest {
 
@@ -70,6 +78,17 @@ public class AbsSystemOfUnitsTest {
     assertEquals(6, system.getUnits().size());
   }
 
+  @Test
+  public void testAddSharedUnit() {
+    final Unit<Length> shared = Units.METRE.multiply(0.3048);
+    final Unit<Length> foot = AbstractSystemOfUnits.Helper.addUnit(new HashSet<Unit<?>>(), shared, "Foot", "ft");
+    assertEquals("Foot", foot.getName());
+    assertEquals("ft", foot.getSymbol());
+    assertEquals(shared, foot);
+    assertNull(shared.getName());
+    assertNull(Units.METRE.multiply(0.3048).getSymbol());
+  }
+
   @Test
   public void testGetUnitsForDimension() {
     Set<? extends Unit<?>> units = system.getUnits(QuantityDimension.LENGTH);
@@ -100,4 +119,134 @@ public class AbsSystemOfUnitsTest {
     assertEquals("sb", v.getSymbol());
     assertEquals("sch", v.toString());
   }
+
+  @Test
+  public void testUnitIds() {
+    assertEquals(0, system.getUnitId(TestUnits.FOOT));
+    assertEquals(1, system.getUnitId(TestUnits.YARD));
+    assertEquals(2, system.getUnitId(TestUnits.INCH));
+    assertEquals(-1, system.getUnitId(Units.METRE));
+    for (int id = 0; id < system.getUnits().size(); id++) {
+      assertEquals(id, system.getUnitId(system.getUnitById(id)));
+    }
+    assertSame(TestUnits.TONNE, system.getUnitById(system.getUnitId(TestUnits.TONNE)));
+  }
+
+  @Test
+  public void testConvertById() {
+    int foot = system.getUnitId(TestUnits.FOOT);
+    int yard = system.getUnitId(TestUnits.YARD);
+    int inch = system.getUnitId(TestUnits.INCH);
+    assertEquals(3, system.convert(yard, foot, 1), 1e-12);
+    assertEquals(36, system.convert(yard, inch, 1), 1e-12);
+    assertEquals(2, system.convert(inch, inch, 2), 0);
+    AbstractSystemOfUnits si = (AbstractSystemOfUnits) Units.getInstance();
+    int celsius = si.getUnitId(Units.CELSIUS);
+    int kelvin = si.getUnitId(Units.KELVIN);
+    assertEquals(273.15, si.convert(celsius, kelvin, 0), 1e-12);
+    assertEquals(-273.15, si.convert(kelvin, celsius, 0), 1e-12);
+  }
+
+  @Test
+  public void testBulkConvertById() {
+    int yard = system.getUnitId(TestUnits.YARD);
+    int foot = system.getUnitId(TestUnits.FOOT);
+    double[] values = { 0, 1, 2, 3 };
+    double[] result = new double[5];
+    system.convert(yard, foot, values, 1, result, 2, 3);
+    assertEquals(0, result[1], 0);
+    assertEquals(3, result[2], 1e-12);
+    assertEquals(6, result[3], 1e-12);
+    assertEquals(9, result[4], 1e-12);
+    system.convert(yard, foot, values, 0, values, 1, 3); // overlapping
+    assertEquals(0, values[1], 0);
+    assertEquals(3, values[2], 1e-12);
+    assertEquals(6, values[3], 1e-12);
+  }
+
+  @Test(expected = UnconvertibleException.class)
+  public void testConvertIncompatibleIds() {
+    system.convert(system.getUnitId(TestUnits.FOOT), system.getUnitId(TestUnits.TONNE), 1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testBulkConvertOutOfBounds() {
+    int foot = system.getUnitId(TestUnits.FOOT);
+    system.convert(foot, foot, new double[2], 0, new double[2], 1, 2);
+  }
+
+  @Test
+  public void testGetUnitsForDimensionIndexed() {
+    Set<? extends Unit<?>> units = system.getUnits(QuantityDimension.LENGTH);
+    assertSame(units, system.getUnits(QuantityDimension.LENGTH));
+    assertTrue(units.contains(TestUnits.INCH));
+    assertTrue(system.getUnits(QuantityDimension.TIME).isEmpty());
+    assertSame(units, AbstractSystemOfUnits.Helper.getUnitsOfDimension(system.units, QuantityDimension.LENGTH));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testGetUnitsForDimensionImmutable() {
+    ((Set<?>) system.getUnits(QuantityDimension.LENGTH)).clear();
+  }
+
+  @Test
+  public void testGetUnitsForQuantityType() {
+    Set<? extends Unit<?>> units = Units.getInstance().getUnits(QuantityDimension.TEMPERATURE);
+    assertSame(units, ((AbstractSystemOfUnits) Units.getInstance()).getUnits(Temperature.class));
+    assertTrue(units.contains(Units.CELSIUS));
+    assertTrue(system.getUnits(Temperature.class).isEmpty());
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Test
+  public void testGetUnitNullType() {
+    assertNull(system.getUnit((Class) null));
+    assertTrue(system.getUnits((Class) null).isEmpty());
+  }
+
+  @Test
+  public void testIndexUpdatedOnAdd() {
+    AbstractSystemOfUnits local = new AbstractSystemOfUnits() {
+      @Override
+      public String getName() {
+        return "Local";
+      }
+    };
+    local.units.add(Units.METRE);
+    Set<? extends Unit<?>> before = local.getUnits(QuantityDimension.LENGTH);
+    assertEquals(1, before.size());
+    assertEquals(0, local.getUnitId(Units.METRE));
+    local.units.add(TestUnits.FOOT);
+    assertEquals(1, before.size());
+    assertEquals(2, local.getUnits(QuantityDimension.LENGTH).size());
+    assertEquals(0.3048, local.convert(local.getUnitId(TestUnits.FOOT), 0, 1), 1e-12);
+    local.units.remove(Units.METRE);
+    assertEquals(1, local.getUnits(QuantityDimension.LENGTH).size());
+    assertEquals(0, local.getUnitId(TestUnits.FOOT));
+    local.units.clear();
+    assertTrue(local.getUnits(QuantityDimension.LENGTH).isEmpty());
+  }
+
+  @Test
+  public void testIndexUpdatedOnIteratorRemove() {
+    AbstractSystemOfUnits local = new AbstractSystemOfUnits() {
+      @Override
+      public String getName() {
+        return "Local";
+      }
+    };
+    local.units.add(Units.METRE);
+    local.units.add(TestUnits.FOOT);
+    local.units.add(Units.SECOND);
+    assertEquals(1, local.getUnitId(TestUnits.FOOT));
+    Iterator<Unit<?>> it = local.units.iterator();
+    it.next();
+    it.remove();
+    assertEquals(1, local.getUnits(QuantityDimension.LENGTH).size());
+    assertEquals(0, local.getUnitId(TestUnits.FOOT));
+    assertEquals(1, local.getUnitId(Units.SECOND));
+    local.units.retainAll(Collections.singleton(Units.SECOND));
+    assertTrue(local.getUnits(QuantityDimension.LENGTH).isEmpty());
+    assertEquals(0, local.getUnitId(Units.SECOND));
+  }
 }
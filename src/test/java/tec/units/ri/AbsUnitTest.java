@@ -31,6 +31,7 @@ package tec.units.ri;
 
 import static org.junit.Assert.*;
 
+import javax.measure.UnitConverter;
 import javax.measure.quantity.Length;
 import javax.measure.quantity.Temperature;
 
@@ -39,6 +40,8 @@ import org.junit.Test;
 
 import tec.units.ri.AbstractUnit;
 import tec.units.ri.unit.BaseUnit;
+import tec.units.ri.unit.MetricPrefix;
+import tec.units.ri.unit.ProductUnit;
 import tec.units.ri.unit.Units;
 
 public class AbsUnitTest {
@@ -85,4 +88,56 @@ public class AbsUnitTest {
     final AbstractUnit<Temperature> cel = (AbstractUnit<Temperature>) Units.CELSIUS;
     assertEquals(-1, cel.compareTo(Units.KELVIN));
   }
+
+  @Test
+  public void testConverterCache() {
+    final UnitConverter first = MetricPrefix.KILO(Units.METRE).getConverterTo(MetricPrefix.MILLI(Units.METRE));
+    final long hits = AbstractUnit.getConverterCacheStatistics().getHitCount();
+    final UnitConverter second = MetricPrefix.KILO(Units.METRE).getConverterTo(MetricPrefix.MILLI(Units.METRE));
+    assertSame(first, second);
+    assertEquals(hits + 1, AbstractUnit.getConverterCacheStatistics().getHitCount());
+    assertEquals(1000000d, second.convert(1d), 0d);
+  }
+
+  @Test
+  public void testConverterCacheAny() throws Exception {
+    final UnitConverter first = Units.JOULE.getConverterToAny(Units.WATT.multiply(Units.HOUR));
+    assertSame(first, Units.JOULE.getConverterToAny(Units.WATT.multiply(Units.HOUR)));
+    assertEquals(1d, first.convert(3600d), 1e-12);
+  }
+
+  @Test
+  public void testPowMatchesRepeatedProduct() {
+    final AbstractUnit<?> km = (AbstractUnit<?>) MetricPrefix.KILO(Units.METRE);
+    assertSame(km, km.pow(1));
+    assertSame(AbstractUnit.ONE, km.pow(0));
+    assertEquals(km.multiply(km).multiply(km), km.pow(3));
+    assertEquals(AbstractUnit.ONE.divide(km.multiply(km)), km.pow(-2));
+    assertEquals(Units.SQUARE_METRE, Units.METRE.pow(2));
+    assertEquals(Units.METRE, ((AbstractUnit<?>) Units.SQUARE_METRE).root(2));
+    assertEquals(Units.METRE.inverse(), ((AbstractUnit<?>) Units.SQUARE_METRE).root(-2));
+  }
+
+  @Test
+  public void testOperationCache() {
+    final AbstractUnit<?> mg = (AbstractUnit<?>) MetricPrefix.MILLI(Units.GRAM);
+    final Object cube = mg.pow(3);
+    final long hits = AbstractUnit.getOperationCacheStatistics().getHitCount();
+    assertSame(cube, mg.pow(3));
+    assertEquals(hits + 1, AbstractUnit.getOperationCacheStatistics().getHitCount());
+    final Object product = mg.multiply(Units.SECOND);
+    assertSame(product, mg.multiply(Units.SECOND));
+    assertEquals(hits + 2, AbstractUnit.getOperationCacheStatistics().getHitCount());
+  }
+
+  @Test
+  public void testOperationCacheKeepsElementsOrder() {
+    final AbstractUnit<?> kgm = (AbstractUnit<?>) Units.KILOGRAM.multiply(Units.METRE);
+    final AbstractUnit<?> mkg = (AbstractUnit<?>) Units.METRE.multiply(Units.KILOGRAM);
+    final ProductUnit<?> kgms = (ProductUnit<?>) kgm.pow(2);
+    final ProductUnit<?> mkgs = (ProductUnit<?>) mkg.pow(2);
+    assertEquals(kgms, mkgs);
+    assertEquals(Units.KILOGRAM, kgms.getUnit(0));
+    assertEquals(Units.METRE, mkgs.getUnit(0));
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.MetricPrefix.MICRO;
+import static tec.units.ri.unit.Units.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.quantity.Quantities;
+
+/**
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ *
+ */
+public class QuantityCursorTest {
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private QuantityCursor cursor;
+
+  @Before
+  public void init() {
+    cursor = new QuantityCursor();
+  }
+
+  @Test
+  public void testParseCharSequence() {
+    assertEquals(9, cursor.parse("12.5 km/h"));
+    assertEquals(12.5, cursor.getValue(), 0);
+    assertEquals(KILO(METRE).divide(HOUR), cursor.getUnit());
+    assertEquals(9, cursor.getIndex());
+    assertEquals(Quantities.getQuantity(12.5, KILO(METRE).divide(HOUR)), cursor.toQuantity());
+  }
+
+  @Test
+  public void testParseRange() {
+    String line = "a,  -3e2 kg  ,b";
+    assertEquals(11, cursor.parse(line, 2, 13));
+    assertEquals(-300, cursor.getValue(), 0);
+    assertEquals(KILOGRAM, cursor.getUnit());
+  }
+
+  @Test
+  public void testParseWithoutUnit() {
+    assertEquals(3, cursor.parse(" 42 "));
+    assertEquals(42, cursor.getValue(), 0);
+    assertEquals(AbstractUnit.ONE, cursor.getUnit());
+  }
+
+  @Test
+  public void testParseCharArray() {
+    char[] chars = "x 1.5 m·s y".toCharArray();
+    assertEquals(9, cursor.parse(chars, 1, 10));
+    assertEquals(1.5, cursor.getValue(), 0);
+    assertEquals(METRE.multiply(SECOND), cursor.getUnit());
+  }
+
+  @Test
+  public void testParseByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap("5 µg 20 ℃\n7 W".getBytes(UTF8));
+    cursor.parse(buffer);
+    assertEquals(5, cursor.getValue(), 0);
+    assertEquals(KILOGRAM.transform(MICRO(GRAM).getConverterTo(KILOGRAM)), cursor.getUnit());
+    cursor.parse(buffer);
+    assertEquals(20, cursor.getValue(), 0);
+    assertEquals(CELSIUS, cursor.getUnit());
+    assertEquals(cursor.getIndex(), buffer.position());
+    cursor.parse(buffer);
+    assertEquals(7, cursor.getValue(), 0);
+    assertEquals(WATT, cursor.getUnit());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testParseByteBufferRange() {
+    ByteBuffer buffer = ByteBuffer.wrap("1 m;2.25 km;3 s".getBytes(UTF8));
+    assertEquals(11, cursor.parse(buffer, 4, 11));
+    assertEquals(2.25, cursor.getValue(), 0);
+    assertEquals(KILO(METRE), cursor.getUnit());
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void testUnitsReused() {
+    cursor.parse("1 kW·h");
+    Unit<?> unit = cursor.getUnit();
+    cursor.parse("2 kW·h");
+    assertSame(unit, cursor.getUnit());
+  }
+
+  @Test
+  public void testUnitsResetByAlias() {
+    try {
+      cursor.parse("1 cursortest");
+      fail();
+    } catch (ParserException e) {
+      assertEquals(2, e.getPosition());
+    }
+    SimpleUnitFormat.getInstance().alias(METRE.multiply(5), "cursortest");
+    cursor.parse("1 cursortest");
+    assertEquals(METRE.multiply(5), cursor.getUnit());
+  }
+
+  @Test
+  public void testInvalidNumber() {
+    try {
+      cursor.parse("  1.2.3 m");
+      fail();
+    } catch (ParserException e) {
+      assertEquals(2, e.getPosition());
+    }
+    try {
+      cursor.parse(ByteBuffer.wrap(" x m".getBytes(UTF8)));
+      fail();
+    } catch (ParserException e) {
+      assertEquals(1, e.getPosition());
+    }
+  }
+
+  @Test(expected = ParserException.class)
+  public void testMissingNumber() {
+    cursor.parse("   ");
+  }
+
+  @Test(expected = ParserException.class)
+  public void testInvalidUTF8() {
+    cursor.parse(ByteBuffer.wrap(new byte[] { '1', ' ', (byte) 0xC2, 'm' }));
+  }
+
+  @Test
+  public void testParseDouble() {
+    String[] texts = { "0", "-0", "+1", "1.", ".5", "0.1", "123456789012345678", "1234567890123456789", "0.000001234", "1e22", "1e23", "-2.5E-3",
+        "1e-400", "1e400", "4.9e-324", "NaN", "-Infinity", "1.0f", "9007199254740993" };
+    for (String text : texts) {
+      assertEquals(text, Double.doubleToLongBits(Double.parseDouble(text)),
+          Double.doubleToLongBits(QuantityCursor.parseDouble(text, 0, text.length())));
+    }
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      String text = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+      assertEquals(text, Double.parseDouble(text), QuantityCursor.parseDouble(text, 0, text.length()), 0);
+      text = Long.toString(random.nextLong() % 100000000) + "." + random.nextInt(1000);
+      assertEquals(text, Double.parseDouble(text), QuantityCursor.parseDouble(text, 0, text.length()), 0);
+    }
+  }
+
+  @Test
+  public void testParseDoubleInvalid() {
+    String[] texts = { "", "-", ".", "e5", "1e", "1e+", "1x", "--1" };
+    for (String text : texts) {
+      try {
+        QuantityCursor.parseDouble(text, 0, text.length());
+        fail(text);
+      } catch (NumberFormatException e) {
+        // Expected.
+      }
+    }
+  }
+}
@@ -110,4 +110,26 @@ public class QuantityFormatTest {
       fail(e.getMessage());
     }
   }
+
+  @Test
+  public void testParseCachedUnit() {
+    Quantity<?> first = format.parse("12 kW");
+    Quantity<?> second = format.parse("3.5 kW");
+    assertSame(first.getUnit(), second.getUnit());
+    assertEquals(KILO(WATT), second.getUnit());
+    assertEquals(3.5, second.getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void testParseCachedFailurePosition() {
+    for (int i = 0; i < 2; i++) {
+      try {
+        format.parse("12 kW/#");
+        fail();
+      } catch (ParserException e) {
+        assertEquals("12 kW/#", e.getParsedString());
+        assertTrue(e.getPosition() >= 3);
+      }
+    }
+  }
 }
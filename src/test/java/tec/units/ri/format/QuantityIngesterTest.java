@@ -0,0 +1,160 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.format;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import tec.units.ri.AbstractUnit;
+
+/**
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ *
+ */
+public class QuantityIngesterTest {
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @AfterClass
+  public static void shutdown() {
+    POOL.shutdown();
+  }
+
+  @Test
+  public void testIngestBuffer() {
+    String text = "energy,temperature\r\n1.5 kW·h,20 ℃\r\n\r\n2500 W·h,293.15 K\r\n3,21\r\n";
+    QuantityIngester.Result result = QuantityIngester.of(KILO(WATT).multiply(HOUR), CELSIUS).withHeaderLines(1)
+        .ingest(ByteBuffer.wrap(text.getBytes(UTF8)));
+    assertEquals(3, result.size());
+    assertEquals(2, result.getColumnCount());
+    assertEquals(CELSIUS, result.getUnit(1));
+    assertArrayEquals(new double[] { 1.5, 2.5, 3 }, result.getColumn(0), 1e-12);
+    assertArrayEquals(new double[] { 20, 20, 21 }, result.getColumn(1), 1e-9);
+    assertEquals(5, result.getLineCount());
+    assertEquals(0, result.getErrorCount());
+    assertTrue(result.getErrors().isEmpty());
+  }
+
+  @Test
+  public void testErrors() {
+    String text = "1 m;2 s\n3 m\n4 kg;5 s\n6 m;7 s;8 s\nx m;9 s\n10 km;11 min\n12 m;13 s junk\n";
+    ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(UTF8));
+    QuantityIngester.Result result = QuantityIngester.of(METRE, SECOND).withDelimiter(';').ingest(buffer);
+    assertEquals(0, buffer.position());
+    assertArrayEquals(new double[] { 1, 10000 }, result.getColumn(0), 0);
+    assertArrayEquals(new double[] { 2, 660 }, result.getColumn(1), 0);
+    assertEquals(7, result.getLineCount());
+    assertEquals(5, result.getErrorCount());
+    assertEquals(5, result.getErrors().size());
+    QuantityIngester.LineError error = result.getErrors().get(0);
+    assertEquals(2, error.getLineNumber());
+    assertEquals(8, error.getOffset());
+    assertEquals("3 m", error.getLine());
+    assertEquals(3, result.getErrors().get(1).getLineNumber());
+    assertEquals(4, result.getErrors().get(2).getLineNumber());
+    assertEquals(5, result.getErrors().get(3).getLineNumber());
+    assertEquals(7, result.getErrors().get(4).getLineNumber());
+  }
+
+  @Test
+  public void testIngestFileInParallel() throws IOException {
+    File file = folder.newFile("meters.csv");
+    StringBuilder sb = new StringBuilder("id,length\n");
+    int n = 50000;
+    for (int i = 0; i < n; i++) {
+      if (i % 1000 == 999)
+        sb.append(i).append(",bad\n");
+      else
+        sb.append(i).append(',').append(i).append(i % 2 == 0 ? " m\n" : " cm\n");
+    }
+    Files.write(file.toPath(), sb.toString().getBytes(UTF8));
+    QuantityIngester ingester = QuantityIngester.of(AbstractUnit.ONE, METRE).withHeaderLines(1);
+    QuantityIngester.Result result = ingester.ingest(file.toPath(), POOL);
+    checkFile(result, n);
+    checkFile(ingester.ingest(file.toPath(), POOL, 100000), n);
+  }
+
+  private static void checkFile(QuantityIngester.Result result, int n) {
+    assertEquals(n + 1, result.getLineCount());
+    assertEquals(n / 1000, result.getErrorCount());
+    assertEquals(n - n / 1000, result.size());
+    double[] ids = result.getColumn(0);
+    double[] lengths = result.getColumn(1);
+    int row = 0;
+    for (int i = 0; i < n; i++) {
+      if (i % 1000 == 999)
+        continue;
+      assertEquals(i, ids[row], 0);
+      assertEquals((i % 2 == 0) ? i : i / 100.0, lengths[row], 1e-9);
+      row++;
+    }
+    for (int k = 0; k < result.getErrors().size(); k++) {
+      QuantityIngester.LineError error = result.getErrors().get(k);
+      assertEquals(1000 * k + 1001, error.getLineNumber());
+      assertEquals((1000 * k + 999) + ",bad", error.getLine());
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    File file = folder.newFile("empty.csv");
+    QuantityIngester.Result result = QuantityIngester.of(METRE).withHeaderLines(2).ingest(file.toPath());
+    assertEquals(0, result.size());
+    assertEquals(0, result.getColumn(0).length);
+    assertEquals(0, result.getLineCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoColumn() {
+    QuantityIngester.of();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDelimiter() {
+    QuantityIngester.of(METRE).withDelimiter(' ');
+  }
+}
@@ -34,8 +34,12 @@ import static tec.units.ri.unit.MetricPrefix.*;
 import static tec.units.ri.unit.Units.GRAM;
 import static tec.units.ri.unit.Units.HERTZ;
 import static tec.units.ri.unit.Units.KILOGRAM;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.OHM;
+import static tec.units.ri.unit.Units.CELSIUS;
 
 import javax.measure.Unit;
+import javax.measure.format.ParserException;
 import javax.measure.quantity.Frequency;
 import javax.measure.quantity.Mass;
 import javax.measure.quantity.Speed;
@@ -43,7 +47,10 @@ import javax.measure.quantity.Speed;
 import org.junit.Before;
 import org.junit.Test;
 
+import tec.units.ri.AbstractUnit;
+import tec.units.ri.CacheStatistics;
 import tec.units.ri.format.SimpleUnitFormat;
+import tec.units.ri.unit.MetricPrefix;
 import tec.units.ri.unit.Units;
 
 /**
@@ -107,4 +114,140 @@ public class SimpleFormatTest {
     String s = fmt.format(hz);
     assertEquals("kHz", s);
   }
+
+  @Test
+  public void testParsePrefixed() {
+    assertEquals(KILO(OHM), fmt.parse("k\u03a9"));
+    assertEquals(KILO(OHM), fmt.parse("kOhm"));
+    assertEquals(KILOGRAM.transform(MICRO.getConverter().concatenate(MILLI.getConverter())), fmt.parse("\u00b5g"));
+    assertEquals(GIGA(HERTZ), fmt.parse("GHz"));
+    assertEquals(MILLI(CELSIUS), fmt.parse("m\u00b0C"));
+    assertEquals(DEKA(METRE), fmt.parse("dam"));
+    assertEquals(KILO(METRE).multiply(KILO(METRE)), fmt.parse("km\u00b2"));
+    assertEquals(MEGA(HERTZ).divide(KILOGRAM.transform(MICRO.getConverter())), fmt.parse("MHz/mg"));
+  }
+
+  @Test
+  public void testParseFormattedPrefixedUnits() {
+    Unit<?>[] units = { METRE, HERTZ, OHM, CELSIUS };
+    for (MetricPrefix prefix : MetricPrefix.values()) {
+      for (Unit<?> unit : units) {
+        Unit<?> prefixed = unit.transform(prefix.getConverter());
+        assertEquals(prefixed, fmt.parse(fmt.format(prefixed)));
+      }
+      if (prefix != KILO) { // Grams are defined from kilograms.
+        Unit<?> grams = KILOGRAM.transform(prefix.getConverter().concatenate(MILLI.getConverter()));
+        assertEquals(grams, fmt.parse(fmt.format(grams)));
+      }
+    }
+  }
+
+  @Test(expected = ParserException.class)
+  public void testParseUnknownPrefixedSymbol() {
+    fmt.parse("kfoo");
+  }
+
+  @Test
+  public void testParseLabel() {
+    assertEquals(KILOGRAM, fmt.parse("kg"));
+    assertEquals(Units.MINUTE, fmt.parse("min"));
+  }
+
+  @Test
+  public void testParseCache() {
+    Unit<?> first = fmt.parse("kW\u00b7h");
+    long hits = fmt.getParseCacheStatistics().getHitCount();
+    assertSame(first, AbstractUnit.parse("kW\u00b7h"));
+    assertEquals(hits + 1, fmt.getParseCacheStatistics().getHitCount());
+    assertEquals(KILO(Units.WATT).multiply(Units.HOUR), first);
+  }
+
+  @Test
+  public void testParseCacheFailure() {
+    ParserException first = null;
+    try {
+      fmt.parse("kW/#");
+      fail();
+    } catch (ParserException e) {
+      first = e;
+    }
+    try {
+      fmt.parse("kW/#");
+      fail();
+    } catch (ParserException e) {
+      assertSame(first, e);
+    }
+  }
+
+  @Test
+  public void testParseCacheInvalidatedByAlias() {
+    try {
+      fmt.parse("parsecachetest");
+      fail();
+    } catch (ParserException e) {
+      // Not an alias yet.
+    }
+    fmt.alias(METRE.multiply(3), "parsecachetest");
+    assertEquals(METRE.multiply(3), fmt.parse("parsecachetest"));
+  }
+
+  @Test
+  public void testParseCacheDisabled() {
+    fmt.setParseCacheEnabled(false);
+    try {
+      assertFalse(fmt.isParseCacheEnabled());
+      CacheStatistics before = fmt.getParseCacheStatistics();
+      assertEquals(0, before.getSize());
+      assertEquals(GIGA(HERTZ), fmt.parse("GHz"));
+      assertEquals(GIGA(HERTZ), fmt.parse("GHz"));
+      CacheStatistics after = fmt.getParseCacheStatistics();
+      assertEquals(before.getHitCount(), after.getHitCount());
+      assertEquals(before.getMissCount(), after.getMissCount());
+    } finally {
+      fmt.setParseCacheEnabled(true);
+    }
+    assertTrue(fmt.isParseCacheEnabled());
+  }
+
+  @Test
+  public void testFormatCache() {
+    Unit<?> unit = KILO(Units.WATT).multiply(Units.HOUR).divide(Units.SECOND);
+    String first = fmt.format(unit);
+    long hits = fmt.getFormatCacheStatistics().getHitCount();
+    assertSame(first, fmt.format(unit));
+    assertSame(first, unit.toString());
+    assertEquals(hits + 2, fmt.getFormatCacheStatistics().getHitCount());
+    assertEquals("kW\u00b7h/s", first);
+  }
+
+  @Test
+  public void testFormatCacheFlavors() {
+    Unit<?> unit = METRE.multiply(Units.SECOND);
+    SimpleUnitFormat ascii = SimpleUnitFormat.getInstance(SimpleUnitFormat.Flavor.ASCII);
+    assertEquals("m\u00b7s", fmt.format(unit));
+    assertEquals("m*s", ascii.format(unit));
+    assertEquals("m\u00b7s", fmt.format(unit));
+    assertEquals("m*s", ascii.format(unit));
+  }
+
+  @Test
+  public void testFormatCacheInvalidatedByLabel() {
+    Unit<?> unit = METRE.multiply(7).divide(Units.SECOND);
+    SimpleUnitFormat ascii = SimpleUnitFormat.getInstance(SimpleUnitFormat.Flavor.ASCII);
+    String before = fmt.format(unit);
+    String asciiBefore = ascii.format(unit);
+    fmt.label(unit, "formatcachetest");
+    assertFalse("formatcachetest".equals(before));
+    assertFalse("formatcachetest".equals(asciiBefore));
+    assertEquals("formatcachetest", fmt.format(unit));
+    assertEquals("formatcachetest", ascii.format(unit));
+  }
+
+  @Test
+  public void testFormatKeepsElementsOrder() {
+    assertEquals("s·m", fmt.format(Units.SECOND.multiply(METRE)));
+    assertEquals("m·s", fmt.format(METRE.multiply(Units.SECOND)));
+    assertEquals("kg·m", AbstractUnit.parse("kg*m").toString());
+    assertEquals("m·kg", METRE.multiply(KILOGRAM).toString());
+  }
 }
@@ -84,4 +84,14 @@ public class AddConverterTest {
   public void conversionStepsTest() {
     assertNotNull(converter.getConversionSteps());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 0, 1, 2 };
+    double[] result = new double[4];
+    converter.convert(values, 0, result, 1, 3);
+    assertArrayEquals(new double[] { 0, 10, 11, 12 }, result, 0);
+    converter.convert(values);
+    assertArrayEquals(new double[] { 10, 11, 12 }, values, 0);
+  }
 }
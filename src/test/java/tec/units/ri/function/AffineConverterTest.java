@@ -0,0 +1,139 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import static org.junit.Assert.*;
+
+import javax.measure.UnitConverter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.unit.MetricPrefix;
+import tec.units.ri.unit.Units;
+
+public class AffineConverterTest {
+
+  private UnitConverter converter;
+
+  @Before
+  public void setUp() throws Exception {
+    converter = new AddConverter(10).concatenate(new MultiplyConverter(2)).concatenate(new RationalConverter(3, 1));
+  }
+
+  @Test
+  public void testFolding() {
+    assertTrue(converter instanceof AffineConverter);
+    AffineConverter affine = (AffineConverter) converter;
+    assertEquals(6, affine.getFactor(), 0);
+    assertEquals(10, affine.getOffset(), 0);
+  }
+
+  @Test
+  public void testConvertMethod() {
+    assertEquals(70, converter.convert(10), 0);
+    assertEquals(10, converter.convert(0), 0);
+  }
+
+  @Test
+  public void testConversionSteps() {
+    assertEquals(3, converter.getConversionSteps().size());
+    assertEquals(new AddConverter(10), converter.getConversionSteps().get(0));
+    assertEquals(new MultiplyConverter(2), converter.getConversionSteps().get(1));
+    assertEquals(new RationalConverter(3, 1), converter.getConversionSteps().get(2));
+  }
+
+  @Test
+  public void inverseTest() {
+    assertEquals(10, converter.inverse().convert(70), 1E-12);
+    assertEquals(3, converter.inverse().getConversionSteps().size());
+    assertEquals(new AddConverter(-10), converter.inverse().getConversionSteps().get(2));
+  }
+
+  @Test
+  public void identityTest() {
+    assertEquals(AbstractConverter.IDENTITY, new MultiplyConverter(2).concatenate(new RationalConverter(1, 2)));
+  }
+
+  @Test
+  public void isLinearTest() {
+    assertFalse(converter.isLinear());
+    assertTrue(new PiMultiplierConverter().concatenate(new RationalConverter(1, 2)).isLinear());
+  }
+
+  @Test
+  public void testPairFolding() {
+    UnitConverter log = new LogConverter(10);
+    UnitConverter pair = log.concatenate(new MultiplyConverter(2)).concatenate(new AddConverter(1));
+    assertTrue(pair instanceof AbstractConverter.Pair);
+    assertTrue(((AbstractConverter.Pair) pair).getRight() instanceof AffineConverter);
+    assertEquals(3, pair.getConversionSteps().size());
+    assertEquals(log.convert(6), pair.convert(2), 1E-12);
+  }
+
+  @Test
+  public void testConverterTo() {
+    UnitConverter cvtr = Units.CELSIUS.getConverterTo(MetricPrefix.MILLI(Units.KELVIN));
+    assertTrue(cvtr instanceof AffineConverter);
+    assertEquals(273150, cvtr.convert(0), 1E-9);
+  }
+
+  @Test
+  public void testEquality() {
+    assertEquals(new AddConverter(5).concatenate(new MultiplyConverter(2)), new AddConverter(5).concatenate(new MultiplyConverter(2)));
+    assertNotEquals(new AddConverter(5).concatenate(new MultiplyConverter(2)), new MultiplyConverter(2).concatenate(new AddConverter(5)));
+  }
+
+  @Test
+  public void testNegativeZeroOffset() {
+    AffineConverter inverse = ((AffineConverter) AffineConverter.of(new MultiplyConverter(2), new MultiplyConverter(4))).inverse();
+    AbstractConverter direct = AffineConverter.of(new MultiplyConverter(0.5), new MultiplyConverter(0.25));
+    assertEquals(direct, inverse);
+    assertEquals(direct.hashCode(), inverse.hashCode());
+    assertEquals(0, Double.doubleToLongBits(inverse.getOffset()));
+  }
+
+  @Test
+  public void toStringTest() {
+    assertEquals("AffineConverter(6.0,10.0)", converter.toString());
+  }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 0, 10 };
+    ((AffineConverter) converter).convert(values);
+    assertArrayEquals(new double[] { 10, 70 }, values, 0);
+    double[] result = new double[2];
+    UnitConverter pair = new LogConverter(10).concatenate(new MultiplyConverter(2)).concatenate(new AddConverter(1));
+    ((AbstractConverter) pair).convert(new double[] { 2, 4 }, 0, result, 0, 2);
+    assertArrayEquals(new double[] { 0.7781512503836436, 1 }, result, 1E-12);
+  }
+}
@@ -29,6 +29,7 @@
  */
 package tec.units.ri.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
@@ -80,4 +81,11 @@ public class ExpConverterTest {
     assertEquals(new LogConverter(10.), expConverterBase10.inverse());
     assertEquals(new LogConverter(Math.E), expConverter.inverse());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 0, 1, 3 };
+    expConverterBase10.convert(values);
+    assertArrayEquals(new double[] { 1, 10, 1000 }, values, 1E-9);
+  }
 }
@@ -29,6 +29,7 @@
  */
 package tec.units.ri.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
@@ -80,4 +81,12 @@ public class LogConverterTest {
     assertEquals(new ExpConverter(10.), logConverterBase10.inverse());
     assertEquals(new ExpConverter(Math.E), logConverter.inverse());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 1, 10, 1000 };
+    double[] result = new double[3];
+    logConverterBase10.convert(values, 0, result, 0, 3);
+    assertArrayEquals(new double[] { 0, 1, 3 }, result, 1E-12);
+  }
 }
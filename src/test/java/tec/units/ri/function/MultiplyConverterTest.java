@@ -88,4 +88,16 @@ public class MultiplyConverterTest {
   public void toStringTest() {
     assertEquals("MultiplyConverter(2.0)", converter.toString());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 1, 2, 3, 4 };
+    converter.convert(values, 0, values, 1, 3); // Overlapping ranges.
+    assertArrayEquals(new double[] { 1, 2, 4, 6 }, values, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void bulkConvertOutOfBoundsTest() {
+    converter.convert(new double[2], 1, new double[2], 0, 2);
+  }
 }
@@ -29,6 +29,7 @@
  */
 package tec.units.ri.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Assert;
@@ -65,4 +66,11 @@ public class PiDivisorConverterTest {
   public void isLinearOfLogConverterTest() {
     assertTrue(converter.isLinear());
   }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 0, Math.PI, -2 * Math.PI };
+    converter.convert(values);
+    assertArrayEquals(new double[] { 0, 1, -2 }, values, 1E-12);
+  }
 }
@@ -29,6 +29,7 @@
  */
 package tec.units.ri.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -80,4 +81,11 @@ public class PiMultiplierConverterTest {
   // Quantity sut = Quantities.getQuantity(BigDecimal.ONE, Units.DEGREE_ANGLE ).to( Units.RADIAN );
   // assertNotNull(sut);
   // }
+
+  @Test
+  public void bulkConvertTest() {
+    double[] values = { 0, 1, -2 };
+    piMultiplierConverter.convert(values);
+    assertArrayEquals(new double[] { 0, Math.PI, -2 * Math.PI }, values, 1E-12);
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.function;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+import javax.measure.UnitConverter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tec.units.ri.AbstractConverter;
+
+public class RationalConverterTest {
+
+  private RationalConverter converter;
+
+  @Before
+  public void setUp() {
+    converter = new RationalConverter(3, 4);
+  }
+
+  @Test
+  public void testConvert() {
+    assertEquals(75d, converter.convert(100d), 0d);
+    assertEquals(0.75, converter.getAsDouble(), 0d);
+  }
+
+  @Test
+  public void testReduced() {
+    assertEquals(converter, new RationalConverter(6, 8));
+    assertEquals(converter.hashCode(), new RationalConverter(6, 8).hashCode());
+    assertEquals(converter, new RationalConverter(0.75, 1));
+    assertEquals("RationalConverter(3,4)", new RationalConverter(6, 8).toString());
+  }
+
+  @Test
+  public void testConcatenate() {
+    assertEquals(RationalConverter.of(9, 16), converter.concatenate(converter));
+    assertEquals(AbstractConverter.IDENTITY, converter.concatenate(converter.inverse()));
+    assertEquals(RationalConverter.of(-4, 3), RationalConverter.of(-3, 4).inverse());
+  }
+
+  @Test
+  public void testBigIntegerFallback() {
+    final RationalConverter big = RationalConverter.of(Long.MAX_VALUE, 1);
+    final UnitConverter square = big.concatenate(big);
+    assertTrue(square instanceof RationalConverter);
+    assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), ((RationalConverter) square).getExactDividend());
+    // Back to long representation once reduced.
+    assertEquals(big, square.concatenate(big.inverse()));
+    assertEquals(AbstractConverter.IDENTITY, square.concatenate(big.inverse()).concatenate(big.inverse()));
+  }
+
+  @Test
+  public void testDecimalDoubles() {
+    final RationalConverter yotta = new RationalConverter(1E24, 1);
+    assertEquals(BigInteger.TEN.pow(24), yotta.getExactDividend());
+    assertEquals(1E24, yotta.getDividend(), 0d);
+    assertEquals(BigInteger.ONE, yotta.getExactDivisor());
+  }
+
+  @Test
+  public void testConvertExact() {
+    assertEquals(7, converter.convertExact(10)); // 7.5 truncated.
+    assertEquals(-7, converter.convertExact(-10));
+    assertEquals(Long.MAX_VALUE / 4 * 3, converter.convertExact(Long.MAX_VALUE / 4 * 4));
+    assertEquals(3000, RationalConverter.of(1000, 1).convertExact(3));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testConvertExactOverflow() {
+    RationalConverter.of(1000, 1).convertExact(Long.MAX_VALUE / 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDivisor() {
+    new RationalConverter(1, -2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIdentity() {
+    new RationalConverter(2, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotFinite() {
+    new RationalConverter(Double.NaN, 1);
+  }
+}
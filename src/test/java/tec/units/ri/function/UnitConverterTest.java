@@ -81,4 +81,10 @@ public class UnitConverterTest {
     assertEquals(0d, sut.getValue());
   }
 
+  @Test
+  public void testBulkRational() {
+    double[] values = { 1, 2, 3 };
+    ((RationalConverter) sourceUnit.getConverterTo(targetUnit)).convert(values);
+    assertArrayEquals(new double[] { 100, 200, 300 }, values, 0);
+  }
 }
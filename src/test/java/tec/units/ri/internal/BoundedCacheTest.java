@@ -0,0 +1,121 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tec.units.ri.CacheStatistics;
+
+public class BoundedCacheTest {
+  private BoundedCache<String, Integer> cache;
+
+  @Before
+  public void setUp() {
+    cache = new BoundedCache<String, Integer>(4);
+  }
+
+  @Test
+  public void testGetAndPut() {
+    assertNull(cache.get("a"));
+    assertEquals(Integer.valueOf(1), cache.putIfAbsent("a", 1));
+    assertEquals(Integer.valueOf(1), cache.putIfAbsent("a", 2));
+    assertEquals(Integer.valueOf(1), cache.get("a"));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testEviction() {
+    for (int i = 0; i < 4; i++) {
+      cache.putIfAbsent("k" + i, i);
+    }
+    cache.get("k0"); // Referenced, gets a second chance.
+    cache.putIfAbsent("k4", 4);
+    assertEquals(4, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(Integer.valueOf(0), cache.get("k0"));
+  }
+
+  @Test
+  public void testBounded() {
+    for (int i = 0; i < 100; i++) {
+      cache.putIfAbsent("k" + i, i);
+      cache.get("k" + i);
+    }
+    assertTrue(cache.size() <= cache.getMaximumSize());
+    assertEquals(96, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testRemove() {
+    final Integer value = cache.putIfAbsent("a", 1);
+    assertFalse(cache.remove("a", 2));
+    assertFalse(cache.remove("b", value));
+    assertTrue(cache.remove("a", value));
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClear() {
+    cache.putIfAbsent("a", 1);
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void testStatistics() {
+    cache.putIfAbsent("a", 1);
+    cache.get("a");
+    cache.get("b");
+    CacheStatistics statistics = cache.getStatistics();
+    assertEquals(1, statistics.getSize());
+    assertEquals(4, statistics.getMaximumSize());
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(0, statistics.getEvictionCount());
+    assertEquals(0.5, statistics.getHitRate(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new BoundedCache<String, Integer>(0);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullValue() {
+    cache.putIfAbsent("a", null);
+  }
+}
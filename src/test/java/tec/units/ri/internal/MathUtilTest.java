@@ -49,4 +49,31 @@ public class MathUtilTest {
     double result = MathUtil.atan2(value, value2);
     assertEquals(0.4636476090008061, result, 0);
   }
+
+  @Test
+  public void testGcd() {
+    assertEquals(6, MathUtil.gcd(12L, 18L));
+    assertEquals(6, MathUtil.gcd(-12L, 18L));
+    assertEquals(7, MathUtil.gcd(0L, 7L));
+    assertEquals(1, MathUtil.gcd(Long.MIN_VALUE, 3L));
+    assertEquals(1L << 20, MathUtil.gcd(Long.MIN_VALUE, 3L << 20));
+  }
+
+  @Test
+  public void testMultiplyExact() {
+    assertEquals(1L << 62, MathUtil.multiplyExact(1L << 31, 1L << 31));
+    assertEquals(-6, MathUtil.multiplyExact(-2, 3));
+  }
+
+  @Test
+  public void testSumError() {
+    assertEquals(1d, MathUtil.sumError(1e16, 1d, 1e16 + 1d), 0);
+    assertEquals(1d, MathUtil.sumError(1d, 1e16, 1e16 + 1d), 0);
+    assertEquals(0d, MathUtil.sumError(0.5, 0.25, 0.75), 0);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testMultiplyExactOverflow() {
+    MathUtil.multiplyExact(1L << 32, 1L << 31);
+  }
 }
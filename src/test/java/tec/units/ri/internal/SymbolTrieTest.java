@@ -0,0 +1,78 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SymbolTrieTest {
+  private SymbolTrie<String> trie;
+
+  @Before
+  public void setUp() {
+    trie = new SymbolTrie<String>();
+    trie.put("m", "metre");
+    trie.put("mol", "mole");
+    trie.put("min", "minute");
+  }
+
+  @Test
+  public void testGet() {
+    assertEquals("metre", trie.get("m"));
+    assertEquals("mole", trie.get("mol"));
+    assertEquals("minute", trie.get("min"));
+    assertNull(trie.get("mo"));
+    assertNull(trie.get("s"));
+    assertNull(trie.get(""));
+    assertEquals(3, trie.size());
+  }
+
+  @Test
+  public void testGetRange() {
+    StringBuilder text = new StringBuilder("5 mol/min");
+    assertEquals("mole", trie.get(text, 2, 5));
+    assertEquals("minute", trie.get(text, 6, 9));
+    assertEquals("metre", trie.get(text, 6, 7));
+  }
+
+  @Test
+  public void testReplace() {
+    trie.put("m", "mile");
+    assertEquals("mile", trie.get("m"));
+    assertEquals(3, trie.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptySymbol() {
+    trie.put("", "none");
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class WeakInternerTest {
+  private WeakInterner<String> interner;
+
+  @Before
+  public void setUp() {
+    interner = new WeakInterner<String>();
+  }
+
+  @Test
+  public void testIntern() {
+    final String first = new String("unit");
+    final String second = new String("unit");
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+    assertSame(first, interner.intern(first));
+    assertEquals(1, interner.size());
+  }
+
+  @Test
+  public void testDistinct() {
+    final String first = new String("m");
+    final String second = new String("s");
+    assertSame(first, interner.intern(first));
+    assertSame(second, interner.intern(second));
+    assertEquals(2, interner.size());
+  }
+
+  @Test
+  public void testIsInterned() {
+    final String first = new String("unit");
+    assertFalse(interner.isInterned(first));
+    interner.intern(first);
+    assertTrue(interner.isInterned(first));
+    assertFalse(interner.isInterned(new String("unit")));
+  }
+
+  @Test
+  public void testEquivalence() {
+    final WeakInterner<String> ignoringCase = new WeakInterner<String>(new WeakInterner.Equivalence<String>() {
+      public boolean equivalent(String a, String b) {
+        return a.equalsIgnoreCase(b);
+      }
+
+      public int hash(String value) {
+        return value.toLowerCase().hashCode();
+      }
+    });
+    final String first = new String("Unit");
+    assertSame(first, ignoringCase.intern(first));
+    assertSame(first, ignoringCase.intern("unit"));
+    assertEquals(1, ignoringCase.size());
+  }
+}
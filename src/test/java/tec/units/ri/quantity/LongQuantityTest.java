@@ -32,12 +32,14 @@ package tec.units.ri.quantity;
 import static org.junit.Assert.assertEquals;
 import javax.measure.Quantity;
 import javax.measure.quantity.ElectricResistance;
+import javax.measure.quantity.Length;
 import javax.measure.quantity.Time;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import tec.units.ri.quantity.Quantities;
+import tec.units.ri.unit.MetricPrefix;
 import tec.units.ri.unit.Units;
 
 public class LongQuantityTest {
@@ -93,4 +95,13 @@ public class LongQuantityTest {
     Assert.assertEquals(dayResult.getValue().intValue(), day.getValue().intValue());
     Assert.assertEquals(dayResult.getValue().intValue(), day.getValue().intValue());
   }
+
+  @Test
+  public void longValueExactTest() {
+    // 2^53 + 1 is not representable as a double.
+    LongQuantity<Length> km = new LongQuantity<Length>((1L << 53) + 1, MetricPrefix.KILO(Units.METRE));
+    assertEquals(((1L << 53) + 1) * 1000, km.longValue(Units.METRE));
+    LongQuantity<Length> mm = new LongQuantity<Length>(1999, MetricPrefix.MILLI(Units.METRE));
+    assertEquals(1, mm.longValue(Units.METRE));
+  }
 }
@@ -43,6 +43,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import tec.units.ri.AbstractQuantity;
+import tec.units.ri.unit.MetricPrefix;
 import tec.units.ri.unit.Units;
 
 public class NumberQuantityTest {
@@ -179,4 +180,53 @@ public class NumberQuantityTest {
     Quantity<Length> anotherValue = Quantities.getQuantity(null, Units.METRE);
     assertEquals(value, anotherValue);
   }
+
+  @Test
+  public void testPrimitiveArithmeticWithConversion() {
+    Quantity<Length> metres = NumberQuantity.of(500, Units.METRE);
+    Quantity<Length> km = NumberQuantity.of(2L, MetricPrefix.KILO(Units.METRE));
+    assertEquals(Integer.valueOf(2500), metres.add(km).getValue());
+    assertEquals(Long.valueOf(1L), km.subtract(NumberQuantity.of(1000d, Units.METRE)).getValue());
+    assertEquals(Double.valueOf(2.5d), NumberQuantity.of(2d, MetricPrefix.KILO(Units.METRE)).add(metres).getValue());
+    assertEquals(Float.valueOf(1.5f), NumberQuantity.of(1f, MetricPrefix.KILO(Units.METRE)).add(metres).getValue());
+    assertEquals(Integer.valueOf(1500), NumberQuantity.of((short) 1000, Units.METRE).add(NumberQuantity.of(0.5d, MetricPrefix.KILO(Units.METRE)))
+        .getValue());
+  }
+
+  @Test
+  public void testPrimitiveMultiplyUnits() {
+    Quantity<?> product = NumberQuantity.of(3L, Units.OHM).multiply(NumberQuantity.of(2L, Units.AMPERE));
+    assertEquals(Long.valueOf(6L), product.getValue());
+    assertEquals(Units.OHM.multiply(Units.AMPERE), product.getUnit());
+    assertSame(product.getUnit(), NumberQuantity.of(1d, Units.OHM).multiply(NumberQuantity.of(1, Units.AMPERE)).getUnit());
+    assertSame(Units.METRE.divide(Units.SECOND), Units.METRE.divide(Units.SECOND));
+    assertSame(Units.SECOND.inverse(), Units.SECOND.inverse());
+  }
+
+  @Test
+  public void testLongArithmeticBeyondDoublePrecision() {
+    final Quantity<Length> metre = NumberQuantity.of(1L, Units.METRE);
+    final Quantity<Length> km = NumberQuantity.of(72057594037929L, MetricPrefix.KILO(Units.METRE)); // Above 2^53 metres.
+    assertEquals(Long.valueOf(72057594037929001L), metre.add(km).getValue());
+    assertEquals(Long.valueOf(-72057594037928999L), metre.subtract(km).getValue());
+    final AbstractQuantity<Length> large = (AbstractQuantity<Length>) NumberQuantity.of(9007199254740993L, Units.METRE);
+    assertTrue(large.compareTo(NumberQuantity.of(9007199254740992L, Units.METRE)) > 0);
+  }
+
+  @Test
+  public void testMixedArithmetic() {
+    final Quantity<Length> metres = NumberQuantity.of(2.5d, Units.METRE);
+    final Quantity<Length> km = NumberQuantity.of(3, MetricPrefix.KILO(Units.METRE));
+    final Quantity<Length> longMetres = NumberQuantity.of(7L, Units.METRE);
+    final Quantity<Time> seconds = NumberQuantity.of(2d, Units.SECOND);
+    assertEquals(3002.5d, metres.add(km).getValue().doubleValue(), 0);
+    assertEquals(Units.METRE, metres.add(km).getUnit());
+    assertEquals(Integer.valueOf(3), km.subtract(metres).getValue()); // 2.5 m truncated to 0 km.
+    assertEquals(MetricPrefix.KILO(Units.METRE), km.subtract(metres).getUnit());
+    assertEquals(Long.valueOf(9L), longMetres.add(metres).getValue());
+    assertEquals(1.25d, metres.divide(seconds).getValue().doubleValue(), 0);
+    assertEquals(Units.METRE.divide(Units.SECOND), metres.divide(seconds).getUnit());
+    assertEquals(7.5d, metres.multiply(km).getValue().doubleValue(), 0);
+    assertEquals(Units.METRE.multiply(MetricPrefix.KILO(Units.METRE)), metres.multiply(km).getUnit());
+  }
 }
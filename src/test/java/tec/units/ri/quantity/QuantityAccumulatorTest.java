@@ -0,0 +1,120 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.JOULE;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.concurrent.CountDownLatch;
+
+import javax.measure.quantity.Energy;
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+public class QuantityAccumulatorTest {
+
+  @Test
+  public void testMixedUnits() {
+    QuantityAccumulator<Length> accumulator = QuantityAccumulator.of(METRE);
+    accumulator.add(NumberQuantity.of(2, KILO(METRE)));
+    accumulator.add(NumberQuantity.of(500d, METRE));
+    accumulator.add(1.5, KILO(METRE));
+    accumulator.add(-10);
+    assertEquals(METRE, accumulator.getUnit());
+    assertEquals(4, accumulator.count());
+    assertEquals(3990, accumulator.sum().getValue().doubleValue(), 1e-9);
+    assertEquals(METRE, accumulator.sum().getUnit());
+    assertEquals(-10, accumulator.min().getValue().doubleValue(), 0);
+    assertEquals(2000, accumulator.max().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testEmptyAndReset() {
+    QuantityAccumulator<Length> accumulator = QuantityAccumulator.of(METRE);
+    assertEquals(0, accumulator.sum().getValue().doubleValue(), 0);
+    assertEquals(Double.POSITIVE_INFINITY, accumulator.min().getValue().doubleValue(), 0);
+    assertEquals(Double.NEGATIVE_INFINITY, accumulator.max().getValue().doubleValue(), 0);
+    accumulator.add(3);
+    accumulator.reset();
+    assertEquals(0, accumulator.count());
+    assertEquals(0, accumulator.sum().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void testCompensated() {
+    QuantityAccumulator<Length> accumulator = QuantityAccumulator.of(METRE);
+    accumulator.add(1e16);
+    for (int i = 0; i < 1000; i++) {
+      accumulator.add(1);
+    }
+    assertEquals(1e16 + 1000, accumulator.sum().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void testConcurrentAdds() throws Exception {
+    final QuantityAccumulator<Energy> accumulator = QuantityAccumulator.of(JOULE);
+    final int threads = 8;
+    final int adds = 20000;
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int id = t;
+      workers[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (int i = 0; i < adds; i++) {
+            if ((i & 1) == 0)
+              accumulator.add(NumberQuantity.of(1, KILO(JOULE)));
+            else
+              accumulator.add(NumberQuantity.of(id, JOULE));
+          }
+        }
+      };
+      workers[t].start();
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertEquals(threads * adds, accumulator.count());
+    double expected = threads * (adds / 2) * 1000d + (adds / 2) * (threads * (threads - 1) / 2d);
+    assertEquals(expected, accumulator.sum().getValue().doubleValue(), 1e-6);
+    assertEquals(0, accumulator.min().getValue().doubleValue(), 0);
+    assertEquals(1000, accumulator.max().getValue().doubleValue(), 1e-9);
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+public class QuantityArrayTest {
+
+  @Test
+  public void testElementAccess() {
+    QuantityArray<Length> array = QuantityArray.of(new double[] { 1.5, 2.5 }, METRE);
+    assertEquals(2, array.size());
+    assertEquals(METRE, array.getUnit());
+    assertEquals(double.class, array.getValueType());
+    assertEquals(2.5, array.doubleValue(1), 0);
+    assertEquals(0.0025, array.doubleValue(1, KILO(METRE)), 1e-15);
+    assertEquals(NumberQuantity.of(1.5, METRE), array.get(0));
+    assertEquals(Long.valueOf(3L), QuantityArray.of(new long[] { 3 }, METRE).get(0).getValue());
+    assertEquals(Float.valueOf(2f), QuantityArray.of(new float[] { 2f }, METRE).get(0).getValue());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testIndexOutOfBounds() {
+    QuantityArray.of(new double[] { 1 }, METRE).doubleValue(1);
+  }
+
+  @Test
+  public void testCopied() {
+    double[] values = { 1, 2 };
+    QuantityArray<Length> array = QuantityArray.of(values, METRE);
+    values[0] = 5;
+    array.toDoubleArray()[1] = 7;
+    assertArrayEquals(new double[] { 1, 2 }, array.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void testTo() {
+    QuantityArray<Length> km = QuantityArray.of(new long[] { 1, 2, 3 }, KILO(METRE));
+    QuantityArray<Length> metres = km.to(METRE);
+    assertArrayEquals(new double[] { 1000, 2000, 3000 }, metres.toDoubleArray(), 1e-9);
+    assertArrayEquals(new double[] { 1000, 2000, 3000 }, km.toDoubleArray(METRE), 1e-9);
+    assertSame(metres, metres.to(METRE));
+    assertArrayEquals(new double[] { 1, 2, 3 }, km.toDoubleArray(), 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testFromQuantities() {
+    QuantityArray<Length> array = QuantityArray.of(new Quantity[] { NumberQuantity.of(1, KILO(METRE)), NumberQuantity.of(5d, METRE) }, METRE);
+    assertArrayEquals(new double[] { 1000, 5 }, array.toDoubleArray(), 1e-9);
+  }
+
+  @Test
+  public void testAddSubtract() {
+    QuantityArray<Length> metres = QuantityArray.of(new double[] { 100, 200 }, METRE);
+    QuantityArray<Length> km = QuantityArray.of(new float[] { 1, 2 }, KILO(METRE));
+    assertArrayEquals(new double[] { 1100, 2200 }, metres.add(km).toDoubleArray(), 1e-9);
+    assertArrayEquals(new double[] { 0.9, 1.8 }, km.subtract(metres).toDoubleArray(), 1e-9);
+    assertArrayEquals(new double[] { 1100, 1200 }, metres.add(NumberQuantity.of(1, KILO(METRE))).toDoubleArray(), 1e-9);
+    assertArrayEquals(new double[] { 50, 150 }, metres.subtract(NumberQuantity.of(50, METRE)).toDoubleArray(), 0);
+    assertEquals(METRE, metres.add(km).getUnit());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddSizeMismatch() {
+    QuantityArray.of(new double[] { 1 }, METRE).add(QuantityArray.of(new double[] { 1, 2 }, METRE));
+  }
+
+  @Test
+  public void testMultiplyDivide() {
+    QuantityArray<Length> metres = QuantityArray.of(new double[] { 10, 20 }, METRE);
+    QuantityArray<Time> seconds = QuantityArray.of(new long[] { 2, 4 }, SECOND);
+    QuantityArray<?> speed = metres.divide(seconds);
+    assertEquals(METRE.divide(SECOND), speed.getUnit());
+    assertArrayEquals(new double[] { 5, 5 }, speed.toDoubleArray(), 0);
+    assertArrayEquals(new double[] { 20, 80 }, metres.multiply(seconds).toDoubleArray(), 0);
+    assertEquals(METRE.multiply(SECOND), metres.multiply(seconds).getUnit());
+    assertArrayEquals(new double[] { 30, 60 }, metres.multiply(3).toDoubleArray(), 0);
+    assertArrayEquals(new double[] { 5, 10 }, metres.divide(2).toDoubleArray(), 0);
+    assertEquals(METRE.multiply(SECOND), metres.multiply(NumberQuantity.of(2, SECOND)).getUnit());
+    assertArrayEquals(new double[] { 1, 2 }, metres.divide(NumberQuantity.of(10, SECOND)).toDoubleArray(), 0);
+  }
+
+  @Test
+  public void testReductions() {
+    QuantityArray<Length> array = QuantityArray.of(new double[] { 3, -1, 4, 1.5 }, METRE);
+    assertEquals(7.5, array.sum().getValue().doubleValue(), 0);
+    assertEquals(1.875, array.mean().getValue().doubleValue(), 0);
+    assertEquals(-1, array.min().getValue().doubleValue(), 0);
+    assertEquals(4, array.max().getValue().doubleValue(), 0);
+    assertEquals(METRE, array.sum().getUnit());
+    assertEquals(0, QuantityArray.of(new double[0], METRE).sum().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void testCompensatedSum() {
+    double[] values = new double[10001];
+    values[0] = 1e16;
+    for (int i = 1; i < values.length; i++) {
+      values[i] = 1;
+    }
+    assertEquals(1e16 + 10000, QuantityArray.of(values, METRE).sum().getValue().doubleValue(), 0);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testMeanOfEmpty() {
+    QuantityArray.of(new double[0], METRE).mean();
+  }
+
+  @Test
+  public void testEqualsAndToString() {
+    QuantityArray<Length> doubles = QuantityArray.of(new double[] { 1, 2 }, METRE);
+    QuantityArray<Length> longs = QuantityArray.of(new long[] { 1, 2 }, METRE);
+    assertEquals(doubles, longs);
+    assertEquals(doubles.hashCode(), longs.hashCode());
+    assertFalse(doubles.equals(QuantityArray.of(new double[] { 1, 2 }, KILO(METRE))));
+    assertEquals("[1.0, 2.0] m", doubles.toString());
+    assertEquals("[1, 2] m", longs.toString());
+  }
+}
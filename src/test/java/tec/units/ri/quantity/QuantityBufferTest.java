@@ -0,0 +1,166 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class QuantityBufferTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testGetPut() {
+    QuantityBuffer<Length> buffer = QuantityBuffer.allocateDirect(4, METRE);
+    assertEquals(4, buffer.capacity());
+    assertEquals(METRE, buffer.getUnit());
+    buffer.put(0, 1.5).put(1, NumberQuantity.of(2, KILO(METRE)));
+    assertEquals(1.5, buffer.get(0), 0);
+    assertEquals(2000, buffer.get(1), 1e-9);
+    assertEquals(2, buffer.get(1, KILO(METRE)), 1e-12);
+    assertEquals(NumberQuantity.of(1.5, METRE), buffer.getQuantity(0));
+    assertEquals(0, buffer.get(3), 0);
+  }
+
+  @Test
+  public void testBulkGetPut() {
+    QuantityBuffer<Length> buffer = QuantityBuffer.allocate(5, METRE);
+    buffer.put(1, new double[] { 9, 1, 2, 3 }, 1, 3);
+    double[] values = new double[5];
+    buffer.get(0, values, 0, 5);
+    assertArrayEquals(new double[] { 0, 1, 2, 3, 0 }, values, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCapacity() {
+    QuantityBuffer.allocate(-1, METRE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityTooLarge() {
+    QuantityBuffer.allocate((1 << 29) + 1, METRE); // 2^32 + 8 bytes, a tiny buffer if computed with int arithmetic.
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testOutOfBounds() {
+    QuantityBuffer.allocate(2, METRE).get(2);
+  }
+
+  @Test
+  public void testWrapHeader() {
+    QuantityBuffer<Speed> buffer = QuantityBuffer.allocate(3, METRE.divide(SECOND).asType(Speed.class));
+    buffer.put(2, 42);
+    ByteBuffer copy = ByteBuffer.allocate(buffer.getByteBuffer().capacity());
+    copy.put(buffer.getByteBuffer());
+    copy.flip();
+    QuantityBuffer<Speed> wrapped = QuantityBuffer.wrap(copy).asType(Speed.class);
+    assertEquals(METRE.divide(SECOND), wrapped.getUnit());
+    assertEquals(3, wrapped.capacity());
+    assertEquals(42, wrapped.get(2), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrapInvalid() {
+    QuantityBuffer.wrap(ByteBuffer.allocate(16));
+  }
+
+  @Test(expected = ClassCastException.class)
+  public void testAsWrongType() {
+    QuantityBuffer.allocate(1, METRE).asType(Speed.class);
+  }
+
+  @Test
+  public void testReadOnly() {
+    QuantityBuffer<Length> buffer = QuantityBuffer.allocate(2, METRE);
+    QuantityBuffer<Length> view = buffer.asReadOnlyBuffer();
+    assertTrue(view.isReadOnly());
+    assertFalse(buffer.isReadOnly());
+    buffer.put(0, 7);
+    assertEquals(7, view.get(0), 0);
+    try {
+      view.put(0, 1);
+      fail("Read-only buffer written");
+    } catch (ReadOnlyBufferException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testConvertTo() {
+    QuantityBuffer<Length> km = QuantityBuffer.allocateDirect(1000, KILO(METRE));
+    for (int i = 0; i < km.capacity(); i++) {
+      km.put(i, i);
+    }
+    QuantityBuffer<Length> metres = km.convertTo(QuantityBuffer.allocate(1000, METRE));
+    assertEquals(999000, metres.get(999), 1e-6);
+    assertEquals(1000, metres.get(1), 1e-9);
+    km.convertTo(0, km, 1, 999); // Overlapping ranges, shifts the values.
+    assertEquals(998, km.get(999), 0);
+    assertEquals(0, km.get(1), 0);
+  }
+
+  @Test
+  public void testMappedFile() throws Exception {
+    File file = folder.newFile("readings.qb");
+    QuantityBuffer<Length> buffer = QuantityBuffer.create(file, 10, KILO(METRE));
+    buffer.put(9, 3.5);
+    QuantityBuffer<Length> mapped = QuantityBuffer.map(file, true).asType(Length.class);
+    assertTrue(mapped.isReadOnly());
+    assertEquals(KILO(METRE), mapped.getUnit());
+    assertEquals(10, mapped.capacity());
+    assertEquals(3500, mapped.get(9, METRE), 1e-9);
+  }
+
+  @Test
+  public void testWriteTo() throws Exception {
+    File file = folder.newFile("copy.qb");
+    QuantityBuffer<Length> buffer = QuantityBuffer.allocate(2, METRE);
+    buffer.put(1, 12);
+    buffer.writeTo(file);
+    QuantityBuffer<?> mapped = QuantityBuffer.map(file, false);
+    assertFalse(mapped.isReadOnly());
+    assertEquals(12, mapped.get(1), 0);
+    assertEquals("QuantityBuffer[capacity=2, unit=m]", mapped.toString());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.quantity.QuantityDimension.*;
+
+import java.util.Map;
+
+import javax.measure.Dimension;
+
+import org.junit.Test;
+
+import tec.units.ri.unit.Units;
+
+public class QuantityDimensionTest {
+
+  @Test
+  public void testToString() {
+    assertEquals("[L]", LENGTH.toString());
+    assertEquals("[L]/[T]", LENGTH.divide(TIME).toString());
+    assertEquals("[L]·[M]/[T]²", Units.NEWTON.getDimension().toString());
+  }
+
+  @Test
+  public void testMultiplyDivide() {
+    final Dimension speed = LENGTH.divide(TIME);
+    assertEquals(speed, TIME.pow(-1).multiply(LENGTH));
+    assertEquals(speed.hashCode(), TIME.pow(-1).multiply(LENGTH).hashCode());
+    assertEquals(LENGTH, speed.multiply(TIME));
+    assertSame(NONE, speed.divide(speed));
+    assertEquals(Units.METRE_PER_SECOND.getDimension(), speed);
+    assertNotEquals(speed, LENGTH.multiply(TIME));
+  }
+
+  @Test
+  public void testPowRoot() {
+    final Dimension area = LENGTH.pow(2);
+    assertEquals(LENGTH, area.root(2));
+    assertEquals(LENGTH.pow(-1), area.root(-2));
+    assertEquals(area, LENGTH.root(2).pow(4));
+    assertEquals(LENGTH.root(3).multiply(LENGTH.root(6)), LENGTH.root(2));
+    assertSame(NONE, MASS.pow(0));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testRootZero() {
+    LENGTH.root(0);
+  }
+
+  @Test
+  public void testLargeExponents() {
+    final Dimension large = LENGTH.pow(200);
+    assertEquals(LENGTH.pow(100).multiply(LENGTH.pow(100)), large);
+    assertEquals(LENGTH, large.divide(LENGTH.pow(199)));
+  }
+
+  @Test
+  public void testBaseDimensions() {
+    assertNull(LENGTH.getBaseDimensions());
+    assertTrue(NONE.getBaseDimensions().isEmpty());
+    final Map<? extends Dimension, Integer> map = MASS.multiply(LENGTH.pow(2)).getBaseDimensions();
+    assertEquals(2, map.size());
+    assertEquals(Integer.valueOf(2), map.get(LENGTH));
+    assertEquals(Integer.valueOf(1), map.get(MASS));
+  }
+
+  @Test
+  public void testNonBaseDimension() {
+    final Dimension x = QuantityDimension.parse('X');
+    assertEquals(x, QuantityDimension.parse('X'));
+    assertEquals("[X]·[L]", x.multiply(LENGTH).toString());
+    assertEquals(LENGTH, x.multiply(LENGTH).divide(x));
+    assertEquals(LENGTH, QuantityDimension.parse('L'));
+    assertNotEquals(x, LENGTH);
+  }
+}
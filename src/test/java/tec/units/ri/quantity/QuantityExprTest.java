@@ -0,0 +1,117 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.KELVIN;
+import static tec.units.ri.unit.Units.KILOMETRE_PER_HOUR;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.METRE_PER_SECOND;
+import static tec.units.ri.unit.Units.MINUTE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Area;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+public class QuantityExprTest {
+
+  @Test
+  public void testSpeed() {
+    QuantityExpr<Length> distance = QuantityExpr.variable(0, KILO(METRE));
+    QuantityExpr<Time> duration = QuantityExpr.variable(1, MINUTE);
+    QuantityExpr<Speed> speed = distance.divide(duration).asType(Speed.class).to(METRE_PER_SECOND);
+    assertEquals(METRE_PER_SECOND, speed.getUnit());
+    assertEquals(12000.0 / 1800, speed.evaluate(12, 30), 1e-12);
+    assertEquals(1, speed.evaluate(0.06, 1), 1e-12);
+    Quantity<Speed> result = speed.to(KILOMETRE_PER_HOUR).evaluateQuantity(12, 30);
+    assertEquals(KILOMETRE_PER_HOUR, result.getUnit());
+    assertEquals(24, result.getValue().doubleValue(), 1e-3);
+  }
+
+  @Test
+  public void testAddConvertsOnce() {
+    QuantityExpr<Length> sum = QuantityExpr.variable(0, METRE).add(QuantityExpr.variable(1, KILO(METRE))).subtract(QuantityExpr.constant(NumberQuantity.of(
+        50, METRE)));
+    assertEquals(METRE, sum.getUnit());
+    assertEquals(1950, sum.evaluate(1000, 1), 1e-12);
+    assertEquals(-40, sum.evaluate(10, 0), 1e-12);
+  }
+
+  @Test
+  public void testFusedLinearConversions() {
+    QuantityExpr<Temperature> celsius = QuantityExpr.variable(0, CELSIUS);
+    QuantityExpr<Temperature> kelvin = celsius.to(KELVIN).multiply(2).to(CELSIUS).negate();
+    assertEquals(CELSIUS, kelvin.getUnit());
+    assertEquals(-(2 * 293.15 - 273.15), kelvin.evaluate(20), 1e-9);
+    assertTrue(kelvin.toString().startsWith("(x0 * -2.0 + -273.15) "));
+  }
+
+  @Test
+  public void testConstantFolding() {
+    QuantityExpr<Length> two = QuantityExpr.constant(2, METRE);
+    QuantityExpr<Length> folded = two.add(QuantityExpr.constant(1, KILO(METRE))).divide(4);
+    assertEquals("250.5 m", folded.toString());
+    @SuppressWarnings("unchecked")
+    QuantityExpr<Area> area = (QuantityExpr<Area>) two.multiply(QuantityExpr.constant(3, METRE));
+    assertEquals(6, area.evaluate(), 0);
+    QuantityExpr<?> scaled = two.multiply(QuantityExpr.variable(0, SECOND));
+    assertEquals(10, scaled.evaluate(5), 0);
+    assertEquals(METRE.multiply(SECOND), scaled.getUnit());
+    QuantityExpr<?> rate = QuantityExpr.variable(0, METRE).divide(QuantityExpr.constant(4, SECOND));
+    assertEquals(2.5, rate.evaluate(10), 0);
+  }
+
+  @Test
+  public void testBulkEvaluation() {
+    QuantityExpr<?> product = QuantityExpr.variable(0, METRE).multiply(QuantityExpr.variable(1, METRE));
+    double[] results = new double[3];
+    product.evaluate(new double[][] { { 1, 2, 3 }, { 4, 5, 6 } }, results);
+    assertArrayEquals(new double[] { 4, 10, 18 }, results, 0);
+    assertEquals("(x0 * x1) m²", product.toString());
+  }
+
+  @Test(expected = ClassCastException.class)
+  public void testAsTypeMismatch() {
+    QuantityExpr.variable(0, METRE).divide(QuantityExpr.variable(1, SECOND)).asType(Length.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeIndex() {
+    QuantityExpr.variable(-1, METRE);
+  }
+}
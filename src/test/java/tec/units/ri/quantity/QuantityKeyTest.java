@@ -0,0 +1,117 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.CENTI;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.measure.Quantity;
+import javax.measure.UnconvertibleException;
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractQuantity;
+
+public class QuantityKeyTest {
+
+  @Test
+  public void testSystemValue() {
+    AbstractQuantity<Length> length = NumberQuantity.of(2, KILO(METRE));
+    assertEquals(2000, length.systemValue(), 0);
+    assertEquals(2000, length.systemValue(), 0);
+    assertTrue(Double.isNaN(NumberQuantity.of(Double.NaN, KILO(METRE)).systemValue()));
+    AbstractQuantity<Length> zero = NumberQuantity.of(0d, KILO(METRE));
+    assertEquals(0d, zero.systemValue(), 0);
+    assertEquals(0d, zero.systemValue(), 0);
+    assertEquals(Double.doubleToLongBits(-0d), Double.doubleToLongBits(NumberQuantity.of(-0d, KILO(METRE)).systemValue()));
+  }
+
+  @Test
+  public void testEqualsAcrossUnits() {
+    QuantityKey<Length> km = QuantityKey.of(NumberQuantity.of(1, KILO(METRE)));
+    QuantityKey<Length> m = QuantityKey.of(NumberQuantity.of(1000d, METRE));
+    QuantityKey<Length> cm = QuantityKey.of(NumberQuantity.of(100000L, CENTI(METRE)));
+    assertEquals(km, m);
+    assertEquals(m, cm);
+    assertEquals(km.hashCode(), cm.hashCode());
+    assertEquals(0, km.compareTo(cm));
+    assertEquals(METRE, km.getUnit());
+    assertEquals(1000, km.getValue(), 0);
+    assertEquals(KILO(METRE), km.getQuantity().getUnit());
+    assertFalse(km.equals(QuantityKey.of(NumberQuantity.of(1, METRE))));
+    assertFalse(km.equals(NumberQuantity.of(1000d, METRE)));
+  }
+
+  @Test
+  public void testNegativeZero() {
+    assertEquals(QuantityKey.of(NumberQuantity.of(0d, METRE)), QuantityKey.of(NumberQuantity.of(-0d, KILO(METRE))));
+  }
+
+  @Test
+  public void testHashMapDeduplication() {
+    Map<QuantityKey<Length>, Quantity<Length>> distinct = new HashMap<QuantityKey<Length>, Quantity<Length>>();
+    for (int i = 0; i < 100; i++) {
+      Quantity<Length> length = (i % 2 == 0) ? NumberQuantity.of(i / 2, KILO(METRE)) : NumberQuantity.of(i / 2 * 1000d, METRE);
+      distinct.put(QuantityKey.of(length), length);
+    }
+    assertEquals(50, distinct.size());
+  }
+
+  @Test
+  public void testTreeMapOrder() {
+    TreeMap<QuantityKey<Length>, String> sorted = new TreeMap<QuantityKey<Length>, String>();
+    sorted.put(QuantityKey.of(NumberQuantity.of(1, KILO(METRE))), "km");
+    sorted.put(QuantityKey.of(NumberQuantity.of(3, CENTI(METRE))), "cm");
+    sorted.put(QuantityKey.of(NumberQuantity.of(2d, METRE)), "m");
+    assertEquals("cm", sorted.firstEntry().getValue());
+    assertEquals("km", sorted.lastEntry().getValue());
+    assertEquals("m", sorted.get(QuantityKey.of(NumberQuantity.of(200, CENTI(METRE)))));
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test(expected = UnconvertibleException.class)
+  public void testCompareIncompatible() {
+    QuantityKey metre = QuantityKey.of(NumberQuantity.of(1, METRE));
+    metre.compareTo(QuantityKey.of(NumberQuantity.of(1, SECOND)));
+  }
+
+  @Test
+  public void testToString() {
+    assertEquals("1500.0 m", QuantityKey.of(NumberQuantity.of(1.5, KILO(METRE))).toString());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.KELVIN;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.Test;
+
+public class QuantityRangeIndexTest {
+
+  @SuppressWarnings("unchecked")
+  private static QuantityRange<Length> metres(double min, double max) {
+    return QuantityRange.of(NumberQuantity.of(min, METRE), NumberQuantity.of(max, METRE));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testMixedUnits() {
+    List<QuantityRange<Temperature>> ranges = new ArrayList<QuantityRange<Temperature>>();
+    ranges.add(QuantityRange.of(NumberQuantity.of(0, CELSIUS), NumberQuantity.of(100, CELSIUS)));
+    ranges.add(QuantityRange.of(NumberQuantity.of(300, KELVIN), NumberQuantity.of(400, KELVIN)));
+    ranges.add(QuantityRange.of(NumberQuantity.of(-50, CELSIUS), null));
+    QuantityRangeIndex<Temperature> index = QuantityRangeIndex.of(ranges);
+    assertEquals(3, index.size());
+    assertArrayEquals(new int[] { 0, 2 }, index.indicesContaining(NumberQuantity.of(20, CELSIUS)));
+    assertArrayEquals(new int[] { 0, 1, 2 }, index.indicesContaining(NumberQuantity.of(350, KELVIN)));
+    assertArrayEquals(new int[] { 1, 2 }, index.indicesContaining(NumberQuantity.of(120, CELSIUS)));
+    assertArrayEquals(new int[0], index.indicesContaining(NumberQuantity.of(-60, CELSIUS)));
+    assertEquals(Arrays.asList(index.get(0), index.get(2)), index.rangesContaining(NumberQuantity.of(273.15, KELVIN)));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testOpenAndInclusiveLimits() {
+    QuantityRange<Length> belowKilometre = QuantityRange.of(null, NumberQuantity.of(1, KILO(METRE)));
+    QuantityRangeIndex<Length> index = QuantityRangeIndex.of(Arrays.asList(metres(1, 2), belowKilometre));
+    assertArrayEquals(new int[] { 0, 1 }, index.indicesContaining(NumberQuantity.of(1, METRE)));
+    assertArrayEquals(new int[] { 0, 1 }, index.indicesContaining(NumberQuantity.of(2d, METRE)));
+    assertArrayEquals(new int[] { 1 }, index.indicesContaining(NumberQuantity.of(1000d, METRE)));
+    assertArrayEquals(new int[] { 1 }, index.indicesContaining(NumberQuantity.of(-1e300, METRE)));
+    assertArrayEquals(new int[0], index.indicesContaining(NumberQuantity.of(1.5, KILO(METRE))));
+    assertArrayEquals(new int[0], index.indicesContaining(NumberQuantity.of(Double.NaN, METRE)));
+  }
+
+  @Test
+  public void testEmpty() {
+    QuantityRangeIndex<Length> index = QuantityRangeIndex.of(Collections.<QuantityRange<Length>> emptyList());
+    assertEquals(0, index.size());
+    assertTrue(index.rangesContaining(NumberQuantity.of(1, METRE)).isEmpty());
+    assertEquals("QuantityRangeIndex[size=0]", index.toString());
+  }
+
+  @Test
+  public void testAgainstLinearScan() {
+    Random random = new Random(5);
+    List<QuantityRange<Length>> ranges = new ArrayList<QuantityRange<Length>>();
+    for (int i = 0; i < 2000; i++) {
+      double min = random.nextDouble() * 1000;
+      ranges.add(metres(min, min + random.nextDouble() * 50));
+    }
+    QuantityRangeIndex<Length> index = QuantityRangeIndex.of(ranges);
+    double[] values = new double[500];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextDouble() * 1.1;
+    }
+    int[][] found = index.indicesContaining(values, KILO(METRE));
+    int[] counts = index.countContaining(values, KILO(METRE));
+    for (int i = 0; i < values.length; i++) {
+      List<Integer> expected = new ArrayList<Integer>();
+      for (int j = 0; j < ranges.size(); j++) {
+        QuantityRange<Length> range = ranges.get(j);
+        double metres = values[i] * 1000;
+        if (range.getMinimum().getValue().doubleValue() <= metres && metres <= range.getMaximum().getValue().doubleValue())
+          expected.add(j);
+      }
+      assertEquals(expected.size(), found[i].length);
+      assertEquals(expected.size(), counts[i]);
+      for (int j = 0; j < found[i].length; j++) {
+        assertEquals(expected.get(j).intValue(), found[i][j]);
+      }
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullRange() {
+    QuantityRangeIndex.of(Arrays.asList(metres(1, 2), null));
+  }
+}
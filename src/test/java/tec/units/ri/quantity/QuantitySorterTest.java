@@ -0,0 +1,187 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.CENTI;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+public class QuantitySorterTest {
+
+  @SuppressWarnings("unchecked")
+  private static final Unit<Length>[] UNITS = new Unit[] { METRE, KILO(METRE), CENTI(METRE) };
+
+  @SuppressWarnings("unchecked")
+  private static Quantity<Length>[] randomLengths(int n, long seed) {
+    Random random = new Random(seed);
+    Quantity<Length>[] lengths = new Quantity[n];
+    for (int i = 0; i < n; i++) {
+      double value = (random.nextDouble() - 0.5) * 1000;
+      switch (i % 3) {
+        case 0:
+          lengths[i] = NumberQuantity.of(value, UNITS[0]);
+          break;
+        case 1:
+          lengths[i] = NumberQuantity.of(value, UNITS[1]);
+          break;
+        default:
+          lengths[i] = NumberQuantity.of((long) value, UNITS[2]);
+      }
+    }
+    return lengths;
+  }
+
+  private static double[] metres(Quantity<Length>[] lengths) {
+    double[] values = new double[lengths.length];
+    for (int i = 0; i < lengths.length; i++) {
+      values[i] = lengths[i].to(METRE).getValue().doubleValue();
+    }
+    return values;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testSortMixedUnits() {
+    Quantity<Length>[] lengths = new Quantity[] { NumberQuantity.of(1, KILO(METRE)), NumberQuantity.of(20d, METRE), NumberQuantity.of(-3, METRE),
+        NumberQuantity.of(150, CENTI(METRE)) };
+    QuantitySorter.sort(lengths);
+    assertEquals(NumberQuantity.of(-3, METRE), lengths[0]);
+    assertEquals(NumberQuantity.of(150, CENTI(METRE)), lengths[1]);
+    assertEquals(NumberQuantity.of(20d, METRE), lengths[2]);
+    assertEquals(NumberQuantity.of(1, KILO(METRE)), lengths[3]);
+  }
+
+  @Test
+  public void testSortLarge() {
+    Quantity<Length>[] lengths = randomLengths(5000, 42);
+    double[] expected = metres(lengths);
+    Arrays.sort(expected);
+    QuantitySorter.sort(lengths);
+    assertArrayEquals(expected, metres(lengths), 0);
+  }
+
+  @Test
+  public void testSortIsStable() {
+    List<Quantity<Length>> lengths = new ArrayList<Quantity<Length>>();
+    for (int i = 0; i < 200; i++) {
+      lengths.add(NumberQuantity.of(-i, METRE));
+      lengths.add(NumberQuantity.of(1, CENTI(METRE)));
+      lengths.add(NumberQuantity.of(0.01, METRE));
+    }
+    QuantitySorter.sort(lengths);
+    assertEquals(-199, lengths.get(0).getValue().intValue());
+    for (int i = 200; i < 600; i++) {
+      assertEquals(i % 2 == 0 ? CENTI(METRE) : METRE, lengths.get(i).getUnit());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testSortSpecialValues() {
+    Quantity<Length>[] lengths = new Quantity[64];
+    for (int i = 0; i < lengths.length; i++) {
+      lengths[i] = NumberQuantity.of(lengths.length / 2 - i, METRE);
+    }
+    lengths[3] = NumberQuantity.of(Double.NaN, METRE);
+    lengths[5] = NumberQuantity.of(Double.NEGATIVE_INFINITY, METRE);
+    lengths[7] = NumberQuantity.of(-0d, METRE);
+    double[] expected = metres(lengths);
+    Arrays.sort(expected);
+    QuantitySorter.sort(lengths);
+    assertArrayEquals(expected, metres(lengths), 0);
+    assertTrue(Double.isNaN(lengths[63].getValue().doubleValue()));
+  }
+
+  @Test
+  public void testParallelSort() {
+    Quantity<Length>[] lengths = randomLengths(50000, 7);
+    double[] expected = metres(lengths);
+    Arrays.sort(expected);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      QuantitySorter.parallelSort(lengths, pool);
+    } finally {
+      pool.shutdown();
+    }
+    assertArrayEquals(expected, metres(lengths), 0);
+  }
+
+  @Test
+  public void testParallelSortList() {
+    List<Quantity<Length>> lengths = Arrays.asList(randomLengths(20000, 3));
+    List<Quantity<Length>> expected = new ArrayList<Quantity<Length>>(lengths);
+    Collections.sort(expected, new tec.units.ri.function.NaturalOrder<Length>());
+    QuantitySorter.parallelSort(lengths);
+    for (int i = 0; i < lengths.size(); i++) {
+      assertEquals(expected.get(i).to(METRE).getValue().doubleValue(), lengths.get(i).to(METRE).getValue().doubleValue(), 0);
+    }
+  }
+
+  @Test
+  public void testTopAndBottom() {
+    Quantity<Length>[] lengths = randomLengths(1000, 11);
+    double[] expected = metres(lengths);
+    Arrays.sort(expected);
+    List<Quantity<Length>> top = QuantitySorter.top(Arrays.asList(lengths), 10);
+    List<Quantity<Length>> bottom = QuantitySorter.bottom(Arrays.asList(lengths), 10);
+    assertEquals(10, top.size());
+    assertEquals(10, bottom.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(expected[expected.length - 1 - i], top.get(i).to(METRE).getValue().doubleValue(), 0);
+      assertEquals(expected[i], bottom.get(i).to(METRE).getValue().doubleValue(), 0);
+    }
+  }
+
+  @Test
+  public void testTopMoreThanSize() {
+    List<Quantity<Length>> lengths = Arrays.asList(randomLengths(5, 1));
+    assertEquals(5, QuantitySorter.top(lengths, 10).size());
+    assertTrue(QuantitySorter.bottom(lengths, 0).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeK() {
+    QuantitySorter.top(Arrays.asList(randomLengths(5, 1)), -1);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.quantity;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.MetricPrefix.KILO;
+import static tec.units.ri.unit.Units.CELSIUS;
+import static tec.units.ri.unit.Units.KELVIN;
+import static tec.units.ri.unit.Units.METRE;
+
+import java.util.Random;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractConverter;
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.AffineConverter;
+
+public class QuantitySummaryStatisticsTest {
+
+  @Test
+  public void testMixedUnits() {
+    QuantitySummaryStatistics<Length> stats = QuantitySummaryStatistics.of(METRE);
+    stats.accept(NumberQuantity.of(1, KILO(METRE))).accept(NumberQuantity.of(500d, METRE)).accept(1.5, KILO(METRE));
+    assertEquals(3, stats.getCount());
+    assertEquals(3000, stats.getSum().getValue().doubleValue(), 1e-9);
+    assertEquals(1000, stats.getAverage().getValue().doubleValue(), 1e-9);
+    assertEquals(500, stats.getMin().getValue().doubleValue(), 0);
+    assertEquals(1500, stats.getMax().getValue().doubleValue(), 1e-9);
+    assertEquals(250000, stats.getVariance(), 1e-6);
+    assertEquals(500, stats.getStandardDeviation().getValue().doubleValue(), 1e-9);
+    assertEquals(METRE, stats.getAverage().getUnit());
+  }
+
+  @Test
+  public void testEmpty() {
+    QuantitySummaryStatistics<Length> stats = QuantitySummaryStatistics.of(METRE);
+    assertEquals(0, stats.getCount());
+    assertEquals(0, stats.getSum().getValue().doubleValue(), 0);
+    assertEquals(0, stats.getAverage().getValue().doubleValue(), 0);
+    assertEquals(0, stats.getVariance(), 0);
+    assertEquals(Double.POSITIVE_INFINITY, stats.getMin().getValue().doubleValue(), 0);
+    assertSame(stats, stats.combine(QuantitySummaryStatistics.of(KILO(METRE))));
+  }
+
+  @Test
+  public void testCombineMatchesSinglePass() {
+    Random random = new Random(42);
+    QuantitySummaryStatistics<Length> all = QuantitySummaryStatistics.of(METRE);
+    QuantitySummaryStatistics<Length> left = QuantitySummaryStatistics.of(METRE);
+    QuantitySummaryStatistics<Length> right = QuantitySummaryStatistics.of(KILO(METRE));
+    for (int i = 0; i < 1000; i++) {
+      double value = random.nextGaussian() * 10 + 100;
+      all.accept(value);
+      if (i < 300)
+        left.accept(value);
+      else
+        right.accept(value, METRE);
+    }
+    QuantitySummaryStatistics<Length> merged = QuantitySummaryStatistics.of(METRE).combine(left).combine(right);
+    assertEquals(all.getCount(), merged.getCount());
+    assertEquals(all.getSum().getValue().doubleValue(), merged.getSum().getValue().doubleValue(), 1e-9);
+    assertEquals(all.getAverage().getValue().doubleValue(), merged.getAverage().getValue().doubleValue(), 1e-9);
+    assertEquals(all.getVariance(), merged.getVariance(), 1e-6);
+    assertEquals(all.getMin().getValue().doubleValue(), merged.getMin().getValue().doubleValue(), 1e-9);
+    assertEquals(all.getMax().getValue().doubleValue(), merged.getMax().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testCombineWithConverterPair() {
+    final Unit<Length> unit = METRE.transform(new ScaleConverter(3)).transform(new AddConverter(2));
+    final UnitConverter converter = unit.getConverterTo(METRE);
+    assertFalse(AffineConverter.isAffine(converter));
+    final QuantitySummaryStatistics<Length> other = QuantitySummaryStatistics.of(unit);
+    other.accept(3).accept(6);
+    final QuantitySummaryStatistics<Length> metres = QuantitySummaryStatistics.of(METRE).combine(other);
+    assertEquals(2, metres.getCount());
+    assertEquals(converter.convert(3) + converter.convert(6), metres.getSum().getValue().doubleValue(), 1e-9);
+    assertEquals(converter.convert(3), metres.getMin().getValue().doubleValue(), 1e-9);
+    assertEquals(converter.convert(6), metres.getMax().getValue().doubleValue(), 1e-9);
+  }
+
+  /**
+   * A linear converter unknown to the affine converter folding.
+   */
+  private static final class ScaleConverter extends AbstractConverter {
+    private final double factor;
+
+    ScaleConverter(double factor) {
+      this.factor = factor;
+    }
+
+    @Override
+    public double convert(double value) {
+      return value * factor;
+    }
+
+    @Override
+    public ScaleConverter inverse() {
+      return new ScaleConverter(1 / factor);
+    }
+
+    @Override
+    public boolean isLinear() {
+      return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return (obj instanceof ScaleConverter) && (((ScaleConverter) obj).factor == factor);
+    }
+
+    @Override
+    public int hashCode() {
+      return Double.valueOf(factor).hashCode();
+    }
+  }
+
+  @Test
+  public void testCombineWithOffset() {
+    QuantitySummaryStatistics<Temperature> celsius = QuantitySummaryStatistics.of(CELSIUS);
+    celsius.accept(10).accept(20);
+    QuantitySummaryStatistics<Temperature> kelvin = QuantitySummaryStatistics.of(KELVIN);
+    kelvin.accept(273.15);
+    kelvin.combine(celsius);
+    assertEquals(3, kelvin.getCount());
+    assertEquals(3 * 273.15 + 30, kelvin.getSum().getValue().doubleValue(), 1e-9);
+    assertEquals(283.15, kelvin.getAverage().getValue().doubleValue(), 1e-9);
+    assertEquals(100, kelvin.getVariance(), 1e-9);
+    assertEquals(293.15, kelvin.getMax().getValue().doubleValue(), 1e-9);
+  }
+}
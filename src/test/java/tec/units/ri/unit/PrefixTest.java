@@ -30,11 +30,15 @@
 package tec.units.ri.unit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static tec.units.ri.unit.MetricPrefix.*;
 import static tec.units.ri.unit.Units.GRAM;
 import static tec.units.ri.unit.Units.KILOGRAM;
 import static tec.units.ri.unit.Units.LITRE;
 import static tec.units.ri.unit.Units.METRE;
+import static tec.units.ri.unit.Units.SECOND;
+
+import java.math.BigInteger;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -44,6 +48,7 @@ import javax.measure.quantity.Volume;
 
 import org.junit.Test;
 
+import tec.units.ri.AbstractConverter;
 import tec.units.ri.function.RationalConverter;
 import tec.units.ri.quantity.Quantities;
 
@@ -111,7 +116,7 @@ public class PrefixTest {
   @Test
   public void testBetweenPrefixes() {
     UnitConverter conv = YOTTA(METRE).getConverterTo(ZETTA(METRE));
-    assertEquals(new RationalConverter(4.7683715820312499E17, 4.76837158203125E14), conv); // TODO value?
+    assertEquals(RationalConverter.of(1000, 1), conv);
   }
 
   @Test
@@ -119,4 +124,18 @@ public class PrefixTest {
     UnitConverter conv = KILO(METRE).getConverterTo(GIGA(METRE));
     assertEquals(RationalConverter.of(1d, 1000000d), conv);
   }
+
+  @Test
+  public void testYottaToYocto() {
+    UnitConverter conv = YOTTA(METRE).getConverterTo(YOCTO(METRE));
+    assertEquals(RationalConverter.of(BigInteger.TEN.pow(48), BigInteger.ONE), conv);
+    assertEquals(AbstractConverter.IDENTITY, conv.concatenate(YOCTO(METRE).getConverterTo(YOTTA(METRE))));
+  }
+
+  @Test
+  public void testInterned() {
+    assertSame(KILO(METRE), KILO(METRE));
+    assertSame(MILLI(KILOGRAM), GRAM);
+    assertSame(KILO(METRE).divide(SECOND), KILO(METRE).divide(SECOND));
+  }
 }
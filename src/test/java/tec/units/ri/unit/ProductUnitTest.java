@@ -0,0 +1,120 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.unit;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.Units.*;
+
+import java.util.Map;
+
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+import tec.units.ri.AbstractUnit;
+
+public class ProductUnitTest {
+
+  @Test
+  public void testEqualsRegardlessOfOrder() {
+    final Unit<?> kgm = KILOGRAM.multiply(METRE).divide(SECOND.pow(2));
+    final Unit<?> mkg = SECOND.pow(-2).multiply(METRE).multiply(KILOGRAM);
+    assertEquals(kgm, mkg);
+    assertEquals(kgm.hashCode(), mkg.hashCode());
+  }
+
+  @Test
+  public void testElementsOrder() {
+    final Unit<?> x = new BaseUnit<>("x");
+    final Unit<?> y = new BaseUnit<>("y");
+    final Unit<?> z = new BaseUnit<>("z");
+    final ProductUnit<?> unit = (ProductUnit<?>) z.multiply(x).divide(y);
+    assertEquals(z, unit.getUnit(0));
+    assertEquals(x, unit.getUnit(1));
+    assertEquals(y, unit.getUnit(2));
+    assertEquals(-1, unit.getUnitPow(2));
+  }
+
+  @Test
+  public void testMerge() {
+    final Unit<?> unit = METRE.multiply(KILOGRAM).divide(SECOND);
+    assertEquals(KILOGRAM, unit.multiply(SECOND).divide(METRE));
+    assertEquals(AbstractUnit.ONE, unit.divide(unit));
+    assertEquals(METRE.pow(2).multiply(KILOGRAM.pow(2)).divide(SECOND.pow(2)), unit.pow(2));
+  }
+
+  @Test
+  public void testSameHashCode() {
+    // "Aa" and "BB" have the same hash code.
+    final Unit<?> aa = new AlternateUnit<>(METRE, "Aa");
+    final Unit<?> bb = new AlternateUnit<>(METRE, "BB");
+    assertEquals(aa.hashCode(), bb.hashCode());
+    final Unit<?> aabb = aa.multiply(bb.pow(2));
+    final Unit<?> bbaa = bb.pow(2).multiply(aa);
+    assertEquals(aabb, bbaa);
+    assertNotEquals(aabb, aa.pow(2).multiply(bb));
+    assertEquals(bb.pow(2), aabb.divide(aa));
+    assertEquals(aa, bbaa.divide(bb.pow(2)));
+  }
+
+  @Test
+  public void testBaseUnits() {
+    final ProductUnit<?> unit = (ProductUnit<?>) METRE.divide(SECOND);
+    final Map<Unit<?>, Integer> baseUnits = unit.getBaseUnits();
+    assertSame(baseUnits, unit.getBaseUnits());
+    assertEquals(Integer.valueOf(-1), baseUnits.get(SECOND));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testBaseUnitsImmutable() {
+    ((ProductUnit<?>) METRE.divide(SECOND)).getBaseUnits().put(KELVIN, 1);
+  }
+
+  @Test
+  public void testCachedProperties() {
+    final ProductUnit<?> unit = (ProductUnit<?>) MetricPrefix.KILO(METRE).divide(Units.HOUR);
+    assertSame(unit.getSystemConverter(), unit.getSystemConverter());
+    assertSame(unit.getDimension(), unit.getDimension());
+    assertSame(unit.getSystemUnit(), unit.getSystemUnit());
+    assertEquals(METRE_PER_SECOND, unit.getSystemUnit());
+    assertEquals(1d, unit.getSystemConverter().convert(3.6d), 1e-12);
+  }
+
+  @Test
+  public void testInternKeepsElementsOrder() {
+    final ProductUnit<?> sm = (ProductUnit<?>) SECOND.multiply(METRE);
+    final ProductUnit<?> ms = (ProductUnit<?>) METRE.multiply(SECOND);
+    assertEquals(sm, ms);
+    assertNotSame(sm, ms);
+    assertEquals(SECOND, sm.getUnit(0));
+    assertEquals(METRE, ms.getUnit(0));
+    assertSame(ms, METRE.multiply(SECOND));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Units of Measurement Reference Implementation
+ * Copyright (c) 2005-2017, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.units.ri.unit;
+
+import static org.junit.Assert.*;
+import static tec.units.ri.unit.Units.*;
+
+import javax.measure.quantity.Length;
+
+import org.junit.Test;
+
+import tec.units.ri.function.AddConverter;
+import tec.units.ri.function.RationalConverter;
+
+public class TransformedUnitTest {
+
+  private final TransformedUnit<Length> sut = new TransformedUnit<Length>(METRE, RationalConverter.of(1000, 1));
+
+  @Test
+  public void testSystemConverter() {
+    assertSame(sut.getSystemConverter(), sut.getSystemConverter());
+    assertEquals(2000d, sut.getSystemConverter().convert(2d), 0d);
+    assertEquals(METRE, sut.getSystemUnit());
+  }
+
+  @Test
+  public void testHashCode() {
+    final TransformedUnit<Length> other = new TransformedUnit<Length>(METRE, RationalConverter.of(1000, 1));
+    assertEquals(sut.hashCode(), sut.hashCode());
+    assertEquals(other.hashCode(), sut.hashCode());
+    assertEquals(other, sut);
+    assertNotEquals(new TransformedUnit<Length>(METRE, new AddConverter(1)), sut);
+  }
+}